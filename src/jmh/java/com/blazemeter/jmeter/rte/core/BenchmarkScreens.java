@@ -0,0 +1,56 @@
+package com.blazemeter.jmeter.rte.core;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import java.awt.Dimension;
+import java.io.IOException;
+
+/**
+ * Provides screens, built from HTML fixtures used in tests, to use as input of benchmarks.
+ */
+public class BenchmarkScreens {
+
+  public static final String MODEL_2_SIZE = "24x80";
+  public static final String MODEL_5_SIZE = "27x132";
+  private static final String FIXTURE =
+      "/com/blazemeter/jmeter/rte/protocols/tn3270/login-welcome-screen.html";
+  private static final int FIELD_LENGTH = 32;
+
+  private BenchmarkScreens() {
+  }
+
+  public static String loadFixtureHtml() throws IOException {
+    return Resources.toString(BenchmarkScreens.class.getResource(FIXTURE), Charsets.UTF_8);
+  }
+
+  public static Screen buildScreen(String size) throws IOException {
+    Screen fixture = Screen.fromHtml(loadFixtureHtml());
+    if (MODEL_2_SIZE.equals(size)) {
+      return fixture;
+    } else if (MODEL_5_SIZE.equals(size)) {
+      return buildModel5Screen(fixture);
+    } else {
+      throw new IllegalArgumentException("Unsupported screen size " + size);
+    }
+  }
+
+  /*
+  There are no fixtures for 27x132 screens, so one is built by repeating the rows and columns of the
+  24x80 fixture, with a field at the end of each row.
+   */
+  private static Screen buildModel5Screen(Screen fixture) {
+    Dimension size = new Dimension(132, 27);
+    String[] rows = fixture.getText().split("\n");
+    Screen ret = new Screen(size);
+    for (int row = 0; row < size.height; row++) {
+      String rowText = rows[row % rows.length];
+      rowText = rowText + rowText.substring(0, size.width - rowText.length());
+      int segmentLength = size.width - FIELD_LENGTH;
+      ret.addSegment(row * size.width, rowText.substring(0, segmentLength));
+      ret.addField(row * size.width + segmentLength,
+          Screen.replaceTrailingSpacesByNull(rowText.substring(segmentLength)));
+    }
+    return ret;
+  }
+
+}
@@ -0,0 +1,62 @@
+package com.blazemeter.jmeter.rte.core;
+
+import com.blazemeter.jmeter.rte.core.ssl.SSLType;
+import com.blazemeter.jmeter.rte.sampler.Action;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.jmeter.samplers.SampleResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RteSampleResultBuilderBenchmark {
+
+  private static final List<Input> INPUTS = Arrays.asList(
+      new CoordInput(new Position(2, 1), "testusr"),
+      new LabelInput("Password", "testpsw"));
+
+  @Param({BenchmarkScreens.MODEL_2_SIZE, BenchmarkScreens.MODEL_5_SIZE})
+  private String screenSize;
+  private Screen screen;
+  private TerminalType terminalType;
+
+  @Setup
+  public void setup() throws IOException {
+    screen = BenchmarkScreens.buildScreen(screenSize);
+    terminalType = new TerminalType("IBM-3278-2-E", screen.getSize());
+  }
+
+  @Benchmark
+  public SampleResult build() {
+    // a copy is used since screen caches its text once built
+    return new RteSampleResultBuilder(new Position(2, 1), new Screen(screen), null,
+        terminalType)
+        .withLabel("bzm-RTE-sampler")
+        .withServer("localhost")
+        .withPort(23)
+        .withProtocol(Protocol.TN3270)
+        .withSslType(SSLType.NONE)
+        .withAction(Action.SEND_INPUT)
+        .withInputs(INPUTS)
+        .withAttentionKey(AttentionKey.ENTER)
+        .withInputInhibitedRequest(true)
+        .build();
+  }
+
+}
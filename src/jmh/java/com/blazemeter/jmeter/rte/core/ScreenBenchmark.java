@@ -0,0 +1,69 @@
+package com.blazemeter.jmeter.rte.core;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScreenBenchmark {
+
+  @Param({BenchmarkScreens.MODEL_2_SIZE, BenchmarkScreens.MODEL_5_SIZE})
+  private String screenSize;
+  private Screen screen;
+  private String html;
+  private byte[] snapshot;
+
+  @Setup
+  public void setup() throws IOException {
+    screen = BenchmarkScreens.buildScreen(screenSize);
+    html = screen.getHtml();
+    snapshot = ScreenSnapshotCodec.encode(screen);
+  }
+
+  @Benchmark
+  public String getText() {
+    // a copy is used since screen caches its text once built
+    return new Screen(screen).getText();
+  }
+
+  @Benchmark
+  public String getCachedText() {
+    return screen.getText();
+  }
+
+  @Benchmark
+  public String getHtml() {
+    return screen.getHtml();
+  }
+
+  @Benchmark
+  public Screen fromHtml() {
+    return Screen.fromHtml(html);
+  }
+
+  @Benchmark
+  public byte[] encodeSnapshot() {
+    return ScreenSnapshotCodec.encode(screen);
+  }
+
+  @Benchmark
+  public Screen decodeSnapshot() {
+    return ScreenSnapshotCodec.decode(snapshot);
+  }
+
+}
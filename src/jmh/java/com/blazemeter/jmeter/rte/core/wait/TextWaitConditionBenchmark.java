@@ -0,0 +1,72 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import com.blazemeter.jmeter.rte.core.BenchmarkScreens;
+import com.blazemeter.jmeter.rte.core.Position;
+import com.blazemeter.jmeter.rte.core.Screen;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.oro.text.regex.MalformedPatternException;
+import org.apache.oro.text.regex.Perl5Compiler;
+import org.apache.oro.text.regex.Perl5Matcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextWaitConditionBenchmark {
+
+  private static final String MISSING_TEXT = "Not in screen";
+  private static final Area FULL_SCREEN_AREA = Area
+      .fromTopLeftBottomRight(1, 1, Position.UNSPECIFIED_INDEX, Position.UNSPECIFIED_INDEX);
+
+  @Param({BenchmarkScreens.MODEL_2_SIZE, BenchmarkScreens.MODEL_5_SIZE})
+  private String screenSize;
+  @Param({"literal", "regex"})
+  private String patternType;
+  private Screen screen;
+  private TextWaitCondition fullScreenCondition;
+  private TextWaitCondition reducedAreaCondition;
+
+  @Setup
+  public void setup() throws IOException, MalformedPatternException {
+    screen = BenchmarkScreens.buildScreen(screenSize);
+    /*
+     a text which is not in screen is used since it is the common case while waiting for a screen,
+     and requires checking the whole area.
+     */
+    String regex = "literal".equals(patternType) ? Perl5Compiler.quotemeta(MISSING_TEXT)
+        : MISSING_TEXT + ".*\\n.*" + MISSING_TEXT;
+    fullScreenCondition = buildCondition(regex, FULL_SCREEN_AREA);
+    reducedAreaCondition = buildCondition(regex, Area.fromTopLeftBottomRight(2, 10, 12, 60));
+  }
+
+  private TextWaitCondition buildCondition(String regex, Area area)
+      throws MalformedPatternException {
+    return new TextWaitCondition(new Perl5Compiler().compile(regex), new Perl5Matcher(), area,
+        60000, 1000);
+  }
+
+  @Benchmark
+  public boolean matchesFullScreen() {
+    return fullScreenCondition.matchesScreen(screen);
+  }
+
+  @Benchmark
+  public boolean matchesReducedArea() {
+    return reducedAreaCondition.matchesScreen(screen);
+  }
+
+}
@@ -0,0 +1,91 @@
+package com.blazemeter.jmeter.rte.protocols.tn3270;
+
+import com.blazemeter.jmeter.rte.core.Screen;
+import com.blazemeter.jmeter.rte.core.ServerDisconnectHandler;
+import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
+import com.blazemeter.jmeter.rte.core.ssl.SSLType;
+import com.blazemeter.jmeter.rte.core.wait.SyncWaitCondition;
+import java.io.File;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import us.abstracta.wiresham.Flow;
+import us.abstracta.wiresham.VirtualTcpService;
+
+/**
+ * Benchmarks building the screen of a TN3270 client connected to a virtual server which has sent
+ * the login welcome screen (24x80).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Tn3270ClientBenchmark {
+
+  private static final int TIMEOUT_MILLIS = 5000;
+  private static final int STABLE_TIMEOUT_MILLIS = 1000;
+  private static final long SERVER_STOP_TIMEOUT_MILLIS = 10000;
+
+  private final VirtualTcpService server = new VirtualTcpService();
+  private BenchmarkClient client;
+
+  @Setup
+  public void setup() throws Exception {
+    server.setSslEnabled(false);
+    server.setFlow(Flow.fromYml(new File(getClass()
+        .getResource("/com/blazemeter/jmeter/rte/protocols/tn3270/login-immediate-responses.yml")
+        .getFile())));
+    server.start();
+    client = new BenchmarkClient();
+    client.setDisconnectionHandler(new ServerDisconnectHandler(false) {
+      @Override
+      public void onDisconnection(ExceptionHandler handler) {
+      }
+    });
+    client.connect("localhost", server.getPort(), SSLType.NONE, client.getDefaultTerminalType(),
+        TIMEOUT_MILLIS);
+    client.await(Collections
+        .singletonList(new SyncWaitCondition(TIMEOUT_MILLIS, STABLE_TIMEOUT_MILLIS)));
+  }
+
+  @TearDown
+  public void teardown() throws Exception {
+    try {
+      client.disconnect();
+    } finally {
+      server.stop(SERVER_STOP_TIMEOUT_MILLIS);
+    }
+  }
+
+  @Benchmark
+  public Screen getScreen() {
+    return client.rebuildScreen();
+  }
+
+  @Benchmark
+  public Screen getCachedScreen() {
+    return client.getScreen();
+  }
+
+  private static class BenchmarkClient extends Tn3270Client {
+
+    private Screen rebuildScreen() {
+      invalidateScreen();
+      return getScreen();
+    }
+
+  }
+
+}
@@ -5,37 +5,54 @@ import com.blazemeter.jmeter.rte.core.exceptions.RteIOException;
 import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.ssl.SSLContextFactory;
 import com.blazemeter.jmeter.rte.core.ssl.SSLType;
-import com.blazemeter.jmeter.rte.core.wait.ConditionWaiter;
+import com.blazemeter.jmeter.rte.core.transport.Transport;
+import com.blazemeter.jmeter.rte.core.wait.StablePeriodListener;
+import com.blazemeter.jmeter.rte.core.wait.WaitEngine;
 import com.blazemeter.jmeter.rte.core.wait.WaitCondition;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeoutException;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.net.SocketFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public abstract class BaseProtocolClient implements RteProtocolClient {
 
-  protected static final ThreadFactory NAMED_THREAD_FACTORY = (runnable) -> new Thread(runnable,
-      "STABLE-TIMEOUT-EXECUTOR");
   private static final Logger LOG = LoggerFactory.getLogger(BaseProtocolClient.class);
   protected ExceptionHandler exceptionHandler;
   protected ScheduledExecutorService stableTimeoutExecutor;
   private ServerDisconnectHandler serverDisconnectHandler;
+  private final AtomicLong screenVersion = new AtomicLong();
+  private volatile ScreenSnapshot lastScreen;
+  private final AtomicBoolean sessionOpened = new AtomicBoolean();
 
   protected SocketFactory getSocketFactory(SSLType sslType, String server) throws RteIOException {
     if (sslType != null && sslType != SSLType.NONE) {
       try {
-        return SSLContextFactory.buildSSLContext(sslType).getSocketFactory();
+        return Transport.decorate(SSLContextFactory.getSSLContext(sslType).getSocketFactory());
       } catch (IOException | GeneralSecurityException e) {
         throw new RteIOException(e, server);
       }
     } else {
-      return SocketFactory.getDefault();
+      return Transport.decorate(SocketFactory.getDefault());
+    }
+  }
+
+  protected abstract Protocol getProtocol();
+
+  /*
+  Protocol clients must invoke this method when connect ends (successfully or not) to keep track
+  of active sessions and connection failures.
+   */
+  protected void registerConnectionEnd(boolean connected) {
+    if (!connected) {
+      RteMetrics.getInstance().connectFailed();
+    } else if (sessionOpened.compareAndSet(false, true)) {
+      RteMetrics.getInstance().sessionOpened(getProtocol());
     }
   }
 
@@ -43,8 +60,12 @@ public abstract class BaseProtocolClient implements RteProtocolClient {
   public void send(List<Input> input, AttentionKey attentionKey, long echoTimeoutMillis)
       throws RteIOException {
     exceptionHandler.throwAnyPendingError();
-    input.forEach(i -> setField(i, echoTimeoutMillis));
+    input.forEach(i -> {
+      setField(i, echoTimeoutMillis);
+      invalidateScreen();
+    });
     sendAttentionKey(attentionKey);
+    invalidateScreen();
     exceptionHandler.throwAnyPendingError();
   }
 
@@ -52,28 +73,60 @@ public abstract class BaseProtocolClient implements RteProtocolClient {
 
   protected abstract void sendAttentionKey(AttentionKey attentionKey);
 
+  /**
+   * Gets the current screen, which is only rebuilt from the emulator when it may have changed since
+   * last invocation.
+   * <p>
+   * Returned screen is shared among callers, so it should not be modified.
+   */
   @Override
-  public void await(List<WaitCondition> waitConditions)
-      throws InterruptedException, TimeoutException, RteIOException {
-    List<ConditionWaiter<?>> listeners = waitConditions.stream()
-        .map(this::buildWaiter)
-        .collect(Collectors.toList());
-    try {
-      for (ConditionWaiter<?> listener : listeners) {
-        listener.await();
-      }
-    } finally {
-      listeners.forEach(ConditionWaiter::stop);
+  public Screen getScreen() {
+    RteMetrics metrics = RteMetrics.getInstance();
+    metrics.screenRequested();
+    long version = screenVersion.get();
+    ScreenSnapshot snapshot = lastScreen;
+    if (snapshot != null && snapshot.version == version) {
+      return snapshot.screen;
     }
+    long buildStartNanos = System.nanoTime();
+    Screen screen = buildScreen();
+    metrics.screenBuilt(System.nanoTime() - buildStartNanos);
+    lastScreen = new ScreenSnapshot(version, screen);
+    return screen;
   }
 
-  protected abstract ConditionWaiter<?> buildWaiter(WaitCondition waitCondition);
+  protected abstract Screen buildScreen();
+
+  /*
+  Protocol clients must invoke this method on every emulator event that may change the screen,
+  before notifying registered listeners, to avoid listeners evaluating stale screens.
+   */
+  protected void invalidateScreen() {
+    screenVersion.incrementAndGet();
+  }
+
+  @Override
+  public long await(List<WaitCondition> waitConditions)
+      throws InterruptedException, TimeoutException, RteIOException {
+    return await(waitConditions, null);
+  }
+
+  @Override
+  public long await(List<WaitCondition> waitConditions, StablePeriodListener stablePeriodListener)
+      throws InterruptedException, TimeoutException, RteIOException {
+    return getWaitEngine().await(waitConditions, stablePeriodListener);
+  }
+
+  protected abstract WaitEngine<?> getWaitEngine();
 
   @Override
   public void disconnect() throws RteIOException {
     if (stableTimeoutExecutor == null) {
       return;
     }
+    if (sessionOpened.compareAndSet(true, false)) {
+      RteMetrics.getInstance().sessionClosed(getProtocol());
+    }
     doDisconnect();
     try {
       exceptionHandler.throwAnyPendingError();
@@ -103,6 +156,12 @@ public abstract class BaseProtocolClient implements RteProtocolClient {
     return false;
   }
 
+  @Override
+  public boolean isBusy() {
+    return exceptionHandler != null && exceptionHandler.hasPendingError()
+        || getWaitEngine().hasOngoingWaits();
+  }
+
   protected void handleServerDisconnection() {
     if (serverDisconnectHandler != null) {
       serverDisconnectHandler.onDisconnection(exceptionHandler);
@@ -111,4 +170,15 @@ public abstract class BaseProtocolClient implements RteProtocolClient {
     exceptionHandler
         .setPendingError(new UnsupportedOperationException("No disconnection handler set"));
   }
+
+  private static class ScreenSnapshot {
+
+    private final long version;
+    private final Screen screen;
+
+    private ScreenSnapshot(long version, Screen screen) {
+      this.version = version;
+      this.screen = screen;
+    }
+  }
 }
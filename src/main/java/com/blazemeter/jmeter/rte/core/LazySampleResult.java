@@ -0,0 +1,103 @@
+package com.blazemeter.jmeter.rte.core;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.util.JMeterUtils;
+
+/*
+Sample result which renders headers, sampler data and response data only when some element
+(listener, extractor, assertion, etc.) reads any of them, avoiding such work in sampling threads
+when results are only saved to CSV files without response data.
+
+Renders are done at most once, and before serializing the result (in distributed testing), so
+remote engines send the same information as with plain sample results. Sample sizes, which are
+read by most listeners, are computed from the response data length provided with the renderer.
+ */
+class LazySampleResult extends SampleResult {
+
+  private static final long serialVersionUID = 1L;
+  /*
+  SampleResult only uses response data, instead of headers and body sizes, to get the bytes when
+  both of these properties are disabled.
+   */
+  private static final boolean BYTES_FROM_RESPONSE_DATA =
+      !JMeterUtils.getPropDefault("sampleresult.getbytes.headers_size", true)
+          && !JMeterUtils.getPropDefault("sampleresult.getbytes.body_real_size", true);
+
+  private transient volatile Runnable renderer;
+  private transient long renderedResponseDataLength;
+
+  LazySampleResult() {
+  }
+
+  /**
+   * Sets the renderer of the result information and the length of the response data it sets.
+   */
+  public void setRenderer(Runnable renderer, long responseDataLength) {
+    this.renderedResponseDataLength = responseDataLength;
+    this.renderer = renderer;
+  }
+
+  private void render() {
+    if (renderer == null) {
+      return;
+    }
+    synchronized (this) {
+      Runnable pendingRenderer = renderer;
+      if (pendingRenderer != null) {
+        pendingRenderer.run();
+        renderer = null;
+      }
+    }
+  }
+
+  @Override
+  public String getRequestHeaders() {
+    render();
+    return super.getRequestHeaders();
+  }
+
+  @Override
+  public String getSamplerData() {
+    render();
+    return super.getSamplerData();
+  }
+
+  @Override
+  public String getResponseHeaders() {
+    render();
+    return super.getResponseHeaders();
+  }
+
+  @Override
+  public byte[] getResponseData() {
+    render();
+    return super.getResponseData();
+  }
+
+  @Override
+  public String getResponseDataAsString() {
+    render();
+    return super.getResponseDataAsString();
+  }
+
+  @Override
+  public long getBytesAsLong() {
+    if (BYTES_FROM_RESPONSE_DATA) {
+      render();
+    }
+    return super.getBytesAsLong();
+  }
+
+  @Override
+  public long getBodySizeAsLong() {
+    return renderer != null ? renderedResponseDataLength : super.getBodySizeAsLong();
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    render();
+    out.defaultWriteObject();
+  }
+
+}
@@ -0,0 +1,287 @@
+package com.blazemeter.jmeter.rte.core;
+
+import com.blazemeter.jmeter.rte.core.wait.StableTimeoutScheduler;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.jmeter.util.JMeterUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counters of the plugin internals (sessions, connections, screens, wait conditions and traffic)
+ * updated by protocol clients and condition waiters, along with the statistics of the running
+ * {@link StableTimeoutScheduler} (which are 0 when it is not running).
+ * <p>
+ * Counters are {@link LongAdder}s to keep their update cheap when many threads update them. They
+ * are exposed through JMX with {@value #OBJECT_NAME} name, and can periodically be logged by
+ * setting {@value #LOG_INTERVAL_PROPERTY} property.
+ */
+public class RteMetrics implements RteMetricsMXBean {
+
+  public static final String OBJECT_NAME = "com.blazemeter.jmeter.rte:type=RteMetrics";
+  public static final String LOG_INTERVAL_PROPERTY = "RTESampler.metricsLogIntervalSeconds";
+
+  private static final Logger LOG = LoggerFactory.getLogger(RteMetrics.class);
+  private static final RteMetrics INSTANCE = new RteMetrics();
+  private static final ReentrantLock SUMMARY_LOCK = new ReentrantLock();
+  private static ScheduledExecutorService summaryExecutor;
+
+  private final long creationNanos = System.nanoTime();
+  private final Map<Protocol, LongAdder> activeSessions = new ConcurrentHashMap<>();
+  private final LongAdder connects = new LongAdder();
+  private final LongAdder connectFailures = new LongAdder();
+  private final LongAdder screenRequests = new LongAdder();
+  private final LongAdder screenBuilds = new LongAdder();
+  private final LongAdder screenBuildNanos = new LongAdder();
+  private final LongAdder conditionEvaluations = new LongAdder();
+  private final LongAdder stablePeriodRestarts = new LongAdder();
+  private final Map<String, LongAdder> conditionTimeouts = new ConcurrentHashMap<>();
+  private final LongAdder bytesReceived = new LongAdder();
+  private final LongAdder bytesSent = new LongAdder();
+  private long lastSummaryNanos = creationNanos;
+  private long lastSummaryConnects;
+
+  static {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(INSTANCE, name);
+      }
+    } catch (JMException | RuntimeException e) {
+      LOG.warn("Could not register RTE metrics in JMX", e);
+    }
+  }
+
+  RteMetrics() {
+  }
+
+  public static RteMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  public void sessionOpened(Protocol protocol) {
+    connects.increment();
+    activeSessions.computeIfAbsent(protocol, p -> new LongAdder()).increment();
+  }
+
+  public void sessionClosed(Protocol protocol) {
+    activeSessions.computeIfAbsent(protocol, p -> new LongAdder()).decrement();
+  }
+
+  public void connectFailed() {
+    connectFailures.increment();
+  }
+
+  public void screenRequested() {
+    screenRequests.increment();
+  }
+
+  public void screenBuilt(long buildNanos) {
+    screenBuilds.increment();
+    screenBuildNanos.add(buildNanos);
+  }
+
+  public void conditionEvaluated() {
+    conditionEvaluations.increment();
+  }
+
+  public void stablePeriodRestarted() {
+    stablePeriodRestarts.increment();
+  }
+
+  public void conditionTimedOut(String conditionType) {
+    conditionTimeouts.computeIfAbsent(conditionType, t -> new LongAdder()).increment();
+  }
+
+  public void bytesReceived(long count) {
+    bytesReceived.add(count);
+  }
+
+  public void bytesSent(long count) {
+    bytesSent.add(count);
+  }
+
+  @Override
+  public Map<String, Long> getActiveSessions() {
+    Map<String, Long> ret = new TreeMap<>();
+    activeSessions.forEach((protocol, count) -> ret.put(protocol.name(), count.sum()));
+    return ret;
+  }
+
+  @Override
+  public long getConnects() {
+    return connects.sum();
+  }
+
+  /**
+   * Gets the average connects per second since the plugin was loaded.
+   */
+  @Override
+  public double getConnectsPerSecond() {
+    return perSecond(connects.sum(), System.nanoTime() - creationNanos);
+  }
+
+  private static double perSecond(long count, long elapsedNanos) {
+    return elapsedNanos <= 0 ? 0 : count * 1e9 / elapsedNanos;
+  }
+
+  @Override
+  public long getConnectFailures() {
+    return connectFailures.sum();
+  }
+
+  @Override
+  public long getScreenRequests() {
+    return screenRequests.sum();
+  }
+
+  @Override
+  public long getScreenBuilds() {
+    return screenBuilds.sum();
+  }
+
+  @Override
+  public double getAverageScreenBuildMillis() {
+    long builds = screenBuilds.sum();
+    return builds == 0 ? 0 : screenBuildNanos.sum() / 1e6 / builds;
+  }
+
+  @Override
+  public long getConditionEvaluations() {
+    return conditionEvaluations.sum();
+  }
+
+  @Override
+  public long getStablePeriodRestarts() {
+    return stablePeriodRestarts.sum();
+  }
+
+  @Override
+  public Map<String, Long> getConditionTimeouts() {
+    Map<String, Long> ret = new TreeMap<>();
+    conditionTimeouts.forEach((type, count) -> ret.put(type, count.sum()));
+    return ret;
+  }
+
+  @Override
+  public long getBytesReceived() {
+    return bytesReceived.sum();
+  }
+
+  @Override
+  public long getBytesSent() {
+    return bytesSent.sum();
+  }
+
+  @Override
+  public int getStableTimeoutQueueDepth() {
+    return StableTimeoutScheduler.getRunningInstance()
+        .map(StableTimeoutScheduler::getQueueDepth)
+        .orElse(0);
+  }
+
+  @Override
+  public long getStableTimeoutExecutedTasks() {
+    return StableTimeoutScheduler.getRunningInstance()
+        .map(StableTimeoutScheduler::getExecutedTasks)
+        .orElse(0L);
+  }
+
+  @Override
+  public long getStableTimeoutAverageLagMillis() {
+    return StableTimeoutScheduler.getRunningInstance()
+        .map(StableTimeoutScheduler::getAverageLagMillis)
+        .orElse(0L);
+  }
+
+  @Override
+  public long getStableTimeoutMaxLagMillis() {
+    return StableTimeoutScheduler.getRunningInstance()
+        .map(StableTimeoutScheduler::getMaxLagMillis)
+        .orElse(0L);
+  }
+
+  /**
+   * Builds a one line summary of the metrics, where connects per second are calculated since the
+   * previous summary.
+   */
+  public String buildSummary() {
+    SUMMARY_LOCK.lock();
+    try {
+      long now = System.nanoTime();
+      long currentConnects = connects.sum();
+      double connectsPerSecond = perSecond(currentConnects - lastSummaryConnects,
+          now - lastSummaryNanos);
+      lastSummaryNanos = now;
+      lastSummaryConnects = currentConnects;
+      return String.format("RTE metrics: activeSessions=%s, connects=%d (%.2f/s), "
+              + "connectFailures=%d, screenRequests=%d, screenBuilds=%d (avg %.3f ms), "
+              + "conditionEvaluations=%d, stablePeriodRestarts=%d, conditionTimeouts=%s, "
+              + "bytesIn=%d, bytesOut=%d, stableTimeoutTasks=%d (queue %d, avg lag %d ms, "
+              + "max lag %d ms)", getActiveSessions(), currentConnects, connectsPerSecond,
+          getConnectFailures(), getScreenRequests(), getScreenBuilds(),
+          getAverageScreenBuildMillis(), getConditionEvaluations(), getStablePeriodRestarts(),
+          getConditionTimeouts(), getBytesReceived(), getBytesSent(),
+          getStableTimeoutExecutedTasks(), getStableTimeoutQueueDepth(),
+          getStableTimeoutAverageLagMillis(), getStableTimeoutMaxLagMillis());
+    } finally {
+      SUMMARY_LOCK.unlock();
+    }
+  }
+
+  /**
+   * Starts logging a metrics summary with the interval configured in
+   * {@value #LOG_INTERVAL_PROPERTY} property, if not already started and the interval is positive.
+   */
+  public static void startSummaryLog() {
+    long intervalSeconds = JMeterUtils.getPropDefault(LOG_INTERVAL_PROPERTY, 0L);
+    if (intervalSeconds <= 0) {
+      return;
+    }
+    SUMMARY_LOCK.lock();
+    try {
+      if (summaryExecutor != null) {
+        return;
+      }
+      ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "RTE-METRICS-LOGGER");
+        thread.setDaemon(true);
+        return thread;
+      });
+      executor.scheduleAtFixedRate(() -> LOG.info(INSTANCE.buildSummary()), intervalSeconds,
+          intervalSeconds, TimeUnit.SECONDS);
+      summaryExecutor = executor;
+    } finally {
+      SUMMARY_LOCK.unlock();
+    }
+  }
+
+  /**
+   * Stops logging metrics summary, logging a last one, if it was started.
+   */
+  public static void stopSummaryLog() {
+    SUMMARY_LOCK.lock();
+    try {
+      if (summaryExecutor == null) {
+        return;
+      }
+      summaryExecutor.shutdownNow();
+      summaryExecutor = null;
+      LOG.info(INSTANCE.buildSummary());
+    } finally {
+      SUMMARY_LOCK.unlock();
+    }
+  }
+
+}
@@ -0,0 +1,42 @@
+package com.blazemeter.jmeter.rte.core;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link RteMetrics}.
+ */
+public interface RteMetricsMXBean {
+
+  Map<String, Long> getActiveSessions();
+
+  long getConnects();
+
+  double getConnectsPerSecond();
+
+  long getConnectFailures();
+
+  long getScreenRequests();
+
+  long getScreenBuilds();
+
+  double getAverageScreenBuildMillis();
+
+  long getConditionEvaluations();
+
+  long getStablePeriodRestarts();
+
+  Map<String, Long> getConditionTimeouts();
+
+  long getBytesReceived();
+
+  long getBytesSent();
+
+  int getStableTimeoutQueueDepth();
+
+  long getStableTimeoutExecutedTasks();
+
+  long getStableTimeoutAverageLagMillis();
+
+  long getStableTimeoutMaxLagMillis();
+
+}
@@ -3,6 +3,7 @@ package com.blazemeter.jmeter.rte.core;
 import com.blazemeter.jmeter.rte.core.exceptions.RteIOException;
 import com.blazemeter.jmeter.rte.core.listener.TerminalStateListener;
 import com.blazemeter.jmeter.rte.core.ssl.SSLType;
+import com.blazemeter.jmeter.rte.core.wait.StablePeriodListener;
 import com.blazemeter.jmeter.rte.core.wait.WaitCondition;
 import java.util.List;
 import java.util.Optional;
@@ -33,9 +34,25 @@ public interface RteProtocolClient {
   void connect(String server, int port, SSLType sslType, TerminalType terminalType,
       long timeoutMillis) throws RteIOException, InterruptedException, TimeoutException;
 
-  void await(List<WaitCondition> waitConditions)
+  /**
+   * Waits for all the given conditions to be met and remain stable.
+   *
+   * @return the time (in epoch millis) when all the conditions were met, before their stable
+   * periods, or 0 if it is unknown.
+   */
+  long await(List<WaitCondition> waitConditions)
       throws InterruptedException, TimeoutException, RteIOException;
 
+  /**
+   * Same as {@link #await(List)} but notifying the given listener when any of the conditions stops
+   * being met during its stable period.
+   */
+  default long await(List<WaitCondition> waitConditions,
+      StablePeriodListener stablePeriodListener)
+      throws InterruptedException, TimeoutException, RteIOException {
+    return await(waitConditions);
+  }
+
   void addTerminalStateListener(TerminalStateListener terminalStateListener);
 
   void removeTerminalStateListener(TerminalStateListener terminalStateListener);
@@ -60,4 +77,10 @@ public interface RteProtocolClient {
   void setDisconnectionHandler(ServerDisconnectHandler serverDisconnectHandler);
   
   boolean isServerDisconnected();
+
+  /**
+   * Allows to know if the client has ongoing waits or errors which have not been reported yet,
+   * in which case it is not safe to be used by another sampler.
+   */
+  boolean isBusy();
 }
@@ -1,13 +1,18 @@
 package com.blazemeter.jmeter.rte.core;
 
 import com.blazemeter.jmeter.rte.core.Screen.Segment;
+import com.blazemeter.jmeter.rte.core.ScreenInterner.InternedScreen;
+import com.blazemeter.jmeter.rte.core.exceptions.ErrorScreenException;
 import com.blazemeter.jmeter.rte.core.ssl.SSLType;
 import com.blazemeter.jmeter.rte.sampler.Action;
 import com.helger.commons.annotation.VisibleForTesting;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.apache.jmeter.samplers.SampleResult;
 
@@ -24,6 +29,13 @@ public class RteSampleResultBuilder {
   public static final String HEADERS_TERMINAL_TYPE = "Terminal-type: ";
   public static final String CURSOR_POSITION_HEADER = "Cursor-position: ";
   public static final String FIELDS_POSITION_HEADER = "Field-positions: ";
+  public static final String SCREEN_HASH_HEADER = "Screen-hash: ";
+  public static final String SCREEN_NAME_HEADER = "Screen-name: ";
+  public static final String SEND_END_PHASE = "sendTime";
+  public static final String FIRST_RESPONSE_PHASE = "firstResponseTime";
+  public static final String KEYBOARD_UNLOCK_PHASE = "keyboardUnlockTime";
+  public static final String CONDITIONS_MET_PHASE = "conditionsMetTime";
+  public static final String STABLE_PERIOD_END_PHASE = "stablePeriodEndTime";
   public static final String HEADERS_SEPARATOR = "\n";
   private SampleResult result;
   private String server;
@@ -40,9 +52,24 @@ public class RteSampleResultBuilder {
   private boolean soundedAlarm;
   private Screen screen;
   private String responseHeaders;
+  // phases may be registered by emulator threads while the sampler thread registers others
+  private final Map<String, Long> phaseTimes = Collections
+      .synchronizedMap(new LinkedHashMap<>());
 
   public RteSampleResultBuilder() {
-    result = new SampleResult();
+    this(false);
+  }
+
+  /**
+   * Creates a builder which can render headers, sampler data and response data only when some
+   * element reads them.
+   *
+   * @param lazyRendering when true, built result renders them when first read, and the builder
+   * must not be modified after building the result. Otherwise, they are rendered when building the
+   * result.
+   */
+  public RteSampleResultBuilder(boolean lazyRendering) {
+    result = lazyRendering ? new LazySampleResult() : new SampleResult();
     result.sampleStart();
   }
 
@@ -77,9 +104,47 @@ public class RteSampleResultBuilder {
 
   public RteSampleResultBuilder withLatencyEndNow() {
     result.latencyEnd();
+    return withPhaseTime(FIRST_RESPONSE_PHASE, result.getStartTime() + result.getLatency());
+  }
+
+  /*
+  phase times are kept relative to the sample start, so they can be compared with sample elapsed
+  time and latency.
+   */
+  private RteSampleResultBuilder withPhaseTime(String phase, long timeMillis) {
+    phaseTimes.put(phase, timeMillis - result.getStartTime());
     return this;
   }
 
+  public RteSampleResultBuilder withSendEndNow() {
+    return withPhaseTime(SEND_END_PHASE, result.currentTimeInMillis());
+  }
+
+  public RteSampleResultBuilder withKeyboardUnlockTime(long timeMillis) {
+    return withPhaseTime(KEYBOARD_UNLOCK_PHASE, timeMillis);
+  }
+
+  public RteSampleResultBuilder withConditionsMetTime(long timeMillis) {
+    return timeMillis > 0 ? withPhaseTime(CONDITIONS_MET_PHASE, timeMillis) : this;
+  }
+
+  public RteSampleResultBuilder withStablePeriodEndNow() {
+    return withPhaseTime(STABLE_PERIOD_END_PHASE, result.currentTimeInMillis());
+  }
+
+  /**
+   * Gets the time, in millis since the sample start, when each of the sample phases ended.
+   * <p>
+   * Only phases which happened in the sample are included (e.g.: the keyboard unlock is not
+   * included for protocols without keyboard lock, and no phase after a failure is included).
+   * Phases are included in the order they were registered.
+   */
+  public Map<String, Long> getPhaseTimes() {
+    synchronized (phaseTimes) {
+      return new LinkedHashMap<>(phaseTimes);
+    }
+  }
+
   public RteSampleResultBuilder withEndTime(long endTime) {
     result.setEndTime(endTime);
     return this;
@@ -114,6 +179,19 @@ public class RteSampleResultBuilder {
   }
 
   public RteSampleResultBuilder withTimeoutFailure(Throwable e, RteProtocolClient client) {
+    return withScreenFailure(e, client);
+  }
+
+  public RteSampleResultBuilder withErrorScreenFailure(ErrorScreenException e,
+      RteProtocolClient client) {
+    return withScreenFailure(e, client);
+  }
+
+  /*
+  Failures where the server screen is more useful than the exception stack trace for
+  troubleshooting.
+   */
+  private RteSampleResultBuilder withScreenFailure(Throwable e, RteProtocolClient client) {
     result.setSuccessful(false);
     result.setResponseCode(e.getClass().getName());
     result.setResponseMessage(e.getMessage());
@@ -169,15 +247,37 @@ public class RteSampleResultBuilder {
   }
 
   public SampleResult build() {
+    result.setDataType(SampleResult.TEXT);
+    boolean screenResponse = result.getResponseDataAsString().isEmpty();
+    if (result instanceof LazySampleResult) {
+      long responseDataLength = !screenResponse ? result.getResponseData().length
+          : screen != null ? screen.getTextUtf8Length() : 0;
+      ((LazySampleResult) result).setRenderer(() -> render(screenResponse), responseDataLength);
+    } else {
+      render(screenResponse);
+    }
+    return result;
+  }
+
+  /*
+  Only setters of the result must be used here, since getters of lazy results trigger rendering.
+   */
+  private void render(boolean screenResponse) {
     result.setRequestHeaders(buildRequestHeaders());
     result.setSamplerData(buildSamplerData());
-    responseHeaders = responseHeaders == null ? buildResponseHeaders() : responseHeaders;
+    InternedScreen internedScreen = screen != null ? ScreenInterner.intern(screen.getText())
+        : null;
+    responseHeaders =
+        responseHeaders == null ? buildResponseHeaders(internedScreen) : responseHeaders;
     result.setResponseHeaders(responseHeaders);
-    result.setDataType(SampleResult.TEXT);
-    if (result.getResponseDataAsString().isEmpty()) {
-      result.setResponseData(screen != null ? screen.getText() : "", StandardCharsets.UTF_8.name());
+    if (screenResponse) {
+      if (internedScreen != null) {
+        result.setDataEncoding(StandardCharsets.UTF_8.name());
+        result.setResponseData(internedScreen.getData());
+      } else {
+        result.setResponseData("", StandardCharsets.UTF_8.name());
+      }
     }
-    return result;
   }
 
   private String buildRequestHeaders() {
@@ -202,18 +302,22 @@ public class RteSampleResultBuilder {
         + "\n";
   }
 
-  private String buildResponseHeaders() {
+  private String buildResponseHeaders(InternedScreen internedScreen) {
     if (action == Action.DISCONNECT) {
       return "";
     }
 
     String fieldsPositions = getFieldsPositions();
+    String screenName = screen != null ? ScreenRegistry.getInstance().findName(screen) : null;
     return "Input-inhibited: " + inputInhibitedResponse + HEADERS_SEPARATOR +
         CURSOR_POSITION_HEADER + (cursorPosition != null ? cursorPosition.toString() : "")
         + HEADERS_SEPARATOR +
         (soundedAlarm ? "Sound-Alarm: true" + HEADERS_SEPARATOR : "") +
         (!fieldsPositions.isEmpty() ? FIELDS_POSITION_HEADER
-            + fieldsPositions + HEADERS_SEPARATOR : "");
+            + fieldsPositions + HEADERS_SEPARATOR : "") +
+        (internedScreen != null ? SCREEN_HASH_HEADER + internedScreen.getHash()
+            + HEADERS_SEPARATOR : "") +
+        (screenName != null ? SCREEN_NAME_HEADER + screenName + HEADERS_SEPARATOR : "");
 
   }
 
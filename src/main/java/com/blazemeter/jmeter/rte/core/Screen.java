@@ -6,6 +6,7 @@ import java.awt.Dimension;
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -22,8 +23,14 @@ import org.xml.sax.SAXException;
 
 public class Screen {
 
+  private static final long FINGERPRINT_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FINGERPRINT_PRIME = 0x100000001b3L;
   private List<Segment> segments = new ArrayList<>();
   private Dimension size;
+  // text is lazily built and cached, since it is required on every screen evaluation by waiters
+  private transient String text;
+  // fingerprint is lazily built and cached as text, 0 means not yet built
+  private transient long fingerprint;
 
   // Provided for proper deserialization of sample results
   public Screen() {
@@ -106,11 +113,18 @@ public class Screen {
     return size;
   }
 
+  /**
+   * Gets an unmodifiable view of screen segments, since screens may be shared among samplers (e.g.:
+   * client cached screen), and segments must only be added through the screen methods, which keep
+   * cached text and fingerprint in sync.
+   */
   public List<Segment> getSegments() {
-    return segments;
+    return Collections.unmodifiableList(segments);
   }
 
   public void addSegment(int linealPosition, String text) {
+    this.text = null;
+    fingerprint = 0;
     segments.add(
         getSegmentBuilder(linealPosition, text)
             .build(size)
@@ -124,6 +138,8 @@ public class Screen {
   }
   
   public void addField(int linealPosition, String text) {
+    this.text = null;
+    fingerprint = 0;
     segments.add(
         getSegmentBuilder(linealPosition, text)
             .withEditable()
@@ -132,6 +148,8 @@ public class Screen {
   }
 
   public void addSecretField(int linealPosition, String text) {
+    this.text = null;
+    fingerprint = 0;
     segments.add(
         getSegmentBuilder(linealPosition, text)
             .withEditable()
@@ -141,7 +159,16 @@ public class Screen {
   }
 
   public String getText() {
-    StringBuilder screen = new StringBuilder();
+    String ret = text;
+    if (ret == null) {
+      ret = buildText();
+      text = ret;
+    }
+    return ret;
+  }
+
+  private String buildText() {
+    StringBuilder screen = new StringBuilder(size.height * (size.width + 1));
     int nextScreenPosition = 0;
     for (Segment segment : segments) {
       int segmentPosition = buildLinealPosition(segment.getStartPosition(), size.width);
@@ -163,6 +190,112 @@ public class Screen {
     return screen.toString();
   }
 
+  /**
+   * Gets the length of {@link #getText()} encoded as UTF-8, without building the text when it has
+   * not been built yet.
+   * <p>
+   * Characters outside the basic multilingual plane split by the end of a row (which terminals
+   * don't generate) are counted as if they were not split.
+   */
+  public int getTextUtf8Length() {
+    String ret = text;
+    if (ret != null) {
+      return getUtf8Length(ret);
+    }
+    // same traversal as buildText, but only counting
+    int length = 0;
+    int nextScreenPosition = 0;
+    for (Segment segment : segments) {
+      int segmentPosition = buildLinealPosition(segment.getStartPosition(), size.width);
+      if (segmentPosition != nextScreenPosition) {
+        int blankLength = Math.max(segmentPosition - nextScreenPosition, 0);
+        length += blankLength
+            + countWrappedLines(nextScreenPosition % size.width, blankLength, size.width);
+        nextScreenPosition += blankLength;
+      }
+      length += segment.getWrappedTextUtf8Length(size.width);
+      nextScreenPosition += segment.text.length();
+    }
+    int lastScreenPosition = size.width * size.height;
+    if (nextScreenPosition < lastScreenPosition) {
+      int blankLength = lastScreenPosition - nextScreenPosition;
+      length += blankLength
+          + countWrappedLines(nextScreenPosition % size.width, blankLength, size.width);
+    }
+    return length;
+  }
+
+  private static int countWrappedLines(int offset, int textLength, int width) {
+    return (offset + textLength) / width;
+  }
+
+  private static int getUtf8Length(String str) {
+    int ret = 0;
+    for (int i = 0; i < str.length(); i++) {
+      char c = str.charAt(i);
+      if (c < 0x80) {
+        ret++;
+      } else if (c < 0x800) {
+        ret += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < str.length()
+          && Character.isLowSurrogate(str.charAt(i + 1))) {
+        ret += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        // unpaired surrogates are encoded as '?'
+        ret++;
+      } else {
+        ret += 3;
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Gets a hash of the screen structure, which identifies screens with same size, same protected
+   * text and same fields layout, no matter the contents of their fields.
+   * <p>
+   * Non visible characters of protected text are considered as spaces, as in {@link #getText()}.
+   * Screens without fields (like the ones of VT protocol) are identified by all their text.
+   */
+  public long getFingerprint() {
+    long ret = fingerprint;
+    if (ret == 0) {
+      ret = buildFingerprint();
+      fingerprint = ret;
+    }
+    return ret;
+  }
+
+  /*
+  A 64 bit FNV-1a hash is used, since it is fast to compute on each received screen, and
+  collisions are very unlikely for the few hundred screens of an application.
+   */
+  private long buildFingerprint() {
+    long ret = FINGERPRINT_OFFSET_BASIS;
+    ret = hashValue(ret, size.width);
+    ret = hashValue(ret, size.height);
+    for (Segment segment : segments) {
+      ret = hashValue(ret, buildLinealPosition(segment.getStartPosition(), size.width));
+      ret = hashValue(ret, segment.text.length());
+      if (segment.isEditable()) {
+        ret = hashValue(ret, segment.isSecret() ? 2 : 1);
+      } else {
+        ret = hashValue(ret, 0);
+        for (int i = 0; i < segment.text.length(); i++) {
+          char c = segment.text.charAt(i);
+          ret = hashValue(ret, c == '\u0000' ? ' ' : c);
+        }
+      }
+    }
+    // 0 is reserved for not yet built fingerprints
+    return ret != 0 ? ret : FINGERPRINT_OFFSET_BASIS;
+  }
+
+  private static long hashValue(long hash, int value) {
+    return (hash ^ value) * FINGERPRINT_PRIME;
+  }
+
   private Segment buildBlankSegmentForRange(int firstPosition, int lastPosition) {
     return getSegmentBuilder(firstPosition, buildBlankString(lastPosition - firstPosition))
         .build(size);
@@ -314,9 +447,7 @@ public class Screen {
     }
 
     private String getWrappedText(int width) {
-      int offset =
-          (positionRange.getStart().getColumn() > 0 ? positionRange.getStart().getColumn() : width)
-              - 1;
+      int offset = getWrapOffset(width);
       int pos = 0;
       StringBuilder ret = new StringBuilder();
       while (offset + text.length() - pos >= width) {
@@ -334,6 +465,16 @@ public class Screen {
       return convertInvisibleCharsToSpaces(ret.toString());
     }
 
+    private int getWrapOffset(int width) {
+      return (positionRange.getStart().getColumn() > 0 ? positionRange.getStart().getColumn()
+          : width) - 1;
+    }
+
+    // invisible chars are replaced by spaces, which take the same space in UTF-8
+    private int getWrappedTextUtf8Length(int width) {
+      return getUtf8Length(text) + countWrappedLines(getWrapOffset(width), text.length(), width);
+    }
+
     private String convertInvisibleCharsToSpaces(String str) {
       return str.replace('\u0000', ' ');
     }
@@ -0,0 +1,127 @@
+package com.blazemeter.jmeter.rte.core;
+
+import com.helger.commons.annotation.VisibleForTesting;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.jmeter.util.JMeterUtils;
+
+/*
+Keeps a single copy of response data for each distinct screen text, since most samples in a test
+get one of a few distinct screens (menus, login forms, etc.), avoiding keeping a copy of same
+screen in each sample result.
+
+Screens are indexed by a 64 bits hash of their text, so lookups neither lock nor keep a copy of
+the text in the keys. Screens with the same hash as an interned one but a different text are just
+not interned.
+
+Number of interned screens is limited by RTESampler.internedScreensMaxSize property. Once the
+limit is exceeded, the least recently used screens are evicted in batches by a single thread
+while the rest keep using the interned ones, so screens of later phases of the test can still be
+shared. Interned screens are cleared when test ends.
+ */
+public class ScreenInterner {
+
+  private static final String MAX_SIZE_PROPERTY = "RTESampler.internedScreensMaxSize";
+  private static final int DEFAULT_MAX_SIZE = 1000;
+  private static final int EVICTION_BATCH_DIVISOR = 10;
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private static final Map<Long, InternedScreen> SCREENS = new ConcurrentHashMap<>();
+  private static final AtomicLong ACCESS_CLOCK = new AtomicLong();
+  private static final ReentrantLock EVICTION_LOCK = new ReentrantLock();
+
+  private ScreenInterner() {
+  }
+
+  public static InternedScreen intern(String screenText) {
+    long hash = buildHash(screenText);
+    InternedScreen ret = SCREENS.get(hash);
+    if (ret == null) {
+      ret = new InternedScreen(screenText, hash);
+      InternedScreen previous = SCREENS.putIfAbsent(hash, ret);
+      if (previous == null) {
+        evictIfFull();
+        return ret;
+      }
+      ret = previous;
+    }
+    if (!ret.text.equals(screenText)) {
+      return new InternedScreen(screenText, hash);
+    }
+    ret.lastAccess = ACCESS_CLOCK.incrementAndGet();
+    return ret;
+  }
+
+  // FNV-1a hash of text chars, which is cheap to compute and stable among test executions
+  private static long buildHash(String text) {
+    long ret = FNV_OFFSET_BASIS;
+    for (int i = 0; i < text.length(); i++) {
+      ret = (ret ^ text.charAt(i)) * FNV_PRIME;
+    }
+    return ret;
+  }
+
+  private static void evictIfFull() {
+    int maxSize = JMeterUtils.getPropDefault(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE);
+    if (SCREENS.size() <= maxSize || !EVICTION_LOCK.tryLock()) {
+      return;
+    }
+    try {
+      int evictedCount = SCREENS.size() - (maxSize - maxSize / EVICTION_BATCH_DIVISOR);
+      // accesses are copied since they keep changing while evicting
+      long[] accesses = SCREENS.values().stream()
+          .mapToLong(s -> s.lastAccess)
+          .sorted()
+          .toArray();
+      if (evictedCount <= 0 || accesses.length == 0) {
+        return;
+      }
+      long lastEvictedAccess = accesses[Math.min(evictedCount, accesses.length) - 1];
+      SCREENS.values().removeIf(s -> s.lastAccess <= lastEvictedAccess);
+    } finally {
+      EVICTION_LOCK.unlock();
+    }
+  }
+
+  public static void clear() {
+    SCREENS.clear();
+  }
+
+  @VisibleForTesting
+  static int size() {
+    return SCREENS.size();
+  }
+
+  public static class InternedScreen {
+
+    private final String text;
+    private final long hash;
+    private final String hashHex;
+    private final byte[] data;
+    private volatile long lastAccess = ACCESS_CLOCK.incrementAndGet();
+
+    private InternedScreen(String text, long hash) {
+      this.text = text;
+      this.hash = hash;
+      this.hashHex = String.format("%016x", hash);
+      this.data = text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets UTF-8 encoded screen text, which is shared by all samples with same screen and must not
+     * be modified.
+     */
+    public byte[] getData() {
+      return data;
+    }
+
+    public String getHash() {
+      return hashHex;
+    }
+
+  }
+
+}
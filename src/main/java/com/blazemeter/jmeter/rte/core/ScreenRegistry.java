@@ -0,0 +1,161 @@
+package com.blazemeter.jmeter.rte.core;
+
+import com.helger.commons.annotation.VisibleForTesting;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.jmeter.util.JMeterUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of known screens, which maps screen fingerprints (see {@link Screen#getFingerprint()})
+ * to the names given to the screens while recording.
+ * <p>
+ * Several fingerprints may map to the same screen name (e.g.: when protected text of the screen
+ * includes current date), but each fingerprint only maps to one name. Screens are kept in memory,
+ * and when {@value #FILE_PROPERTY} property is set, they are loaded from such file when first
+ * used, and saved to it when recording stops.
+ * <p>
+ * A snapshot of each registered screen (see {@link ScreenSnapshotCodec}) is kept as well, so
+ * recorded screens can be inspected later without keeping the screens HTML.
+ */
+public class ScreenRegistry {
+
+  public static final String FILE_PROPERTY = "RTESampler.screensFile";
+
+  private static final Logger LOG = LoggerFactory.getLogger(ScreenRegistry.class);
+  private static final String SNAPSHOT_KEY_PREFIX = "snapshot.";
+
+  private final Map<Long, String> screens = new ConcurrentHashMap<>();
+  private final Map<Long, byte[]> snapshots = new ConcurrentHashMap<>();
+  private final File file;
+
+  @VisibleForTesting
+  public ScreenRegistry(File file) {
+    this.file = file;
+    if (file != null && file.exists()) {
+      load();
+    }
+  }
+
+  public static ScreenRegistry getInstance() {
+    return InstanceHolder.INSTANCE;
+  }
+
+  /*
+  Instance is lazily created to get the file property once JMeter properties have been loaded.
+   */
+  private static class InstanceHolder {
+
+    private static final ScreenRegistry INSTANCE = buildInstance();
+
+    private static ScreenRegistry buildInstance() {
+      String fileName = JMeterUtils.getPropDefault(FILE_PROPERTY, "");
+      return new ScreenRegistry(fileName.isEmpty() ? null : new File(fileName));
+    }
+
+  }
+
+  private void load() {
+    Properties props = new Properties();
+    try (InputStream is = Files.newInputStream(file.toPath())) {
+      props.load(is);
+    } catch (IOException e) {
+      LOG.warn("Could not load screens from {}", file, e);
+      return;
+    }
+    for (String key : props.stringPropertyNames()) {
+      if (key.startsWith(SNAPSHOT_KEY_PREFIX)) {
+        loadSnapshot(key.substring(SNAPSHOT_KEY_PREFIX.length()), props.getProperty(key));
+        continue;
+      }
+      try {
+        screens.put(Long.parseUnsignedLong(key, 16), props.getProperty(key));
+      } catch (NumberFormatException e) {
+        LOG.warn("Ignoring screen with invalid fingerprint {} in {}", key, file);
+      }
+    }
+  }
+
+  private void loadSnapshot(String fingerprint, String snapshot) {
+    try {
+      snapshots.put(Long.parseUnsignedLong(fingerprint, 16), Base64.getDecoder().decode(snapshot));
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Ignoring invalid snapshot of screen {} in {}", fingerprint, file);
+    }
+  }
+
+  /**
+   * Registers the given screen with the given name, replacing any name previously given to
+   * screens with same fingerprint.
+   */
+  public void register(String name, Screen screen) {
+    long fingerprint = screen.getFingerprint();
+    screens.put(fingerprint, name);
+    snapshots.put(fingerprint, ScreenSnapshotCodec.encode(screen));
+  }
+
+  /**
+   * Gets the name of the given screen, or null if the screen is not known.
+   */
+  public String findName(Screen screen) {
+    return screens.isEmpty() ? null : screens.get(screen.getFingerprint());
+  }
+
+  /**
+   * Gets the fingerprints of all the screens with the given name, which is empty when the name is
+   * not known.
+   */
+  public long[] findFingerprints(String name) {
+    return screens.entrySet().stream()
+        .filter(e -> e.getValue().equals(name))
+        .mapToLong(Map.Entry::getKey)
+        .sorted()
+        .toArray();
+  }
+
+  /**
+   * Gets the screen last registered with the given fingerprint, or null if no snapshot of such
+   * screen is known.
+   */
+  public Screen findScreen(long fingerprint) {
+    byte[] snapshot = snapshots.get(fingerprint);
+    if (snapshot == null) {
+      return null;
+    }
+    try {
+      return ScreenSnapshotCodec.decode(snapshot);
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Could not decode snapshot of screen {}", formatFingerprint(fingerprint), e);
+      return null;
+    }
+  }
+
+  public void save() {
+    if (file == null) {
+      return;
+    }
+    Properties props = new Properties();
+    screens.forEach((fingerprint, name) -> props.setProperty(formatFingerprint(fingerprint), name));
+    snapshots.forEach((fingerprint, snapshot) -> props.setProperty(
+        SNAPSHOT_KEY_PREFIX + formatFingerprint(fingerprint),
+        Base64.getEncoder().encodeToString(snapshot)));
+    try (OutputStream os = Files.newOutputStream(file.toPath())) {
+      props.store(os, "RTE screens fingerprints");
+    } catch (IOException e) {
+      LOG.warn("Could not save screens to {}", file, e);
+    }
+  }
+
+  public static String formatFingerprint(long fingerprint) {
+    return String.format("%016x", fingerprint);
+  }
+
+}
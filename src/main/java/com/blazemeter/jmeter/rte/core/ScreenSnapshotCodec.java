@@ -0,0 +1,112 @@
+package com.blazemeter.jmeter.rte.core;
+
+import com.blazemeter.jmeter.rte.core.Screen.Segment;
+import java.awt.Dimension;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Encodes screens (size, segments with their field flags, and optionally cursor position) in a
+ * compact binary format, which is much cheaper to write and read than HTML representation of
+ * screens (that should only be used for displaying them).
+ * <p>
+ * Format consists of: format version, screen width and height, cursor position (a flag followed
+ * by row and column when available), and number of segments followed by each segment flags, lineal
+ * position and text.
+ */
+public class ScreenSnapshotCodec {
+
+  private static final byte FORMAT_VERSION = 1;
+  private static final int EDITABLE_FLAG = 1;
+  private static final int SECRET_FLAG = 2;
+
+  private ScreenSnapshotCodec() {
+  }
+
+  public static byte[] encode(Screen screen) {
+    return encode(screen, null);
+  }
+
+  public static byte[] encode(Screen screen, Position cursorPosition) {
+    Dimension size = screen.getSize();
+    List<Segment> segments = screen.getSegments();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+        16 + segments.size() * 8 + size.width * size.height);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(FORMAT_VERSION);
+      out.writeShort(size.width);
+      out.writeShort(size.height);
+      out.writeBoolean(cursorPosition != null);
+      if (cursorPosition != null) {
+        out.writeShort(cursorPosition.getRow());
+        out.writeShort(cursorPosition.getColumn());
+      }
+      out.writeShort(segments.size());
+      for (Segment segment : segments) {
+        out.writeByte((segment.isEditable() ? EDITABLE_FLAG : 0)
+            | (segment.isSecret() ? SECRET_FLAG : 0));
+        Position start = segment.getStartPosition();
+        out.writeShort((start.getRow() - 1) * size.width + start.getColumn() - 1);
+        out.writeUTF(segment.getText());
+      }
+    } catch (IOException e) {
+      // should never happen since data is written to memory
+      throw new RuntimeException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  public static Screen decode(byte[] snapshot) {
+    try (DataInputStream in = openSnapshot(snapshot)) {
+      Screen ret = new Screen(new Dimension(in.readUnsignedShort(), in.readUnsignedShort()));
+      if (in.readBoolean()) {
+        in.skipBytes(4);
+      }
+      int segmentsCount = in.readUnsignedShort();
+      for (int i = 0; i < segmentsCount; i++) {
+        int flags = in.readUnsignedByte();
+        int linealPosition = in.readUnsignedShort();
+        String text = in.readUTF();
+        if ((flags & SECRET_FLAG) != 0) {
+          ret.addSecretField(linealPosition, text);
+        } else if ((flags & EDITABLE_FLAG) != 0) {
+          ret.addField(linealPosition, text);
+        } else {
+          ret.addSegment(linealPosition, text);
+        }
+      }
+      return ret;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Invalid screen snapshot", e);
+    }
+  }
+
+  /**
+   * Gets the cursor position from an encoded screen snapshot, without decoding the screen.
+   *
+   * @return the cursor position or null if the snapshot has no cursor position.
+   */
+  public static Position decodeCursorPosition(byte[] snapshot) {
+    try (DataInputStream in = openSnapshot(snapshot)) {
+      in.skipBytes(4);
+      return in.readBoolean() ? new Position(in.readUnsignedShort(), in.readUnsignedShort())
+          : null;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Invalid screen snapshot", e);
+    }
+  }
+
+  private static DataInputStream openSnapshot(byte[] snapshot) throws IOException {
+    DataInputStream ret = new DataInputStream(new ByteArrayInputStream(snapshot));
+    byte version = ret.readByte();
+    if (version != FORMAT_VERSION) {
+      throw new IllegalArgumentException("Unsupported screen snapshot format version " + version);
+    }
+    return ret;
+  }
+
+}
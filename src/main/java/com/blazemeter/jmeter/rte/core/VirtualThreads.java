@@ -0,0 +1,105 @@
+package com.blazemeter.jmeter.rte.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.jmeter.util.JMeterUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds thread factories which create virtual threads when enabled through
+ * {@value #ENABLED_PROPERTY} property and the JVM supports them (Java 21+), or platform threads
+ * otherwise.
+ * <p>
+ * Reflection is used to create virtual threads since the plugin is compiled for Java 8.
+ * <p>
+ * Threads created by the plugin (pre connection of pooled sessions and stable timeout scheduler)
+ * use these factories. Samplers run in the threads created by JMeter thread groups, and emulator
+ * I/O runs in the reader threads created by protocol libraries, so the plugin can't choose their
+ * kind. In any case, code which may run in virtual threads (samplers, waiters, emulator listeners,
+ * scheduled tasks and transport) guards shared state with {@link
+ * java.util.concurrent.locks.ReentrantLock} instead of synchronized blocks or methods, since a
+ * virtual thread blocking while holding a monitor pins its carrier thread (before Java 24).
+ */
+public class VirtualThreads {
+
+  public static final String ENABLED_PROPERTY = "RTEConnectionConfig.useVirtualThreads";
+
+  private static final Logger LOG = LoggerFactory.getLogger(VirtualThreads.class);
+  private static final Method OF_VIRTUAL = findOfVirtualMethod();
+  private static final AtomicBoolean UNSUPPORTED_WARNED = new AtomicBoolean();
+
+  private VirtualThreads() {
+  }
+
+  private static Method findOfVirtualMethod() {
+    try {
+      return Thread.class.getMethod("ofVirtual");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  public static boolean isEnabled() {
+    if (!JMeterUtils.getPropDefault(ENABLED_PROPERTY, false)) {
+      return false;
+    }
+    if (!isSupported()) {
+      if (UNSUPPORTED_WARNED.compareAndSet(false, true)) {
+        LOG.warn("Virtual threads are enabled through {} property but are not supported by "
+            + "running JVM ({}). Using platform threads instead.", ENABLED_PROPERTY,
+            System.getProperty("java.version"));
+      }
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Builds a thread factory which creates threads named with the given prefix followed by a
+   * sequence number.
+   * <p>
+   * Virtual threads are created when they are enabled and supported, and platform threads
+   * otherwise.
+   */
+  public static ThreadFactory newThreadFactory(String namePrefix) {
+    return newThreadFactory(namePrefix, false);
+  }
+
+  /**
+   * Same as {@link #newThreadFactory(String)} but allows to create daemon platform threads.
+   * Virtual threads are always daemon threads.
+   */
+  public static ThreadFactory newThreadFactory(String namePrefix, boolean daemon) {
+    if (isEnabled()) {
+      try {
+        return buildVirtualThreadFactory(namePrefix);
+      } catch (ReflectiveOperationException e) {
+        LOG.warn("Could not create virtual threads factory. Using platform threads instead.", e);
+      }
+    }
+    AtomicInteger threadCount = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+      thread.setDaemon(daemon);
+      return thread;
+    };
+  }
+
+  private static ThreadFactory buildVirtualThreadFactory(String namePrefix)
+      throws ReflectiveOperationException {
+    // methods are looked up in public interface, since builder implementations are not public
+    Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+    Object builder = OF_VIRTUAL.invoke(null);
+    builder = builderClass.getMethod("name", String.class, long.class)
+        .invoke(builder, namePrefix, 1L);
+    return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+  }
+
+}
@@ -0,0 +1,13 @@
+package com.blazemeter.jmeter.rte.core.exceptions;
+
+/**
+ * Notifies that the server has shown a screen which is known to be an error screen, so there is no
+ * point in waiting for the rest of conditions.
+ */
+public class ErrorScreenException extends Exception {
+
+  public ErrorScreenException(String message) {
+    super(message);
+  }
+
+}
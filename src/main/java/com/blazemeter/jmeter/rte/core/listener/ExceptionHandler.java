@@ -3,6 +3,7 @@ package com.blazemeter.jmeter.rte.core.listener;
 import com.blazemeter.jmeter.rte.core.exceptions.RteIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -11,6 +12,7 @@ public class ExceptionHandler {
   private static final Logger LOG = LoggerFactory.getLogger(ExceptionHandler.class);
 
   private List<ExceptionListener> listeners = new ArrayList<>();
+  private final ReentrantLock lock = new ReentrantLock();
   private Throwable pendingError;
   private String server;
   
@@ -18,36 +20,61 @@ public class ExceptionHandler {
     this.server = server;
   }
 
-  public synchronized void setPendingError(Throwable ex) {
-    if (pendingError == null) {
-      pendingError = ex;
-      /*  Creating a copy of listeners keys to avoid concurrent modification exception 
-       *  due to listeners potentially removing themselves on exception.
-       */ 
-      new ArrayList<>(listeners).forEach(l -> l.onException(ex));
-    } else {
-      LOG.error("Exception ignored in step result due to previously thrown exception", ex);
+  public void setPendingError(Throwable ex) {
+    lock.lock();
+    try {
+      if (pendingError == null) {
+        pendingError = ex;
+        /*  Creating a copy of listeners keys to avoid concurrent modification exception 
+         *  due to listeners potentially removing themselves on exception.
+         */ 
+        new ArrayList<>(listeners).forEach(l -> l.onException(ex));
+      } else {
+        LOG.error("Exception ignored in step result due to previously thrown exception", ex);
+      }
+    } finally {
+      lock.unlock();
     }
   }
 
-  public synchronized boolean hasPendingError() {
-    return pendingError != null;
+  public boolean hasPendingError() {
+    lock.lock();
+    try {
+      return pendingError != null;
+    } finally {
+      lock.unlock();
+    }
   }
 
-  public synchronized void throwAnyPendingError() throws RteIOException {
-    if (pendingError != null) {
-      Throwable ret = pendingError;
-      pendingError = null;
-      throw new RteIOException(ret, server);
+  public void throwAnyPendingError() throws RteIOException {
+    lock.lock();
+    try {
+      if (pendingError != null) {
+        Throwable ret = pendingError;
+        pendingError = null;
+        throw new RteIOException(ret, server);
+      }
+    } finally {
+      lock.unlock();
     }
   }
 
-  public synchronized void removeListener(ExceptionListener listener) {
-    listeners.remove(listener);
+  public void removeListener(ExceptionListener listener) {
+    lock.lock();
+    try {
+      listeners.remove(listener);
+    } finally {
+      lock.unlock();
+    }
   }
 
-  public synchronized void addListener(ExceptionListener listener) {
-    listeners.add(listener);
+  public void addListener(ExceptionListener listener) {
+    lock.lock();
+    try {
+      listeners.add(listener);
+    } finally {
+      lock.unlock();
+    }
   }
 
 }
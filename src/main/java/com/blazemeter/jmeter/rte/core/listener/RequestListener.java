@@ -2,6 +2,7 @@ package com.blazemeter.jmeter.rte.core.listener;
 
 import com.blazemeter.jmeter.rte.core.RteProtocolClient;
 import com.blazemeter.jmeter.rte.core.RteSampleResultBuilder;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,6 +14,8 @@ public class RequestListener<T extends RteProtocolClient> implements TerminalSta
   private final RteSampleResultBuilder resultBuilder;
   private long lastResponseTime;
   private boolean receivedFirstResponse = false;
+  private boolean keyboardLocked;
+  private boolean keyboardUnlocked;
 
   public RequestListener(RteSampleResultBuilder resultBuilder, T client) {
     this.resultBuilder = resultBuilder;
@@ -27,11 +30,32 @@ public class RequestListener<T extends RteProtocolClient> implements TerminalSta
       resultBuilder.withLatencyEndNow();
     }
     lastResponseTime = resultBuilder.getCurrentTimeInMillis();
+    updateKeyboardLockPhase();
     if (LOG.isTraceEnabled()) {
       LOG.trace(client.getScreen().toString());
     }
   }
 
+  /*
+  keyboard unlock is registered the first time the keyboard is unlocked after being locked, since it
+  is usually unlocked when the request is sent and locked until the server processes it.
+   */
+  private void updateKeyboardLockPhase() {
+    if (keyboardUnlocked) {
+      return;
+    }
+    Optional<Boolean> inputInhibited = client.isInputInhibited();
+    if (!inputInhibited.isPresent()) {
+      return;
+    }
+    if (inputInhibited.get()) {
+      keyboardLocked = true;
+    } else if (keyboardLocked) {
+      keyboardUnlocked = true;
+      resultBuilder.withKeyboardUnlockTime(lastResponseTime);
+    }
+  }
+
   public void stop() {
     resultBuilder.withEndTime(lastResponseTime);
     client.removeTerminalStateListener(this);
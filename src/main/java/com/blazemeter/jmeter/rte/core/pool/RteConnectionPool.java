@@ -0,0 +1,349 @@
+package com.blazemeter.jmeter.rte.core.pool;
+
+import com.blazemeter.jmeter.rte.core.RteProtocolClient;
+import com.blazemeter.jmeter.rte.core.ServerDisconnectHandler;
+import com.blazemeter.jmeter.rte.core.VirtualThreads;
+import com.blazemeter.jmeter.rte.core.exceptions.RteIOException;
+import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of connected {@link RteProtocolClient} sessions which can be shared among JMeter
+ * threads.
+ * <p>
+ * Sessions are grouped by a connection key, and no more than a configured amount of sessions
+ * (either borrowed or idle) exist for each key. Sessions are kept as they are when returned (e.g.:
+ * logged in), and idle ones are evicted when borrowing or returning sessions if they exceeded max
+ * idle time or max lifetime, the server closed them, or they have ongoing waits or pending errors
+ * (which would otherwise be reported to, or interfere with, the next sampler using them).
+ */
+public class RteConnectionPool {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RteConnectionPool.class);
+
+  private final int maxSessionsPerKey;
+  private final long maxIdleMillis;
+  private final long maxLifetimeMillis;
+  private final Map<String, KeyPool> pools = new ConcurrentHashMap<>();
+  private final Map<RteProtocolClient, PooledSession> borrowedSessions =
+      new ConcurrentHashMap<>();
+  private final Set<String> preConnectedKeys = ConcurrentHashMap.newKeySet();
+  private volatile boolean closed;
+
+  public RteConnectionPool(int maxSessionsPerKey, long maxIdleMillis, long maxLifetimeMillis) {
+    this.maxSessionsPerKey = maxSessionsPerKey;
+    this.maxIdleMillis = maxIdleMillis;
+    this.maxLifetimeMillis = maxLifetimeMillis;
+  }
+
+  public PooledSession borrow(String key, ConnectionFactory connectionFactory, long timeoutMillis)
+      throws RteIOException, InterruptedException, TimeoutException {
+    if (closed) {
+      throw new IllegalStateException("Connection pool has already been closed");
+    }
+    KeyPool pool = pools.computeIfAbsent(key, k -> new KeyPool());
+    PooledSession session = pool.take(timeoutMillis);
+    if (session == null) {
+      try {
+        session = new PooledSession(key, connectionFactory.connect(), false);
+      } catch (Exception e) {
+        pool.freeSlot();
+        throw e;
+      }
+    }
+    borrowedSessions.put(session.getClient(), session);
+    return session;
+  }
+
+  /**
+   * Returns a borrowed session to the pool.
+   *
+   * @param client the client of the borrowed session.
+   * @return false if the client was not borrowed from this pool, true otherwise.
+   */
+  public boolean release(RteProtocolClient client) {
+    PooledSession session = borrowedSessions.remove(client);
+    if (session == null) {
+      return false;
+    }
+    session.markReturned(System.currentTimeMillis());
+    session.markReused();
+    addIdleSession(session, pools.get(session.getKey()));
+    return true;
+  }
+
+  private void addIdleSession(PooledSession session, KeyPool pool) {
+    session.getClient().setDisconnectionHandler(new ServerDisconnectHandler(true) {
+      @Override
+      public void onDisconnection(ExceptionHandler handler) {
+        session.markBroken();
+      }
+    });
+    pool.put(session);
+  }
+
+  /**
+   * Establishes idle sessions for the given key, unless it has already been done for such key.
+   * <p>
+   * This method blocks until all sessions have been established or failed, and never establishes
+   * more sessions than the pool max size.
+   *
+   * @param key the connection key of the sessions.
+   * @param connectionFactory factory used to establish each session.
+   * @param sessions number of sessions to establish.
+   * @param concurrency max number of sessions to establish in parallel.
+   * @return true if sessions were established in this invocation, false if they were already
+   * established by a previous invocation.
+   * @throws InterruptedException if the thread is interrupted while waiting for sessions to be
+   * established.
+   */
+  public boolean preConnect(String key, ConnectionFactory connectionFactory, int sessions,
+      int concurrency) throws InterruptedException {
+    if (closed || sessions <= 0 || !preConnectedKeys.add(key)) {
+      return false;
+    }
+    KeyPool pool = pools.computeIfAbsent(key, k -> new KeyPool());
+    ExecutorService executor = Executors
+        .newFixedThreadPool(Math.max(1, Math.min(concurrency, sessions)),
+            VirtualThreads.newThreadFactory("RTE-PRE-CONNECT-"));
+    try {
+      for (int i = 0; i < sessions && pool.reserveSlot(); i++) {
+        executor.submit(() -> preConnectSession(key, connectionFactory, pool));
+      }
+      executor.shutdown();
+      while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+        LOG.debug("Waiting for pre connection of sessions to {}", key);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return true;
+  }
+
+  private void preConnectSession(String key, ConnectionFactory connectionFactory, KeyPool pool) {
+    try {
+      PooledSession session = new PooledSession(key, connectionFactory.connect(), true);
+      session.markReturned(System.currentTimeMillis());
+      addIdleSession(session, pool);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      pool.freeSlot();
+    } catch (Exception e) {
+      LOG.warn("Problem while pre connecting RTE session to {}", key, e);
+      pool.freeSlot();
+    }
+  }
+
+  /**
+   * Flags a borrowed session to be closed instead of being reused when returned.
+   */
+  public void markBroken(RteProtocolClient client) {
+    PooledSession session = borrowedSessions.get(client);
+    if (session != null) {
+      session.markBroken();
+    }
+  }
+
+  public void close() {
+    closed = true;
+    pools.values().forEach(KeyPool::close);
+  }
+
+  private static void closeSession(PooledSession session) {
+    try {
+      session.getClient().disconnect();
+    } catch (Exception e) {
+      LOG.warn("Problem while closing pooled RTE connection", e);
+    }
+  }
+
+  @FunctionalInterface
+  public interface ConnectionFactory {
+
+    RteProtocolClient connect() throws RteIOException, InterruptedException, TimeoutException;
+  }
+
+  public static class PooledSession {
+
+    private final String key;
+    private final RteProtocolClient client;
+    private final long creationTimeMillis;
+    private final boolean preConnected;
+    private volatile long lastReturnTimeMillis;
+    private volatile boolean reused;
+    private volatile boolean broken;
+
+    private PooledSession(String key, RteProtocolClient client, boolean preConnected) {
+      this.key = key;
+      this.client = client;
+      this.preConnected = preConnected;
+      this.creationTimeMillis = System.currentTimeMillis();
+    }
+
+    private String getKey() {
+      return key;
+    }
+
+    public RteProtocolClient getClient() {
+      return client;
+    }
+
+    /**
+     * Allows to know if the session was used by some other sampler before being borrowed, and
+     * accordingly it is not at the initial screen.
+     */
+    public boolean isReused() {
+      return reused;
+    }
+
+    /**
+     * Allows to know if the session was established (and synced) in advance by {@link
+     * RteConnectionPool#preConnect(String, ConnectionFactory, int,
+     * int)}.
+     */
+    public boolean isPreConnected() {
+      return preConnected;
+    }
+
+    private void markReturned(long timeMillis) {
+      lastReturnTimeMillis = timeMillis;
+    }
+
+    private void markReused() {
+      reused = true;
+    }
+
+    private void markBroken() {
+      broken = true;
+    }
+  }
+
+  private class KeyPool {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition availableSession = lock.newCondition();
+    private final Deque<PooledSession> idleSessions = new ArrayDeque<>();
+    private int size;
+
+    /*
+    returns an idle session or null when a slot for a new session has been reserved in the pool,
+    in which case the caller is responsible of creating the session or freeing the slot.
+     */
+    private PooledSession take(long timeoutMillis) throws InterruptedException, TimeoutException {
+      List<PooledSession> evictedSessions = new ArrayList<>();
+      long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+      lock.lock();
+      try {
+        while (true) {
+          evictExpiredSessions(evictedSessions);
+          PooledSession session = idleSessions.pollFirst();
+          if (session != null) {
+            return session;
+          }
+          if (size < maxSessionsPerKey) {
+            size++;
+            return null;
+          }
+          if (remainingNanos <= 0) {
+            throw new TimeoutException(
+                "Timeout waiting for an available pooled connection after " + timeoutMillis
+                    + " millis. Check if the pool max size is enough for the number of threads.");
+          }
+          remainingNanos = availableSession.awaitNanos(remainingNanos);
+        }
+      } finally {
+        lock.unlock();
+        evictedSessions.forEach(RteConnectionPool::closeSession);
+      }
+    }
+
+    private void evictExpiredSessions(List<PooledSession> evictedSessions) {
+      long now = System.currentTimeMillis();
+      Iterator<PooledSession> it = idleSessions.iterator();
+      while (it.hasNext()) {
+        PooledSession session = it.next();
+        if (isExpired(session, now)
+            || maxIdleMillis > 0 && now - session.lastReturnTimeMillis > maxIdleMillis) {
+          it.remove();
+          size--;
+          evictedSessions.add(session);
+        }
+      }
+    }
+
+    private boolean isExpired(PooledSession session, long now) {
+      return session.broken || session.client.isBusy()
+          || maxLifetimeMillis > 0 && now - session.creationTimeMillis > maxLifetimeMillis;
+    }
+
+    private void put(PooledSession session) {
+      List<PooledSession> evictedSessions = new ArrayList<>();
+      lock.lock();
+      try {
+        if (closed || isExpired(session, System.currentTimeMillis())) {
+          size--;
+          evictedSessions.add(session);
+        } else {
+          idleSessions.addFirst(session);
+        }
+        evictExpiredSessions(evictedSessions);
+        availableSession.signalAll();
+      } finally {
+        lock.unlock();
+        evictedSessions.forEach(RteConnectionPool::closeSession);
+      }
+    }
+
+    private boolean reserveSlot() {
+      lock.lock();
+      try {
+        if (size >= maxSessionsPerKey) {
+          return false;
+        }
+        size++;
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void freeSlot() {
+      lock.lock();
+      try {
+        size--;
+        availableSession.signal();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void close() {
+      List<PooledSession> sessions;
+      lock.lock();
+      try {
+        sessions = new ArrayList<>(idleSessions);
+        size -= idleSessions.size();
+        idleSessions.clear();
+        availableSession.signalAll();
+      } finally {
+        lock.unlock();
+      }
+      sessions.forEach(RteConnectionPool::closeSession);
+    }
+  }
+}
@@ -7,6 +7,9 @@ import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.security.SecureRandom;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
@@ -23,6 +26,7 @@ public class SSLContextFactory {
   private static final String TRUST_STORE_PASSWORD_PROPERTY = "javax.net.ssl.trustStorePassword";
 
   private static final SecureRandom RAND = new SecureRandom();
+  private static final Map<ContextKey, CachedContext> CONTEXTS = new ConcurrentHashMap<>();
 
   private SSLContextFactory() {
 
@@ -54,6 +58,27 @@ public class SSLContextFactory {
     return System.getProperty(TRUST_STORE_PASSWORD_PROPERTY);
   }
 
+  /**
+   * Gets a SSL context for the given type and current key store and trust store configuration.
+   * <p>
+   * Contexts are cached and only built again when configuration or store files change, avoiding
+   * loading stores on each connection and allowing reconnections to resume TLS sessions (which
+   * are cached by each context) instead of doing full handshakes.
+   */
+  public static SSLContext getSSLContext(SSLType sslType)
+      throws GeneralSecurityException, IOException {
+    ContextKey key = new ContextKey(sslType, getKeyStore(), getKeyStorePassword(), getTrustStore(),
+        getTrustStorePassword());
+    String storesVersion = key.getStoresVersion();
+    CachedContext cached = CONTEXTS.get(key);
+    if (cached != null && cached.storesVersion.equals(storesVersion)) {
+      return cached.context;
+    }
+    SSLContext context = buildSSLContext(sslType);
+    CONTEXTS.put(key, new CachedContext(context, storesVersion));
+    return context;
+  }
+
   public static SSLContext buildSSLContext(SSLType sslType)
       throws GeneralSecurityException, IOException {
     SSLContext context = SSLContext.getInstance(sslType.toString());
@@ -96,4 +121,71 @@ public class SSLContextFactory {
     return factory;
   }
 
+  private static final class ContextKey {
+
+    private final SSLType sslType;
+    private final String keyStore;
+    private final String keyStorePassword;
+    private final String trustStore;
+    private final String trustStorePassword;
+
+    private ContextKey(SSLType sslType, String keyStore, String keyStorePassword,
+        String trustStore, String trustStorePassword) {
+      this.sslType = sslType;
+      this.keyStore = keyStore;
+      this.keyStorePassword = keyStorePassword;
+      this.trustStore = trustStore;
+      this.trustStorePassword = trustStorePassword;
+    }
+
+    /*
+    Modification time and length of store files are used to detect changes without reading them.
+     */
+    private String getStoresVersion() {
+      return getFileVersion(keyStore) + "," + getFileVersion(trustStore);
+    }
+
+    private static String getFileVersion(String fileName) {
+      if (fileName == null) {
+        return "";
+      }
+      File file = new File(fileName);
+      return file.lastModified() + ":" + file.length();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ContextKey that = (ContextKey) o;
+      return sslType == that.sslType &&
+          Objects.equals(keyStore, that.keyStore) &&
+          Objects.equals(keyStorePassword, that.keyStorePassword) &&
+          Objects.equals(trustStore, that.trustStore) &&
+          Objects.equals(trustStorePassword, that.trustStorePassword);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(sslType, keyStore, keyStorePassword, trustStore, trustStorePassword);
+    }
+
+  }
+
+  private static final class CachedContext {
+
+    private final SSLContext context;
+    private final String storesVersion;
+
+    private CachedContext(SSLContext context, String storesVersion) {
+      this.context = context;
+      this.storesVersion = storesVersion;
+    }
+
+  }
+
 }
@@ -0,0 +1,105 @@
+package com.blazemeter.jmeter.rte.core.transport;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Metered socket which additionally records all the traffic through it in a
+ * {@link TrafficCapture} file.
+ * <p>
+ * The capture file is created when streams are first requested, since sockets may be created
+ * unconnected and the remote address is used in the file name.
+ */
+public class CapturingSocket extends MeteredSocket {
+
+  private final File captureDirectory;
+  private final ReentrantLock captureLock = new ReentrantLock();
+  private TrafficCapture capture;
+
+  public CapturingSocket(Socket delegate, File captureDirectory) throws SocketException {
+    super(delegate);
+    this.captureDirectory = captureDirectory;
+  }
+
+  private TrafficCapture getCapture() throws IOException {
+    captureLock.lock();
+    try {
+      if (capture == null) {
+        capture = TrafficCapture.create(captureDirectory, getRemoteSocketAddress());
+      }
+      return capture;
+    } finally {
+      captureLock.unlock();
+    }
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    TrafficCapture trafficCapture = getCapture();
+    return new FilterInputStream(super.getInputStream()) {
+
+      @Override
+      public int read() throws IOException {
+        int ret = super.read();
+        if (ret >= 0) {
+          trafficCapture.registerReceived(new byte[]{(byte) ret}, 0, 1);
+        }
+        return ret;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        int ret = super.read(b, off, len);
+        if (ret > 0) {
+          trafficCapture.registerReceived(b, off, ret);
+        }
+        return ret;
+      }
+
+    };
+  }
+
+  @Override
+  public OutputStream getOutputStream() throws IOException {
+    TrafficCapture trafficCapture = getCapture();
+    return new FilterOutputStream(super.getOutputStream()) {
+
+      @Override
+      public void write(int b) throws IOException {
+        out.write(b);
+        trafficCapture.registerSent(new byte[]{(byte) b}, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        trafficCapture.registerSent(b, off, len);
+      }
+
+    };
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      super.close();
+    } finally {
+      captureLock.lock();
+      try {
+        if (capture != null) {
+          capture.close();
+        }
+      } finally {
+        captureLock.unlock();
+      }
+    }
+  }
+
+}
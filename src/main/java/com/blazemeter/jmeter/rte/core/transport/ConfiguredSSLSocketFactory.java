@@ -0,0 +1,67 @@
+package com.blazemeter.jmeter.rte.core.transport;
+
+import static com.blazemeter.jmeter.rte.core.transport.ConfiguredSocketFactory.configure;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * SSL socket factory which applies given {@link SocketOptions} to sockets created by another SSL
+ * socket factory.
+ */
+public class ConfiguredSSLSocketFactory extends SSLSocketFactory {
+
+  private final SSLSocketFactory delegate;
+  private final SocketOptions options;
+
+  public ConfiguredSSLSocketFactory(SSLSocketFactory delegate, SocketOptions options) {
+    this.delegate = delegate;
+    this.options = options;
+  }
+
+  @Override
+  public String[] getDefaultCipherSuites() {
+    return delegate.getDefaultCipherSuites();
+  }
+
+  @Override
+  public String[] getSupportedCipherSuites() {
+    return delegate.getSupportedCipherSuites();
+  }
+
+  @Override
+  public Socket createSocket() throws IOException {
+    return configure(delegate.createSocket(), options);
+  }
+
+  @Override
+  public Socket createSocket(Socket socket, String host, int port, boolean autoClose)
+      throws IOException {
+    return configure(delegate.createSocket(socket, host, port, autoClose), options);
+  }
+
+  @Override
+  public Socket createSocket(String host, int port) throws IOException {
+    return configure(delegate.createSocket(host, port), options);
+  }
+
+  @Override
+  public Socket createSocket(String host, int port, InetAddress localHost, int localPort)
+      throws IOException {
+    return configure(delegate.createSocket(host, port, localHost, localPort), options);
+  }
+
+  @Override
+  public Socket createSocket(InetAddress host, int port) throws IOException {
+    return configure(delegate.createSocket(host, port), options);
+  }
+
+  @Override
+  public Socket createSocket(InetAddress address, int port, InetAddress localAddress,
+      int localPort) throws IOException {
+    return configure(delegate.createSocket(address, port, localAddress, localPort), options);
+  }
+
+}
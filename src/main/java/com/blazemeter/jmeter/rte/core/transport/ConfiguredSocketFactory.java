@@ -0,0 +1,74 @@
+package com.blazemeter.jmeter.rte.core.transport;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import javax.net.SocketFactory;
+
+/**
+ * Socket factory which applies given {@link SocketOptions} to sockets created by another factory,
+ * and meters traffic through them with {@link MeteredSocket} (or additionally captures it with
+ * {@link CapturingSocket} when a capture directory is given).
+ */
+public class ConfiguredSocketFactory extends SocketFactory {
+
+  private final SocketFactory delegate;
+  private final SocketOptions options;
+  private final File captureDirectory;
+
+  public ConfiguredSocketFactory(SocketFactory delegate, SocketOptions options) {
+    this(delegate, options, null);
+  }
+
+  public ConfiguredSocketFactory(SocketFactory delegate, SocketOptions options,
+      File captureDirectory) {
+    this.delegate = delegate;
+    this.options = options;
+    this.captureDirectory = captureDirectory;
+  }
+
+  private Socket configureMetered(Socket socket) throws IOException {
+    Socket configured = configure(socket, options);
+    return captureDirectory != null ? new CapturingSocket(configured, captureDirectory)
+        : new MeteredSocket(configured);
+  }
+
+  static Socket configure(Socket socket, SocketOptions options) throws IOException {
+    try {
+      options.apply(socket);
+      return socket;
+    } catch (IOException e) {
+      socket.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public Socket createSocket() throws IOException {
+    return configureMetered(delegate.createSocket());
+  }
+
+  @Override
+  public Socket createSocket(String host, int port) throws IOException {
+    return configureMetered(delegate.createSocket(host, port));
+  }
+
+  @Override
+  public Socket createSocket(String host, int port, InetAddress localHost, int localPort)
+      throws IOException {
+    return configureMetered(delegate.createSocket(host, port, localHost, localPort));
+  }
+
+  @Override
+  public Socket createSocket(InetAddress host, int port) throws IOException {
+    return configureMetered(delegate.createSocket(host, port));
+  }
+
+  @Override
+  public Socket createSocket(InetAddress address, int port, InetAddress localAddress,
+      int localPort) throws IOException {
+    return configureMetered(delegate.createSocket(address, port, localAddress, localPort));
+  }
+
+}
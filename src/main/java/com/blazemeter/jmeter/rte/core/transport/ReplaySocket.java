@@ -0,0 +1,345 @@
+package com.blazemeter.jmeter.rte.core.transport;
+
+import com.blazemeter.jmeter.rte.core.transport.TrafficCapture.Record;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.SocketImpl;
+import java.net.SocketTimeoutException;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Socket which, instead of connecting to a server, replays the data received in a
+ * {@link TrafficCapture} as fast as the client reads it, and discards the data sent by the client.
+ * <p>
+ * To keep the order of requests and responses, data received after data sent in the capture is
+ * only replayed once the client has sent some data. The end of the capture is notified to the
+ * client as a connection closed by the server.
+ */
+public class ReplaySocket extends Socket {
+
+  private final List<Record> records;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition clientWrite = lock.newCondition();
+  private final InputStream inputStream = new ReplayInputStream();
+  private final OutputStream outputStream = new DiscardOutputStream();
+  private SocketAddress remoteAddress;
+  private int nextRecord;
+  private byte[] currentData;
+  private int currentPosition;
+  private boolean pendingClientWrite;
+  private long clientWrites;
+  private long consumedClientWrites;
+  private volatile boolean closed;
+  private volatile int soTimeout;
+
+  public ReplaySocket(List<Record> records) throws SocketException {
+    super((SocketImpl) null);
+    this.records = records;
+  }
+
+  @Override
+  public void connect(SocketAddress endpoint) {
+    connect(endpoint, 0);
+  }
+
+  @Override
+  public void connect(SocketAddress endpoint, int timeout) {
+    remoteAddress = endpoint;
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return inputStream;
+  }
+
+  @Override
+  public OutputStream getOutputStream() {
+    return outputStream;
+  }
+
+  private class ReplayInputStream extends InputStream {
+
+    @Override
+    public int read() throws IOException {
+      byte[] ret = new byte[1];
+      return read(ret, 0, 1) < 0 ? -1 : ret[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      lock.lock();
+      try {
+        while (currentData == null || currentPosition >= currentData.length) {
+          if (!nextReceivedData()) {
+            return -1;
+          }
+        }
+        int ret = Math.min(len, currentData.length - currentPosition);
+        System.arraycopy(currentData, currentPosition, b, off, ret);
+        currentPosition += ret;
+        return ret;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private boolean nextReceivedData() throws IOException {
+      while (nextRecord < records.size() && records.get(nextRecord).isSent()) {
+        pendingClientWrite = true;
+        nextRecord++;
+      }
+      if (nextRecord >= records.size() || closed) {
+        return false;
+      }
+      if (pendingClientWrite) {
+        awaitClientWrite();
+        pendingClientWrite = false;
+      }
+      currentData = records.get(nextRecord++).getData();
+      currentPosition = 0;
+      return !closed;
+    }
+
+    private void awaitClientWrite() throws IOException {
+      long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(soTimeout);
+      try {
+        while (clientWrites <= consumedClientWrites && !closed) {
+          if (soTimeout == 0) {
+            clientWrite.await();
+          } else if (timeoutNanos <= 0) {
+            throw new SocketTimeoutException("Read timed out");
+          } else {
+            timeoutNanos = clientWrite.awaitNanos(timeoutNanos);
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SocketException("Replay interrupted");
+      }
+      // all writes are consumed, since a request may have been sent in several writes
+      consumedClientWrites = clientWrites;
+    }
+
+  }
+
+  private class DiscardOutputStream extends OutputStream {
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (closed) {
+        throw new SocketException("Socket is closed");
+      }
+      lock.lock();
+      try {
+        clientWrites++;
+        clientWrite.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    lock.lock();
+    try {
+      clientWrite.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public boolean isConnected() {
+    return remoteAddress != null;
+  }
+
+  @Override
+  public boolean isBound() {
+    return isConnected();
+  }
+
+  @Override
+  public void bind(SocketAddress bindpoint) {
+  }
+
+  @Override
+  public InetAddress getInetAddress() {
+    return remoteAddress instanceof InetSocketAddress
+        ? ((InetSocketAddress) remoteAddress).getAddress() : null;
+  }
+
+  @Override
+  public InetAddress getLocalAddress() {
+    return InetAddress.getLoopbackAddress();
+  }
+
+  @Override
+  public int getPort() {
+    return remoteAddress instanceof InetSocketAddress
+        ? ((InetSocketAddress) remoteAddress).getPort() : 0;
+  }
+
+  @Override
+  public int getLocalPort() {
+    return -1;
+  }
+
+  @Override
+  public SocketAddress getRemoteSocketAddress() {
+    return remoteAddress;
+  }
+
+  @Override
+  public SocketAddress getLocalSocketAddress() {
+    return null;
+  }
+
+  @Override
+  public SocketChannel getChannel() {
+    return null;
+  }
+
+  @Override
+  public void setSoTimeout(int timeout) {
+    soTimeout = timeout;
+  }
+
+  @Override
+  public int getSoTimeout() {
+    return soTimeout;
+  }
+
+  /*
+  TCP options have no effect, since there is no actual connection.
+   */
+  @Override
+  public void setTcpNoDelay(boolean on) {
+  }
+
+  @Override
+  public boolean getTcpNoDelay() {
+    return true;
+  }
+
+  @Override
+  public void setSoLinger(boolean on, int linger) {
+  }
+
+  @Override
+  public int getSoLinger() {
+    return -1;
+  }
+
+  @Override
+  public void sendUrgentData(int data) {
+  }
+
+  @Override
+  public void setOOBInline(boolean on) {
+  }
+
+  @Override
+  public boolean getOOBInline() {
+    return false;
+  }
+
+  @Override
+  public void setSendBufferSize(int size) {
+  }
+
+  @Override
+  public int getSendBufferSize() {
+    return 0;
+  }
+
+  @Override
+  public void setReceiveBufferSize(int size) {
+  }
+
+  @Override
+  public int getReceiveBufferSize() {
+    return 0;
+  }
+
+  @Override
+  public void setKeepAlive(boolean on) {
+  }
+
+  @Override
+  public boolean getKeepAlive() {
+    return false;
+  }
+
+  @Override
+  public void setTrafficClass(int tc) {
+  }
+
+  @Override
+  public int getTrafficClass() {
+    return 0;
+  }
+
+  @Override
+  public void setReuseAddress(boolean on) {
+  }
+
+  @Override
+  public boolean getReuseAddress() {
+    return false;
+  }
+
+  @Override
+  public void shutdownInput() {
+    close();
+  }
+
+  @Override
+  public void shutdownOutput() {
+  }
+
+  @Override
+  public boolean isInputShutdown() {
+    return closed;
+  }
+
+  @Override
+  public boolean isOutputShutdown() {
+    return closed;
+  }
+
+  @Override
+  public void setPerformancePreferences(int connectionTime, int latency, int bandwidth) {
+  }
+
+  @Override
+  public String toString() {
+    return "ReplaySocket[remote=" + remoteAddress + "]";
+  }
+
+}
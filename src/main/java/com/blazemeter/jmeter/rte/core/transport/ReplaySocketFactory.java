@@ -0,0 +1,75 @@
+package com.blazemeter.jmeter.rte.core.transport;
+
+import com.blazemeter.jmeter.rte.core.transport.TrafficCapture.Record;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.net.SocketFactory;
+
+/**
+ * Socket factory which creates {@link ReplaySocket}s replaying a traffic capture file.
+ * <p>
+ * Capture files are read once and shared by all sockets, since every connection replays the same
+ * capture.
+ */
+public class ReplaySocketFactory extends SocketFactory {
+
+  private static final Map<File, List<Record>> CAPTURES = new ConcurrentHashMap<>();
+
+  private final File captureFile;
+
+  public ReplaySocketFactory(File captureFile) {
+    this.captureFile = captureFile;
+  }
+
+  private List<Record> getRecords() throws IOException {
+    List<Record> ret = CAPTURES.get(captureFile);
+    if (ret == null) {
+      ret = TrafficCapture.read(captureFile);
+      List<Record> previous = CAPTURES.putIfAbsent(captureFile, ret);
+      if (previous != null) {
+        ret = previous;
+      }
+    }
+    return ret;
+  }
+
+  @Override
+  public Socket createSocket() throws IOException {
+    return new ReplaySocket(getRecords());
+  }
+
+  @Override
+  public Socket createSocket(String host, int port) throws IOException {
+    return connect(InetSocketAddress.createUnresolved(host, port));
+  }
+
+  private Socket connect(InetSocketAddress address) throws IOException {
+    Socket ret = createSocket();
+    ret.connect(address);
+    return ret;
+  }
+
+  @Override
+  public Socket createSocket(String host, int port, InetAddress localHost, int localPort)
+      throws IOException {
+    return connect(InetSocketAddress.createUnresolved(host, port));
+  }
+
+  @Override
+  public Socket createSocket(InetAddress host, int port) throws IOException {
+    return connect(new InetSocketAddress(host, port));
+  }
+
+  @Override
+  public Socket createSocket(InetAddress address, int port, InetAddress localAddress,
+      int localPort) throws IOException {
+    return connect(new InetSocketAddress(address, port));
+  }
+
+}
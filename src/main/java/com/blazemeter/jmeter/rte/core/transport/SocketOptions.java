@@ -0,0 +1,59 @@
+package com.blazemeter.jmeter.rte.core.transport;
+
+import java.net.Socket;
+import java.net.SocketException;
+import org.apache.jmeter.util.JMeterUtils;
+
+/**
+ * TCP options applied to every connection established by protocol clients.
+ * <p>
+ * Only configured options are applied, keeping the ones set by protocol libraries otherwise.
+ * Disabling Nagle's algorithm may reduce latency of small interactive messages (like characters
+ * sent one at a time in VT420), and buffer sizes can be reduced to lower memory required by the
+ * operating system when running a big number of sessions in a load generator.
+ */
+public class SocketOptions {
+
+  public static final String TCP_NO_DELAY_PROPERTY = "RTEConnectionConfig.tcpNoDelay";
+  public static final String KEEP_ALIVE_PROPERTY = "RTEConnectionConfig.tcpKeepAlive";
+  public static final String RECEIVE_BUFFER_SIZE_PROPERTY =
+      "RTEConnectionConfig.socketReceiveBufferSize";
+  public static final String SEND_BUFFER_SIZE_PROPERTY =
+      "RTEConnectionConfig.socketSendBufferSize";
+
+  private final boolean tcpNoDelay;
+  private final boolean keepAlive;
+  private final int receiveBufferSize;
+  private final int sendBufferSize;
+
+  public SocketOptions(boolean tcpNoDelay, boolean keepAlive, int receiveBufferSize,
+      int sendBufferSize) {
+    this.tcpNoDelay = tcpNoDelay;
+    this.keepAlive = keepAlive;
+    this.receiveBufferSize = receiveBufferSize;
+    this.sendBufferSize = sendBufferSize;
+  }
+
+  public static SocketOptions fromProperties() {
+    return new SocketOptions(JMeterUtils.getPropDefault(TCP_NO_DELAY_PROPERTY, false),
+        JMeterUtils.getPropDefault(KEEP_ALIVE_PROPERTY, false),
+        JMeterUtils.getPropDefault(RECEIVE_BUFFER_SIZE_PROPERTY, 0),
+        JMeterUtils.getPropDefault(SEND_BUFFER_SIZE_PROPERTY, 0));
+  }
+
+  public void apply(Socket socket) throws SocketException {
+    if (tcpNoDelay) {
+      socket.setTcpNoDelay(true);
+    }
+    if (keepAlive) {
+      socket.setKeepAlive(true);
+    }
+    if (receiveBufferSize > 0) {
+      socket.setReceiveBufferSize(receiveBufferSize);
+    }
+    if (sendBufferSize > 0) {
+      socket.setSendBufferSize(sendBufferSize);
+    }
+  }
+
+}
@@ -0,0 +1,177 @@
+package com.blazemeter.jmeter.rte.core.transport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binary capture of the raw traffic of a connection, which can later be replayed with
+ * {@link ReplaySocketFactory}.
+ * <p>
+ * Format consists of a magic number and format version, followed by a record for each chunk of
+ * data received or sent, containing: direction flag (0 received, 1 sent), millis since capture
+ * started, data length and data.
+ */
+public class TrafficCapture implements Closeable {
+
+  public static final String CAPTURE_DIRECTORY_PROPERTY = "RTEConnectionConfig.captureDirectory";
+  public static final String REPLAY_FILE_PROPERTY = "RTEConnectionConfig.replayCaptureFile";
+  public static final String FILE_EXTENSION = ".rtecap";
+
+  private static final Logger LOG = LoggerFactory.getLogger(TrafficCapture.class);
+  private static final int MAGIC = 0x52544543;
+  private static final byte FORMAT_VERSION = 1;
+  private static final byte RECEIVED = 0;
+  private static final byte SENT = 1;
+  private static final AtomicInteger CAPTURES_COUNT = new AtomicInteger();
+
+  private final File file;
+  private final DataOutputStream out;
+  private final long startNanos = System.nanoTime();
+  private final ReentrantLock lock = new ReentrantLock();
+  private boolean closed;
+
+  private TrafficCapture(File file) throws IOException {
+    this.file = file;
+    out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    out.writeInt(MAGIC);
+    out.writeByte(FORMAT_VERSION);
+  }
+
+  /**
+   * Creates a capture file in the given directory named after the remote address and a sequence
+   * number, so each connection gets its own file.
+   */
+  public static TrafficCapture create(File directory, SocketAddress remoteAddress)
+      throws IOException {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Could not create capture directory " + directory);
+    }
+    String remote = remoteAddress instanceof InetSocketAddress
+        ? ((InetSocketAddress) remoteAddress).getHostString() + "-"
+        + ((InetSocketAddress) remoteAddress).getPort()
+        : "unknown";
+    return new TrafficCapture(new File(directory,
+        remote + "-" + CAPTURES_COUNT.incrementAndGet() + FILE_EXTENSION));
+  }
+
+  public void registerReceived(byte[] data, int offset, int length) {
+    write(RECEIVED, data, offset, length);
+  }
+
+  public void registerSent(byte[] data, int offset, int length) {
+    write(SENT, data, offset, length);
+  }
+
+  /*
+  Errors while capturing only stop the capture, since they should not affect the connection.
+   */
+  private void write(byte direction, byte[] data, int offset, int length) {
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      out.writeByte(direction);
+      out.writeInt((int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+      out.writeInt(length);
+      out.write(data, offset, length);
+    } catch (IOException e) {
+      LOG.warn("Problem writing traffic capture {}. Stopping capture.", file, e);
+      closeQuietly();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      closeQuietly();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void closeQuietly() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      out.close();
+    } catch (IOException e) {
+      LOG.warn("Problem closing traffic capture {}", file, e);
+    }
+  }
+
+  public static List<Record> read(File file) throws IOException {
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Invalid traffic capture file " + file);
+      }
+      byte version = in.readByte();
+      if (version != FORMAT_VERSION) {
+        throw new IOException("Unsupported traffic capture format version " + version);
+      }
+      List<Record> ret = new ArrayList<>();
+      while (true) {
+        int direction = in.read();
+        if (direction < 0) {
+          return ret;
+        }
+        long offsetMillis = in.readInt();
+        byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        ret.add(new Record(direction == SENT, offsetMillis, data));
+      }
+    } catch (EOFException e) {
+      throw new IOException("Truncated traffic capture file " + file, e);
+    }
+  }
+
+  public static class Record {
+
+    private final boolean sent;
+    private final long offsetMillis;
+    private final byte[] data;
+
+    public Record(boolean sent, long offsetMillis, byte[] data) {
+      this.sent = sent;
+      this.offsetMillis = offsetMillis;
+      this.data = data;
+    }
+
+    public boolean isSent() {
+      return sent;
+    }
+
+    public long getOffsetMillis() {
+      return offsetMillis;
+    }
+
+    public byte[] getData() {
+      return data;
+    }
+
+  }
+
+}
@@ -0,0 +1,41 @@
+package com.blazemeter.jmeter.rte.core.transport;
+
+import java.io.File;
+import javax.net.SocketFactory;
+import javax.net.ssl.SSLSocketFactory;
+import org.apache.jmeter.util.JMeterUtils;
+
+/**
+ * Entry point to customize connections established by protocol clients.
+ * <p>
+ * Protocol libraries manage their own blocking sockets (with a reader thread for each connection)
+ * and only allow to provide the socket factory used to create them, so connections are customized
+ * by decorating such factory. Decorated SSL socket factories are still SSL socket factories, so
+ * libraries can keep distinguishing them.
+ * <p>
+ * Traffic of connections without SSL can be captured to files in the directory configured in
+ * {@value TrafficCapture#CAPTURE_DIRECTORY_PROPERTY} property, and when
+ * {@value TrafficCapture#REPLAY_FILE_PROPERTY} property is set, all connections replay the given
+ * capture file instead of connecting to the server.
+ */
+public class Transport {
+
+  private Transport() {
+  }
+
+  public static SocketFactory decorate(SocketFactory socketFactory) {
+    String replayFile = JMeterUtils.getPropDefault(TrafficCapture.REPLAY_FILE_PROPERTY, "");
+    if (!replayFile.isEmpty()) {
+      return new ReplaySocketFactory(new File(replayFile));
+    }
+    SocketOptions options = SocketOptions.fromProperties();
+    if (socketFactory instanceof SSLSocketFactory) {
+      return new ConfiguredSSLSocketFactory((SSLSocketFactory) socketFactory, options);
+    }
+    String captureDirectory = JMeterUtils
+        .getPropDefault(TrafficCapture.CAPTURE_DIRECTORY_PROPERTY, "");
+    return new ConfiguredSocketFactory(socketFactory, options,
+        captureDirectory.isEmpty() ? null : new File(captureDirectory));
+  }
+
+}
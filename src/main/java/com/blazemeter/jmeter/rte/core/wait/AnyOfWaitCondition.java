@@ -0,0 +1,84 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import com.blazemeter.jmeter.rte.core.Screen;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * {@link WaitCondition} to wait for terminal screen to match any of a list of alternative screen
+ * conditions (branches), for example when a transaction may end in different screens.
+ * <p>
+ * Timeout and stable timeout of branches are ignored, since the ones of this condition are used
+ * instead. As branches might be, instances of this class are not thread safe.
+ */
+public class AnyOfWaitCondition extends ScreenWaitCondition {
+
+  private final List<ScreenWaitCondition> branches;
+
+  public AnyOfWaitCondition(List<? extends ScreenWaitCondition> branches, long timeoutMillis,
+      long stableTimeoutMillis) {
+    super(timeoutMillis, stableTimeoutMillis);
+    this.branches = Collections.unmodifiableList(new ArrayList<>(branches));
+  }
+
+  public List<ScreenWaitCondition> getBranches() {
+    return branches;
+  }
+
+  @Override
+  public String getDescription() {
+    return "any of " + branches.stream()
+        .map(WaitCondition::getDescription)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+  @Override
+  public boolean matchesScreen(Screen screen) {
+    return findMatchingBranch(screen) >= 0;
+  }
+
+  /**
+   * Gets the index of the first branch matching the given screen, or -1 if none matches it.
+   */
+  public int findMatchingBranch(Screen screen) {
+    for (int i = 0; i < branches.size(); i++) {
+      if (branches.get(i).matchesScreen(screen)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    if (!super.equals(o)) {
+      return false;
+    }
+    AnyOfWaitCondition that = (AnyOfWaitCondition) o;
+    return branches.equals(that.branches);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), branches);
+  }
+
+  @Override
+  public String toString() {
+    return "AnyOfWaitCondition{" +
+        "branches=" + branches +
+        ", timeoutMillis=" + timeoutMillis +
+        ", stableTimeoutMillis=" + stableTimeoutMillis +
+        '}';
+  }
+
+}
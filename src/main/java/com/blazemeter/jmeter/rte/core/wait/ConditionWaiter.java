@@ -1,13 +1,20 @@
 package com.blazemeter.jmeter.rte.core.wait;
 
+import com.blazemeter.jmeter.rte.core.RteMetrics;
+import com.blazemeter.jmeter.rte.core.exceptions.ErrorScreenException;
 import com.blazemeter.jmeter.rte.core.exceptions.RteIOException;
 import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.listener.ExceptionListener;
-import java.util.concurrent.CountDownLatch;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,11 +24,15 @@ public abstract class ConditionWaiter<T extends WaitCondition> implements Except
 
   protected final T condition;
   protected boolean lastConditionState;
-  private final CountDownLatch lock = new CountDownLatch(1);
+  private final boolean errorScreen;
+  private final CompletableFuture<Void> completion = new CompletableFuture<>();
   private final ScheduledExecutorService stableTimeoutExecutor;
+  private final ReentrantLock stablePeriodLock = new ReentrantLock();
   private ExceptionHandler exceptionHandler;
   private ScheduledFuture stableTimeoutTask;
   private boolean ended;
+  private volatile long conditionMetTimeMillis;
+  private volatile StablePeriodListener stablePeriodListener;
 
   public ConditionWaiter(T condition, ScheduledExecutorService stableTimeoutExecutor,
       ExceptionHandler exceptionHandler) {
@@ -29,40 +40,142 @@ public abstract class ConditionWaiter<T extends WaitCondition> implements Except
     this.stableTimeoutExecutor = stableTimeoutExecutor;
     this.exceptionHandler = exceptionHandler;
     exceptionHandler.addListener(this);
+    /*
+    error screen waiters never end the wait by themselves, so they are completed from the start and
+    combined waits only check them for pending errors.
+     */
+    errorScreen = condition instanceof ErrorScreenWaitCondition;
+    if (errorScreen) {
+      completion.complete(null);
+    }
   }
 
-  private synchronized void startStablePeriod() {
-    if (ended) {
-      return;
+  private void startStablePeriod() {
+    stablePeriodLock.lock();
+    try {
+      if (ended) {
+        return;
+      }
+      endStablePeriod();
+      RteMetrics.getInstance().stablePeriodRestarted();
+      conditionMetTimeMillis = System.currentTimeMillis();
+      stableTimeoutTask = stableTimeoutExecutor
+          .schedule(() -> completion.complete(null), condition.getStableTimeoutMillis(),
+              TimeUnit.MILLISECONDS);
+    } finally {
+      stablePeriodLock.unlock();
     }
-    endStablePeriod();
-    stableTimeoutTask = stableTimeoutExecutor
-        .schedule(lock::countDown, condition.getStableTimeoutMillis(), TimeUnit.MILLISECONDS);
   }
 
-  private synchronized void endStablePeriod() {
-    if (stableTimeoutTask != null) {
-      stableTimeoutTask.cancel(false);
+  private void endStablePeriod() {
+    stablePeriodLock.lock();
+    try {
+      if (stableTimeoutTask != null) {
+        stableTimeoutTask.cancel(false);
+      }
+    } finally {
+      stablePeriodLock.unlock();
     }
   }
 
   public void await() throws InterruptedException, TimeoutException, RteIOException {
+    await(completion, condition.getTimeoutMillis());
+  }
+
+  /**
+   * Waits for each of the given waiters in turn, in the given order, counting the timeout of each
+   * waiter from the moment previous ones are met.
+   *
+   * @return the time (in epoch millis) when all the conditions were met, this is, when the last
+   * stable period which ended the wait started. 0 if there are no waiters.
+   */
+  public static long awaitEach(List<ConditionWaiter<?>> waiters)
+      throws InterruptedException, TimeoutException, RteIOException {
+    long ret = 0;
+    for (ConditionWaiter<?> waiter : waiters) {
+      waiter.await();
+      ret = Math.max(ret, waiter.getConditionMetTimeMillis());
+    }
+    return ret;
+  }
+
+  /**
+   * Waits for all the given waiters, which are evaluated concurrently since their creation.
+   * <p>
+   * The waiting thread blocks on a single future combining all the waiters, and only wakes up
+   * when all of them are met, when an error is notified, or when the earliest deadline of pending
+   * waiters is reached. The timeout of each waiter is counted from the beginning of this
+   * invocation, so the total wait is bounded by the longest timeout, and the wait fails as soon as
+   * any waiter reaches its timeout or an error is notified.
+   *
+   * @return the time (in epoch millis) when all the conditions were met, this is, when the last
+   * stable period which ended the wait started. 0 if there are no waiters.
+   */
+  public static long awaitAll(List<ConditionWaiter<?>> waiters)
+      throws InterruptedException, TimeoutException, RteIOException {
+    long startNanos = System.nanoTime();
+    List<ConditionWaiter<?>> sortedWaiters = new ArrayList<>(waiters);
+    // checking in timeout order makes the first expired waiter to fail the combined wait
+    sortedWaiters.sort(Comparator.comparingLong(w -> w.condition.getTimeoutMillis()));
+    CompletableFuture<Void> allCompleted = CompletableFuture.allOf(sortedWaiters.stream()
+        .map(w -> w.completion)
+        .toArray(CompletableFuture[]::new));
+    long ret = 0;
+    for (ConditionWaiter<?> waiter : sortedWaiters) {
+      if (waiter.completion.isDone()) {
+        waiter.exceptionHandler.throwAnyPendingError();
+      } else {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        waiter.await(allCompleted, waiter.condition.getTimeoutMillis() - elapsedMillis);
+      }
+      ret = Math.max(ret, waiter.getConditionMetTimeMillis());
+    }
+    return ret;
+  }
+
+  /**
+   * Gets the time (in epoch millis) when the condition was met for the last time, which is the
+   * beginning of last stable period, or 0 if the condition has not been met.
+   */
+  public long getConditionMetTimeMillis() {
+    return conditionMetTimeMillis;
+  }
+
+  /*
+  Waits for the given future (which is expected to complete after this waiter completion) up to
+  the given timeout, failing only if this waiter has not completed when the timeout is reached.
+   */
+  private void await(CompletableFuture<Void> future, long timeoutMillis)
+      throws InterruptedException, TimeoutException, RteIOException {
     exceptionHandler.throwAnyPendingError();
-    if (!lock.await(condition.getTimeoutMillis(), TimeUnit.MILLISECONDS)) {
-      cancelWait();
-      throw new TimeoutException(
-          "Timeout waiting for " + condition.getDescription() + " after " + condition
-              .getTimeoutMillis() + " millis. " +
-              "Check if Timeout values of the 'Wait for' components " +
-              "are greater than Stable time or Silent interval.");
+    try {
+      future.get(Math.max(0, timeoutMillis), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      if (!completion.isDone()) {
+        cancelWait();
+        RteMetrics.getInstance().conditionTimedOut(condition.getClass().getSimpleName());
+        throw new TimeoutException(
+            "Timeout waiting for " + condition.getDescription() + " after " + condition
+                .getTimeoutMillis() + " millis. " +
+                "Check if Timeout values of the 'Wait for' components " +
+                "are greater than Stable time or Silent interval.");
+      }
+    } catch (ExecutionException e) {
+      // completion is never completed exceptionally, errors are notified by exception handler
+      throw new IllegalStateException(e.getCause());
     }
     exceptionHandler.throwAnyPendingError();
   }
 
-  private synchronized void cancelWait() {
-    ended = true;
-    lock.countDown();
-    endStablePeriod();
+  private void cancelWait() {
+    stablePeriodLock.lock();
+    try {
+      ended = true;
+      completion.complete(null);
+      endStablePeriod();
+    } finally {
+      stablePeriodLock.unlock();
+    }
   }
 
   @Override
@@ -78,23 +191,54 @@ public abstract class ConditionWaiter<T extends WaitCondition> implements Except
   }
 
   protected void updateConditionState(String event) {
-    boolean currentConditionState = getCurrentConditionState();
+    boolean currentConditionState = evaluateCondition();
     if (lastConditionState != currentConditionState) {
       lastConditionState = currentConditionState;
-      if (currentConditionState) {
+      if (currentConditionState && errorScreen) {
+        LOG.debug("Aborting wait since event {} arrived with an error screen", event);
+        exceptionHandler.setPendingError(new ErrorScreenException(
+            "Found " + condition.getDescription()));
+      } else if (currentConditionState) {
         LOG.debug("Stable period restarted because event {} arrived", event);
         startStablePeriod();
       } else {
         LOG.debug("Stable period cancelled. Since {} arrived condition does not meet", event);
         endStablePeriod();
+        notifyStablePeriodInterrupted();
       }
     }
   }
 
+  private void notifyStablePeriodInterrupted() {
+    StablePeriodListener listener = stablePeriodListener;
+    if (listener != null && conditionMetTimeMillis > 0) {
+      listener.onStablePeriodInterrupted(System.currentTimeMillis() - conditionMetTimeMillis);
+    }
+  }
+
+  public void setStablePeriodListener(StablePeriodListener stablePeriodListener) {
+    this.stablePeriodListener = stablePeriodListener;
+  }
+
+  private boolean evaluateCondition() {
+    RteMetrics.getInstance().conditionEvaluated();
+    return getCurrentConditionState();
+  }
+
   protected abstract boolean getCurrentConditionState();
 
+  /*
+  Error screens don't fail the wait initially, since the screen may still be the one previous to
+  the sent input (e.g.: an invalid password screen where the password is entered again). Their
+  state is kept instead, so only a change to an error screen fails the wait, and samplers check
+  the final screen anyway when conditions are not met.
+   */
   protected void initialVerificationOfCondition() {
-    if (getCurrentConditionState()) {
+    if (errorScreen) {
+      lastConditionState = evaluateCondition();
+      return;
+    }
+    if (evaluateCondition()) {
       LOG.debug("Start stable period since condition was already met");
       startStablePeriod();
       lastConditionState = true;
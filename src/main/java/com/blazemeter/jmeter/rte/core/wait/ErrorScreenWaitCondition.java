@@ -0,0 +1,64 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import com.blazemeter.jmeter.rte.core.Screen;
+import java.util.Objects;
+
+/**
+ * {@link WaitCondition} which fails the wait, with an
+ * {@link com.blazemeter.jmeter.rte.core.exceptions.ErrorScreenException}, as soon as the screen
+ * matches a given error screen condition.
+ * <p>
+ * This condition never ends the wait by itself, so its timeout and stable timeout (and the ones of
+ * the error screen condition) are ignored.
+ */
+public class ErrorScreenWaitCondition extends ScreenWaitCondition {
+
+  private final ScreenWaitCondition errorScreen;
+
+  public ErrorScreenWaitCondition(ScreenWaitCondition errorScreen) {
+    super(0, 0);
+    this.errorScreen = errorScreen;
+  }
+
+  public ScreenWaitCondition getErrorScreen() {
+    return errorScreen;
+  }
+
+  @Override
+  public String getDescription() {
+    return "error screen with " + errorScreen.getDescription();
+  }
+
+  @Override
+  public boolean matchesScreen(Screen screen) {
+    return errorScreen.matchesScreen(screen);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    if (!super.equals(o)) {
+      return false;
+    }
+    ErrorScreenWaitCondition that = (ErrorScreenWaitCondition) o;
+    return errorScreen.equals(that.errorScreen);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), errorScreen);
+  }
+
+  @Override
+  public String toString() {
+    return "ErrorScreenWaitCondition{" +
+        "errorScreen=" + errorScreen +
+        '}';
+  }
+
+}
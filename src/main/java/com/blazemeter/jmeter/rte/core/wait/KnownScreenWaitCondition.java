@@ -0,0 +1,77 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import com.blazemeter.jmeter.rte.core.Screen;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * {@link WaitCondition} to wait for terminal screen to be a known screen, identified by the
+ * fingerprints registered for it in {@link com.blazemeter.jmeter.rte.core.ScreenRegistry}.
+ * <p>
+ * Screens are matched by comparing their fingerprint with the registered ones (usually just one),
+ * which is much cheaper than matching a regex on the screen text.
+ */
+public class KnownScreenWaitCondition extends ScreenWaitCondition {
+
+  private final String screenName;
+  private final long[] fingerprints;
+
+  public KnownScreenWaitCondition(String screenName, long[] fingerprints, long timeoutMillis,
+      long stableTimeoutMillis) {
+    super(timeoutMillis, stableTimeoutMillis);
+    this.screenName = screenName;
+    this.fingerprints = fingerprints.clone();
+  }
+
+  public String getScreenName() {
+    return screenName;
+  }
+
+  @Override
+  public String getDescription() {
+    return "emulator screen to be '" + screenName + "'";
+  }
+
+  @Override
+  public boolean matchesScreen(Screen screen) {
+    long fingerprint = screen.getFingerprint();
+    for (long known : fingerprints) {
+      if (known == fingerprint) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    if (!super.equals(o)) {
+      return false;
+    }
+    KnownScreenWaitCondition that = (KnownScreenWaitCondition) o;
+    return screenName.equals(that.screenName) &&
+        Arrays.equals(fingerprints, that.fingerprints);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), screenName, Arrays.hashCode(fingerprints));
+  }
+
+  @Override
+  public String toString() {
+    return "KnownScreenWaitCondition{" +
+        "screenName='" + screenName + '\'' +
+        ", fingerprints=" + Arrays.toString(fingerprints) +
+        ", timeoutMillis=" + timeoutMillis +
+        ", stableTimeoutMillis=" + stableTimeoutMillis +
+        '}';
+  }
+
+}
@@ -0,0 +1,17 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import com.blazemeter.jmeter.rte.core.Screen;
+
+/**
+ * {@link WaitCondition} which is met depending only on the content of the terminal screen, and is
+ * evaluated every time the screen changes.
+ */
+public abstract class ScreenWaitCondition extends WaitCondition {
+
+  public ScreenWaitCondition(long timeoutMillis, long stableTimeoutMillis) {
+    super(timeoutMillis, stableTimeoutMillis);
+  }
+
+  public abstract boolean matchesScreen(Screen screen);
+
+}
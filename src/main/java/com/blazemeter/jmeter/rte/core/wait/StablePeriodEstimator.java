@@ -0,0 +1,105 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Learns, from previous samples of a sampler, the shortest stable period which keeps the rate of
+ * samples where conditions would stop being met after the end of the stable period (and
+ * accordingly the wait would end prematurely) under a given rate.
+ * <p>
+ * The time conditions were met before stopping being met (interruptions) is registered in a
+ * histogram with exponential buckets (4 per power of two). Since interruptions after a shortened
+ * stable period can't be observed, only samples using the configured stable period are
+ * registered: the configured stable period is used until enough samples are registered, and after
+ * that, periodically, to keep learning while conditions change.
+ * <p>
+ * Interruptions are collected per sample, and only added to the histogram when the sample is
+ * registered, so samples which fail (eg: by timeout) don't distort the rate.
+ */
+public class StablePeriodEstimator {
+
+  private static final int BUCKETS_PER_POWER_OF_TWO = 4;
+  private static final int BUCKETS = BUCKETS_PER_POWER_OF_TWO * 32;
+  private static final int MIN_SAMPLES = 100;
+  private static final int LEARNING_INTERVAL = 10;
+  private static final long MIN_STABLE_PERIOD_MILLIS = 10;
+
+  private final double maxPrematureEndRate;
+  private final AtomicLongArray interruptions = new AtomicLongArray(BUCKETS);
+  private final LongAdder samples = new LongAdder();
+  private final AtomicLong sampleCount = new AtomicLong();
+
+  public StablePeriodEstimator(double maxPrematureEndRate) {
+    this.maxPrematureEndRate = maxPrematureEndRate;
+  }
+
+  /**
+   * Gets the stable period to use in next sample.
+   *
+   * @param configuredMillis the configured stable period, which is the max value returned.
+   * @return the estimated stable period, or the configured one if the sample should be used to
+   * keep learning (in which case its interruptions have to be collected with a
+   * {@link LearningSample} and registered with {@link #registerSample(LearningSample)}).
+   */
+  public long nextStablePeriod(long configuredMillis) {
+    if (samples.sum() < MIN_SAMPLES
+        || sampleCount.getAndIncrement() % LEARNING_INTERVAL == 0) {
+      return configuredMillis;
+    }
+    return Math.max(MIN_STABLE_PERIOD_MILLIS, Math.min(configuredMillis, estimateStablePeriod()));
+  }
+
+  private long estimateStablePeriod() {
+    long allowedInterruptions = (long) (samples.sum() * maxPrematureEndRate);
+    long longerInterruptions = 0;
+    for (int i = BUCKETS - 1; i >= 0; i--) {
+      longerInterruptions += interruptions.get(i);
+      if (longerInterruptions > allowedInterruptions) {
+        return getBucketUpperBound(i);
+      }
+    }
+    return 0;
+  }
+
+  private static long getBucketUpperBound(int bucket) {
+    return (long) Math.ceil(Math.pow(2, (double) (bucket + 1) / BUCKETS_PER_POWER_OF_TWO)) - 1;
+  }
+
+  private static int getBucket(long millis) {
+    int bucket = (int) (Math.log(Math.max(0, millis) + 1) / Math.log(2)
+        * BUCKETS_PER_POWER_OF_TWO);
+    return Math.min(bucket, BUCKETS - 1);
+  }
+
+  /**
+   * Registers a successful sample which used the configured stable period, after all its
+   * interruptions have been notified.
+   */
+  public void registerSample(LearningSample sample) {
+    for (long metMillis : sample.interruptions) {
+      interruptions.incrementAndGet(getBucket(metMillis));
+    }
+    samples.increment();
+  }
+
+  /**
+   * Collects the interruptions of a sample which used the configured stable period.
+   * <p>
+   * Interruptions may be notified by emulator threads while the sampler thread waits.
+   */
+  public static class LearningSample implements StablePeriodListener {
+
+    private final Queue<Long> interruptions = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void onStablePeriodInterrupted(long metMillis) {
+      interruptions.add(metMillis);
+    }
+
+  }
+
+}
@@ -0,0 +1,15 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+/**
+ * Allows to be notified when a wait condition stops being met during its stable period.
+ */
+public interface StablePeriodListener {
+
+  /**
+   * Invoked when a condition is no longer met, before its stable period ended.
+   *
+   * @param metMillis time the condition was met before stopping being met.
+   */
+  void onStablePeriodInterrupted(long metMillis);
+
+}
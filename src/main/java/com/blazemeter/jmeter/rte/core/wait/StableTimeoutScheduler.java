@@ -0,0 +1,122 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import com.blazemeter.jmeter.rte.core.VirtualThreads;
+import com.helger.commons.annotation.VisibleForTesting;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.jmeter.util.JMeterUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scheduler shared by all connections to trigger the end of {@link ConditionWaiter} stable
+ * periods.
+ * <p>
+ * It is created when first connection is established and kept until the test ends, even when all
+ * connections are closed, to avoid restarting its threads when connections are closed and opened
+ * again between iterations.
+ */
+public class StableTimeoutScheduler extends ScheduledThreadPoolExecutor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StableTimeoutScheduler.class);
+  private static final String THREADS_PROPERTY = "RTEConnectionConfig.stableTimeoutThreads";
+  private static final int DEFAULT_THREADS = 2;
+
+  private static final ReentrantLock LOCK = new ReentrantLock();
+  private static StableTimeoutScheduler instance;
+
+  private final LongAdder executedTasks = new LongAdder();
+  private final LongAdder totalLagNanos = new LongAdder();
+  private final AtomicLong maxLagNanos = new AtomicLong();
+
+  @VisibleForTesting
+  protected StableTimeoutScheduler(int threads) {
+    super(threads, VirtualThreads.newThreadFactory("STABLE-TIMEOUT-EXECUTOR-", true));
+    setRemoveOnCancelPolicy(true);
+    setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+  }
+
+  public static StableTimeoutScheduler getInstance() {
+    LOCK.lock();
+    try {
+      if (instance == null) {
+        int threads = Math.max(1, JMeterUtils.getPropDefault(THREADS_PROPERTY, DEFAULT_THREADS));
+        LOG.debug("Starting stable timeout scheduler with {} threads", threads);
+        instance = new StableTimeoutScheduler(threads);
+      }
+      return instance;
+    } finally {
+      LOCK.unlock();
+    }
+  }
+
+  /**
+   * Gets the scheduler if it was started, without starting it otherwise.
+   */
+  public static Optional<StableTimeoutScheduler> getRunningInstance() {
+    LOCK.lock();
+    try {
+      return Optional.ofNullable(instance);
+    } finally {
+      LOCK.unlock();
+    }
+  }
+
+  /**
+   * Shuts down the scheduler, if it was started, which must only be invoked once all connections
+   * are closed (eg: when the test or recording ends). Next connections start a new one.
+   */
+  public static void shutdownInstance() {
+    LOCK.lock();
+    try {
+      if (instance == null) {
+        return;
+      }
+      LOG.debug("Shutting down stable timeout scheduler. Executed tasks: {}, average lag: {} "
+          + "millis, max lag: {} millis", instance.getExecutedTasks(),
+          instance.getAverageLagMillis(), instance.getMaxLagMillis());
+      instance.shutdownNow();
+      instance = null;
+    } finally {
+      LOCK.unlock();
+    }
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    long expectedRunNanos = System.nanoTime() + unit.toNanos(delay);
+    return super.schedule(() -> {
+      registerLag(System.nanoTime() - expectedRunNanos);
+      command.run();
+    }, delay, unit);
+  }
+
+  private void registerLag(long lagNanos) {
+    long lag = Math.max(0, lagNanos);
+    executedTasks.increment();
+    totalLagNanos.add(lag);
+    maxLagNanos.accumulateAndGet(lag, Math::max);
+  }
+
+  public int getQueueDepth() {
+    return getQueue().size();
+  }
+
+  public long getExecutedTasks() {
+    return executedTasks.sum();
+  }
+
+  public long getAverageLagMillis() {
+    long count = executedTasks.sum();
+    return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLagNanos.sum() / count);
+  }
+
+  public long getMaxLagMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxLagNanos.get());
+  }
+}
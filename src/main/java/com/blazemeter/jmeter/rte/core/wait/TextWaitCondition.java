@@ -3,21 +3,33 @@ package com.blazemeter.jmeter.rte.core.wait;
 import com.blazemeter.jmeter.rte.core.Position;
 import com.blazemeter.jmeter.rte.core.Screen;
 import java.awt.Dimension;
+import java.util.Arrays;
 import java.util.Objects;
 import org.apache.oro.text.regex.Pattern;
 import org.apache.oro.text.regex.PatternMatcher;
+import org.apache.oro.text.regex.PatternMatcherInput;
+import org.apache.oro.text.regex.Perl5Compiler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * {@link WaitCondition} to wait for certain text to be in terminal screen.
  */
-public class TextWaitCondition extends WaitCondition {
+public class TextWaitCondition extends ScreenWaitCondition {
   
   private static final Logger LOG = LoggerFactory.getLogger(TextWaitCondition.class);
+  private static final String REGEX_META_CHARS = "^$.|?*+()[]{}";
+  private static final int LITERAL_INCOMPATIBLE_OPTIONS =
+      Perl5Compiler.CASE_INSENSITIVE_MASK | Perl5Compiler.EXTENDED_MASK;
   private final Pattern regex;
   private final PatternMatcher matcher;
   private final Area searchArea;
+  private final LiteralSearch literalSearch;
+  /*
+  Buffer is kept per thread since conditions are shared by all samples of a sampler and are
+  evaluated both by the sampler thread and by emulator threads notifying screen changes.
+   */
+  private final ThreadLocal<char[]> areaBuffer = ThreadLocal.withInitial(() -> new char[0]);
 
   public TextWaitCondition(Pattern regex, PatternMatcher matcher, Area searchArea,
       long timeoutMillis,
@@ -26,6 +38,7 @@ public class TextWaitCondition extends WaitCondition {
     this.regex = regex;
     this.matcher = matcher;
     this.searchArea = searchArea;
+    this.literalSearch = LiteralSearch.fromPattern(regex);
   }
 
   public String getRegex() {
@@ -41,13 +54,34 @@ public class TextWaitCondition extends WaitCondition {
     return "emulator screen area " + searchArea + " to contain '" + regex.getPattern() + "'";
   }
 
+  @Override
   public boolean matchesScreen(Screen screen) {
-    String screenArea = extractScreenArea(searchArea, screen.getText(), screen.getSize());
-    return matcher.contains(screenArea, regex);
+    Dimension screenSize = screen.getSize();
+    char[] buffer = getAreaBuffer(screenSize);
+    int length = extractScreenArea(searchArea, screen.getText(), screenSize, buffer);
+    if (literalSearch != null) {
+      return literalSearch.isContainedIn(buffer, length);
+    }
+    return matcher.contains(new PatternMatcherInput(buffer, 0, length), regex);
+  }
+
+  private char[] getAreaBuffer(Dimension screenSize) {
+    int length = screenSize.height * (screenSize.width + 1);
+    char[] ret = areaBuffer.get();
+    if (ret.length < length) {
+      ret = new char[length];
+      areaBuffer.set(ret);
+    }
+    return ret;
   }
 
-  private String extractScreenArea(Area searchArea, String screen, Dimension screenSize) {
-    StringBuilder builder = new StringBuilder();
+  /*
+  Copies the search area rows (each one followed by a new line) into a buffer reused between
+  evaluations, to avoid creating intermediate strings every time the screen changes. Returns the
+  number of characters copied to the buffer.
+   */
+  private int extractScreenArea(Area searchArea, String screen, Dimension screenSize,
+      char[] areaBuffer) {
     int top = getBoundedValueOrDefault(searchArea.getTop(), 1, screenSize.height, 1, "top row");
     int left = getBoundedValueOrDefault(searchArea.getLeft(), 1, screenSize.width, 1,
         "left column");
@@ -57,13 +91,17 @@ public class TextWaitCondition extends WaitCondition {
     int right = getBoundedValueOrDefault(
         searchArea.getRight() == Position.UNSPECIFIED_INDEX ? screenSize.width
             : searchArea.getRight(), left, screenSize.width, screenSize.width, "right column");
+    int rowLength = right - left + 2;
+    int length = (bottom - top + 1) * rowLength;
+    int pos = 0;
     for (int i = top; i <= bottom; i++) {
       // we increase one due to new line at end of row
       int rowStart = (i - 1) * (screenSize.width + 1);
-      builder.append(screen, rowStart + left - 1, rowStart + right);
-      builder.append("\n");
+      screen.getChars(rowStart + left - 1, rowStart + right, areaBuffer, pos);
+      pos += rowLength;
+      areaBuffer[pos - 1] = '\n';
     }
-    return builder.toString();
+    return length;
   }
 
   private int getBoundedValueOrDefault(int value, int lowerBound, int upperBound, int defaultValue,
@@ -108,4 +146,61 @@ public class TextWaitCondition extends WaitCondition {
         ", stableTimeoutMillis=" + stableTimeoutMillis +
         '}';
   }
+
+  /*
+  Search for patterns without regex constructs (eg: recorded texts, which are quoted) using
+  Boyer-Moore-Horspool algorithm, which avoids the overhead of the regex engine.
+   */
+  private static class LiteralSearch {
+
+    private final char[] text;
+    private final int[] shifts = new int[256];
+
+    private LiteralSearch(char[] text) {
+      this.text = text;
+      Arrays.fill(shifts, text.length);
+      for (int i = 0; i < text.length - 1; i++) {
+        shifts[text[i] & 0xFF] = text.length - 1 - i;
+      }
+    }
+
+    private static LiteralSearch fromPattern(Pattern pattern) {
+      if ((pattern.getOptions() & LITERAL_INCOMPATIBLE_OPTIONS) != 0) {
+        return null;
+      }
+      String regex = pattern.getPattern();
+      StringBuilder literal = new StringBuilder(regex.length());
+      for (int i = 0; i < regex.length(); i++) {
+        char c = regex.charAt(i);
+        if (c == '\\') {
+          if (++i >= regex.length() || Character.isLetterOrDigit(regex.charAt(i))
+              || regex.charAt(i) == '_') {
+            return null;
+          }
+          literal.append(regex.charAt(i));
+        } else if (REGEX_META_CHARS.indexOf(c) >= 0) {
+          return null;
+        } else {
+          literal.append(c);
+        }
+      }
+      return new LiteralSearch(literal.toString().toCharArray());
+    }
+
+    private boolean isContainedIn(char[] buffer, int length) {
+      int last = text.length - 1;
+      int pos = 0;
+      while (pos + last < length) {
+        int i = last;
+        while (i >= 0 && buffer[pos + i] == text[i]) {
+          i--;
+        }
+        if (i < 0) {
+          return true;
+        }
+        pos += shifts[buffer[pos + last] & 0xFF];
+      }
+      return false;
+    }
+  }
 }
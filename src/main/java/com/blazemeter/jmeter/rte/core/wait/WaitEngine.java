@@ -0,0 +1,101 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import com.blazemeter.jmeter.rte.core.exceptions.RteIOException;
+import com.helger.commons.annotation.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.jmeter.util.JMeterUtils;
+
+/**
+ * Per client engine which keeps the waiters of ongoing waits and fans out each event received by
+ * the client to all of them.
+ * <p>
+ * Protocol clients register a single listener per emulator event type, which forwards each
+ * received event to {@link #dispatch(Consumer)} once. Waiters don't register listeners on their
+ * own, and every active waiter evaluates its condition at most once per event against the client
+ * screen, which is only rebuilt once per event.
+ * <p>
+ * Conditions are awaited one after the other by default, and when {@value #COMBINED_WAIT_PROPERTY}
+ * property is set they are awaited as a single combined wait instead (check
+ * {@link ConditionWaiter#awaitAll(List)}).
+ *
+ * @param <W> protocol specific type of waiters, which defines the events they handle.
+ */
+public class WaitEngine<W extends ConditionWaiter<?>> {
+
+  public static final String COMBINED_WAIT_PROPERTY = "RTESampler.combinedWait";
+
+  private static final String WAIT_STARTED_EVENT = "wait started";
+
+  private final Function<WaitCondition, W> waiterFactory;
+  private final boolean combinedWait;
+  private final List<W> waiters = new CopyOnWriteArrayList<>();
+
+  public WaitEngine(Function<WaitCondition, W> waiterFactory) {
+    this(waiterFactory, JMeterUtils.getPropDefault(COMBINED_WAIT_PROPERTY, false));
+  }
+
+  @VisibleForTesting
+  WaitEngine(Function<WaitCondition, W> waiterFactory, boolean combinedWait) {
+    this.waiterFactory = waiterFactory;
+    this.combinedWait = combinedWait;
+  }
+
+  /**
+   * Waits for all the given conditions, either one after the other or as a single combined wait.
+   *
+   * @return the time (in epoch millis) when all the conditions were met.
+   * @see ConditionWaiter#awaitEach(List)
+   * @see ConditionWaiter#awaitAll(List)
+   */
+  public long await(List<WaitCondition> waitConditions,
+      StablePeriodListener stablePeriodListener)
+      throws InterruptedException, TimeoutException, RteIOException {
+    List<W> conditionWaiters = new ArrayList<>(waitConditions.size());
+    for (WaitCondition condition : waitConditions) {
+      W waiter = waiterFactory.apply(condition);
+      waiter.setStablePeriodListener(stablePeriodListener);
+      conditionWaiters.add(waiter);
+    }
+    waiters.addAll(conditionWaiters);
+    try {
+      /*
+      waiters check their condition when created, but events dispatched before they are added to
+      the engine are lost, so the condition is checked again to avoid missing any change.
+       */
+      conditionWaiters.forEach(w -> w.updateConditionState(WAIT_STARTED_EVENT));
+      List<ConditionWaiter<?>> awaitedWaiters = new ArrayList<>(conditionWaiters);
+      return combinedWait ? ConditionWaiter.awaitAll(awaitedWaiters)
+          : ConditionWaiter.awaitEach(awaitedWaiters);
+    } finally {
+      waiters.removeAll(conditionWaiters);
+      conditionWaiters.forEach(ConditionWaiter::stop);
+    }
+  }
+
+  /**
+   * Notifies an event received by the client to all the waiters of ongoing waits.
+   *
+   * @param event invokes the waiter method which handles the event.
+   */
+  public void dispatch(Consumer<? super W> event) {
+    waiters.forEach(event);
+  }
+
+  /**
+   * Allows to know if some thread is still waiting for conditions in the client.
+   */
+  public boolean hasOngoingWaits() {
+    return !waiters.isEmpty();
+  }
+
+  @VisibleForTesting
+  int getWaitersCount() {
+    return waiters.size();
+  }
+
+}
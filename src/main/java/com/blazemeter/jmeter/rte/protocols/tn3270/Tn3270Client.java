@@ -7,6 +7,7 @@ import com.blazemeter.jmeter.rte.core.Input;
 import com.blazemeter.jmeter.rte.core.LabelInput;
 import com.blazemeter.jmeter.rte.core.NavigationInput;
 import com.blazemeter.jmeter.rte.core.Position;
+import com.blazemeter.jmeter.rte.core.Protocol;
 import com.blazemeter.jmeter.rte.core.Screen;
 import com.blazemeter.jmeter.rte.core.TerminalType;
 import com.blazemeter.jmeter.rte.core.exceptions.InvalidFieldLabelException;
@@ -16,18 +17,20 @@ import com.blazemeter.jmeter.rte.core.exceptions.ScreenWithoutFieldException;
 import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.listener.TerminalStateListener;
 import com.blazemeter.jmeter.rte.core.ssl.SSLType;
-import com.blazemeter.jmeter.rte.core.wait.ConditionWaiter;
 import com.blazemeter.jmeter.rte.core.wait.ConnectionEndWaiter;
 import com.blazemeter.jmeter.rte.core.wait.CursorWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.DisconnectWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.ScreenWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.SilentWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.StableTimeoutScheduler;
 import com.blazemeter.jmeter.rte.core.wait.SyncWaitCondition;
-import com.blazemeter.jmeter.rte.core.wait.TextWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.WaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.WaitEngine;
 import com.blazemeter.jmeter.rte.protocols.tn3270.Tn3270TerminalType.DeviceModel;
 import com.blazemeter.jmeter.rte.protocols.tn3270.listeners.DisconnectListener;
 import com.blazemeter.jmeter.rte.protocols.tn3270.listeners.ScreenTextListener;
 import com.blazemeter.jmeter.rte.protocols.tn3270.listeners.SilenceListener;
+import com.blazemeter.jmeter.rte.protocols.tn3270.listeners.Tn3270ConditionWaiter;
 import com.blazemeter.jmeter.rte.protocols.tn3270.listeners.Tn3270TerminalStateListenerProxy;
 import com.blazemeter.jmeter.rte.protocols.tn3270.listeners.UnlockListener;
 import com.blazemeter.jmeter.rte.protocols.tn3270.listeners.VisibleCursorListener;
@@ -40,6 +43,7 @@ import com.bytezone.dm3270.display.CursorMoveListener;
 import com.bytezone.dm3270.display.Field;
 import com.bytezone.dm3270.display.ScreenChangeListener;
 import com.bytezone.dm3270.display.ScreenDimensions;
+import com.helger.commons.annotation.VisibleForTesting;
 import java.awt.Dimension;
 import java.util.Arrays;
 import java.util.EnumMap;
@@ -49,7 +53,7 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import javax.naming.OperationNotSupportedException;
@@ -66,6 +70,22 @@ public class Tn3270Client extends BaseProtocolClient {
   private TerminalClient client;
   private final Map<TerminalStateListener, Tn3270TerminalStateListenerProxy> listenersProxies =
       new ConcurrentHashMap<>();
+  private final List<ScreenChangeListener> screenChangeListeners = new CopyOnWriteArrayList<>();
+  private final List<KeyboardStatusListener> keyboardStatusListeners =
+      new CopyOnWriteArrayList<>();
+  private final List<CursorMoveListener> cursorMoveListeners = new CopyOnWriteArrayList<>();
+  private final WaitEngine<Tn3270ConditionWaiter<?>> waitEngine =
+      new WaitEngine<>(this::buildWaiter);
+
+  public Tn3270Client() {
+  }
+
+  @VisibleForTesting
+  protected Tn3270Client(TerminalClient client, ExceptionHandler exceptionHandler) {
+    this.client = client;
+    this.exceptionHandler = exceptionHandler;
+    addScreenEventsDispatchers();
+  }
 
   private static List<TerminalType> buildTerminalTypes() {
     return Arrays.asList(
@@ -125,12 +145,13 @@ public class Tn3270Client extends BaseProtocolClient {
   @Override
   public void connect(String server, int port, SSLType sslType, TerminalType terminalType,
       long timeoutMillis) throws RteIOException, InterruptedException, TimeoutException {
-    stableTimeoutExecutor = Executors.newSingleThreadScheduledExecutor(NAMED_THREAD_FACTORY);
+    stableTimeoutExecutor = StableTimeoutScheduler.getInstance();
     Tn3270TerminalType termType = (Tn3270TerminalType) terminalType;
     client = new TerminalClient(termType.getModel(), termType.getScreenDimensions());
     client.setUsesExtended3270(termType.isExtended());
     client.setConnectionTimeoutMillis((int) timeoutMillis);
     client.setSocketFactory(getSocketFactory(sslType, server));
+    addScreenEventsDispatchers();
     ConnectionEndWaiter connectionEndWaiter = new ConnectionEndWaiter(timeoutMillis);
     exceptionHandler = new ExceptionHandler(server);
     addConnectionListener(new com.bytezone.dm3270.ConnectionListener() {
@@ -149,43 +170,74 @@ public class Tn3270Client extends BaseProtocolClient {
       @Override
       public void onConnectionClosed() {
         handleServerDisconnection();
+        waitEngine.dispatch(Tn3270ConditionWaiter::onConnectionClosed);
       }
     });
-    for (TerminalStateListener listener : listenersProxies.keySet()) {
-      addListener(listener);
+    listenersProxies.keySet().forEach(exceptionHandler::addListener);
+    boolean connected = false;
+    try {
+      client.connect(server, port);
+      connectionEndWaiter.await();
+      exceptionHandler.throwAnyPendingError();
+      connected = true;
+    } finally {
+      registerConnectionEnd(connected);
     }
-    client.connect(server, port);
-    connectionEndWaiter.await();
-    exceptionHandler.throwAnyPendingError();
   }
 
-  private void addListener(TerminalStateListener listener) {
-    Tn3270TerminalStateListenerProxy listenerProxy = listenersProxies.get(listener);
-    client.addScreenChangeListener(listenerProxy);
-    client.addKeyboardStatusListener(listenerProxy);
-    client.addCursorMoveListener(listenerProxy);
-    exceptionHandler.addListener(listener);
+  @Override
+  protected Protocol getProtocol() {
+    return Protocol.TN3270;
+  }
+
+  /*
+  Only one listener per event type is registered in the emulator, which invalidates the cached
+  screen before notifying the wait engine and the rest of listeners, so they never get a stale
+  screen.
+   */
+  private void addScreenEventsDispatchers() {
+    invalidateScreen();
+    client.addScreenChangeListener(screenWatcher -> {
+      invalidateScreen();
+      waitEngine.dispatch(w -> w.screenChanged(screenWatcher));
+      screenChangeListeners.forEach(l -> l.screenChanged(screenWatcher));
+    });
+    client.addKeyboardStatusListener(evt -> {
+      invalidateScreen();
+      waitEngine.dispatch(w -> w.keyboardStatusChanged(evt));
+      keyboardStatusListeners.forEach(l -> l.keyboardStatusChanged(evt));
+    });
+    client.addCursorMoveListener((oldLocation, newLocation, field) -> {
+      invalidateScreen();
+      waitEngine.dispatch(w -> w.cursorMoved(oldLocation, newLocation, field));
+      cursorMoveListeners.forEach(l -> l.cursorMoved(oldLocation, newLocation, field));
+    });
   }
 
   @Override
   public void addTerminalStateListener(TerminalStateListener listener) {
     Tn3270TerminalStateListenerProxy listenerProxy = new Tn3270TerminalStateListenerProxy(listener);
     listenersProxies.put(listener, listenerProxy);
+    addScreenChangeListener(listenerProxy);
+    addKeyboardStatusListener(listenerProxy);
+    addCursorMoveListener(listenerProxy);
     if (client != null) {
-      addListener(listener);
+      exceptionHandler.addListener(listener);
     }
   }
 
   @Override
   public void removeTerminalStateListener(TerminalStateListener listener) {
     Tn3270TerminalStateListenerProxy listenerProxy = listenersProxies.remove(listener);
+    if (listenerProxy == null) {
+      return;
+    }
+    removeScreenChangeListener(listenerProxy);
+    removeKeyboardStatusListener(listenerProxy);
+    removeCursorMoveListener(listenerProxy);
     if (client != null) {
       exceptionHandler.removeListener(listener);
-      client.removeScreenChangeListener(listenerProxy);
-      client.removeKeyboardStatusListener(listenerProxy);
-      client.removeCursorMoveListener(listenerProxy);
     }
-
   }
 
   @Override
@@ -265,7 +317,11 @@ public class Tn3270Client extends BaseProtocolClient {
   }
 
   @Override
-  protected ConditionWaiter<?> buildWaiter(WaitCondition waitCondition) {
+  protected WaitEngine<?> getWaitEngine() {
+    return waitEngine;
+  }
+
+  private Tn3270ConditionWaiter<?> buildWaiter(WaitCondition waitCondition) {
     if (waitCondition instanceof SyncWaitCondition) {
       return new UnlockListener((SyncWaitCondition) waitCondition, this, stableTimeoutExecutor,
           exceptionHandler);
@@ -275,9 +331,9 @@ public class Tn3270Client extends BaseProtocolClient {
     } else if (waitCondition instanceof SilentWaitCondition) {
       return new SilenceListener((SilentWaitCondition) waitCondition, this, stableTimeoutExecutor,
           exceptionHandler);
-    } else if (waitCondition instanceof TextWaitCondition) {
-      return new ScreenTextListener((TextWaitCondition) waitCondition, this, stableTimeoutExecutor,
-          exceptionHandler);
+    } else if (waitCondition instanceof ScreenWaitCondition) {
+      return new ScreenTextListener((ScreenWaitCondition) waitCondition, this,
+          stableTimeoutExecutor, exceptionHandler);
     } else if (waitCondition instanceof DisconnectWaitCondition) {
       return new DisconnectListener((DisconnectWaitCondition) waitCondition, this,
           stableTimeoutExecutor, exceptionHandler);
@@ -288,7 +344,7 @@ public class Tn3270Client extends BaseProtocolClient {
   }
 
   @Override
-  public Screen getScreen() {
+  protected Screen buildScreen() {
     List<Field> fields = client.getFields();
     Dimension size = getScreenSize();
     Screen screen = new Screen(size);
@@ -394,27 +450,27 @@ public class Tn3270Client extends BaseProtocolClient {
   }
 
   public void addScreenChangeListener(ScreenChangeListener listener) {
-    client.addScreenChangeListener(listener);
+    screenChangeListeners.add(listener);
   }
 
   public void removeScreenChangeListener(ScreenChangeListener listener) {
-    client.removeScreenChangeListener(listener);
+    screenChangeListeners.remove(listener);
   }
 
   public void addKeyboardStatusListener(KeyboardStatusListener listener) {
-    client.addKeyboardStatusListener(listener);
+    keyboardStatusListeners.add(listener);
   }
 
   public void removeKeyboardStatusListener(KeyboardStatusListener listener) {
-    client.removeKeyboardStatusListener(listener);
+    keyboardStatusListeners.remove(listener);
   }
 
   public void addCursorMoveListener(CursorMoveListener listener) {
-    client.addCursorMoveListener(listener);
+    cursorMoveListeners.add(listener);
   }
 
   public void removeCursorMoveListener(CursorMoveListener listener) {
-    client.removeCursorMoveListener(listener);
+    cursorMoveListeners.remove(listener);
   }
 
   public void addConnectionListener(ConnectionListener connectionListener) {
@@ -427,7 +483,6 @@ public class Tn3270Client extends BaseProtocolClient {
 
   @Override
   protected void doDisconnect() {
-    stableTimeoutExecutor.shutdownNow();
     stableTimeoutExecutor = null;
     try {
       client.disconnect();
@@ -3,11 +3,9 @@ package com.blazemeter.jmeter.rte.protocols.tn3270.listeners;
 import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.wait.DisconnectWaitCondition;
 import com.blazemeter.jmeter.rte.protocols.tn3270.Tn3270Client;
-import com.bytezone.dm3270.ConnectionListener;
 import java.util.concurrent.ScheduledExecutorService;
 
-public class DisconnectListener extends Tn3270ConditionWaiter<DisconnectWaitCondition> implements
-    ConnectionListener {
+public class DisconnectListener extends Tn3270ConditionWaiter<DisconnectWaitCondition> {
 
   private boolean disconnected;
 
@@ -16,7 +14,6 @@ public class DisconnectListener extends Tn3270ConditionWaiter<DisconnectWaitCond
       ScheduledExecutorService stableTimeoutExecutor,
       ExceptionHandler exceptionHandler) {
     super(condition, client, stableTimeoutExecutor, exceptionHandler);
-    client.addConnectionListener(this);
   }
 
   @Override
@@ -24,22 +21,6 @@ public class DisconnectListener extends Tn3270ConditionWaiter<DisconnectWaitCond
     return disconnected;
   }
 
-  @Override
-  public void stop() {
-    super.stop();
-    client.removeConnectionListener(this);
-  }
-
-  @Override
-  public void onConnection() {
-    
-  }
-
-  @Override
-  public void onException(Exception e) {
-
-  }
-
   @Override
   public void onConnectionClosed() {
     disconnected = true;
@@ -4,22 +4,15 @@ import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.wait.SilentWaitCondition;
 import com.blazemeter.jmeter.rte.protocols.tn3270.Tn3270Client;
 import com.bytezone.dm3270.application.KeyboardStatusChangedEvent;
-import com.bytezone.dm3270.application.KeyboardStatusListener;
-import com.bytezone.dm3270.display.CursorMoveListener;
 import com.bytezone.dm3270.display.Field;
-import com.bytezone.dm3270.display.ScreenChangeListener;
 import com.bytezone.dm3270.display.ScreenWatcher;
 import java.util.concurrent.ScheduledExecutorService;
 
-public class SilenceListener extends Tn3270ConditionWaiter<SilentWaitCondition> implements
-    KeyboardStatusListener, CursorMoveListener, ScreenChangeListener {
+public class SilenceListener extends Tn3270ConditionWaiter<SilentWaitCondition> {
 
   public SilenceListener(SilentWaitCondition condition, Tn3270Client client,
       ScheduledExecutorService stableTimeoutExecutor, ExceptionHandler exceptionHandler) {
     super(condition, client, stableTimeoutExecutor, exceptionHandler);
-    client.addCursorMoveListener(this);
-    client.addKeyboardStatusListener(this);
-    client.addScreenChangeListener(this);
   }
 
   @Override
@@ -37,14 +30,6 @@ public class SilenceListener extends Tn3270ConditionWaiter<SilentWaitCondition>
     handleReceivedEvent("screenChanged");
   }
 
-  @Override
-  public void stop() {
-    super.stop();
-    client.removeCursorMoveListener(this);
-    client.removeKeyboardStatusListener(this);
-    client.removeScreenChangeListener(this);
-  }
-
   @Override
   protected boolean getCurrentConditionState() {
     return true;
@@ -4,10 +4,21 @@ import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.wait.ConditionWaiter;
 import com.blazemeter.jmeter.rte.core.wait.WaitCondition;
 import com.blazemeter.jmeter.rte.protocols.tn3270.Tn3270Client;
+import com.bytezone.dm3270.application.KeyboardStatusChangedEvent;
+import com.bytezone.dm3270.application.KeyboardStatusListener;
+import com.bytezone.dm3270.display.CursorMoveListener;
+import com.bytezone.dm3270.display.Field;
+import com.bytezone.dm3270.display.ScreenChangeListener;
+import com.bytezone.dm3270.display.ScreenWatcher;
 import java.util.concurrent.ScheduledExecutorService;
 
+/**
+ * A {@link ConditionWaiter} which gets the events of a {@link Tn3270Client} from the client wait
+ * engine, and only handles the ones which may change its condition.
+ */
 public abstract class Tn3270ConditionWaiter<T extends WaitCondition> extends
-    ConditionWaiter<T> {
+    ConditionWaiter<T> implements ScreenChangeListener, KeyboardStatusListener,
+    CursorMoveListener {
 
   protected static final String CURSOR_MOVED = "cursor moved";
   protected Tn3270Client client;
@@ -19,4 +30,19 @@ public abstract class Tn3270ConditionWaiter<T extends WaitCondition> extends
     initialVerificationOfCondition();
   }
 
+  @Override
+  public void screenChanged(ScreenWatcher screenWatcher) {
+  }
+
+  @Override
+  public void keyboardStatusChanged(KeyboardStatusChangedEvent keyboardStatusChangedEvent) {
+  }
+
+  @Override
+  public void cursorMoved(int oldLocation, int newLocation, Field field) {
+  }
+
+  public void onConnectionClosed() {
+  }
+
 }
@@ -4,17 +4,14 @@ import com.blazemeter.jmeter.rte.core.Position;
 import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.wait.CursorWaitCondition;
 import com.blazemeter.jmeter.rte.protocols.tn3270.Tn3270Client;
-import com.bytezone.dm3270.display.CursorMoveListener;
 import com.bytezone.dm3270.display.Field;
 import java.util.concurrent.ScheduledExecutorService;
 
-public class VisibleCursorListener extends Tn3270ConditionWaiter<CursorWaitCondition> implements
-    CursorMoveListener {
+public class VisibleCursorListener extends Tn3270ConditionWaiter<CursorWaitCondition> {
 
   public VisibleCursorListener(CursorWaitCondition condition, Tn3270Client client,
       ScheduledExecutorService stableTimeoutExecutor, ExceptionHandler exceptionHandler) {
     super(condition, client, stableTimeoutExecutor, exceptionHandler);
-    client.addCursorMoveListener(this);
   }
 
   private Position getCursorPosition() {
@@ -26,12 +23,6 @@ public class VisibleCursorListener extends Tn3270ConditionWaiter<CursorWaitCondi
     updateConditionState(CURSOR_MOVED);
   }
 
-  @Override
-  public void stop() {
-    super.stop();
-    client.removeCursorMoveListener(this);
-  }
-
   @Override
   protected boolean getCurrentConditionState() {
     return condition.getPosition().equals(getCursorPosition());
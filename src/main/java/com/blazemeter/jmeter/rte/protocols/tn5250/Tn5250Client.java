@@ -7,6 +7,7 @@ import com.blazemeter.jmeter.rte.core.Input;
 import com.blazemeter.jmeter.rte.core.LabelInput;
 import com.blazemeter.jmeter.rte.core.NavigationInput;
 import com.blazemeter.jmeter.rte.core.Position;
+import com.blazemeter.jmeter.rte.core.Protocol;
 import com.blazemeter.jmeter.rte.core.Screen;
 import com.blazemeter.jmeter.rte.core.TerminalType;
 import com.blazemeter.jmeter.rte.core.exceptions.InvalidFieldLabelException;
@@ -16,22 +17,25 @@ import com.blazemeter.jmeter.rte.core.exceptions.ScreenWithoutFieldException;
 import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.listener.TerminalStateListener;
 import com.blazemeter.jmeter.rte.core.ssl.SSLType;
-import com.blazemeter.jmeter.rte.core.wait.ConditionWaiter;
 import com.blazemeter.jmeter.rte.core.wait.ConnectionEndWaiter;
 import com.blazemeter.jmeter.rte.core.wait.CursorWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.DisconnectWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.ScreenWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.SilentWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.StableTimeoutScheduler;
 import com.blazemeter.jmeter.rte.core.wait.SyncWaitCondition;
-import com.blazemeter.jmeter.rte.core.wait.TextWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.WaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.WaitEngine;
 import com.blazemeter.jmeter.rte.protocols.tn5250.listeners.ConnectionEndTerminalListener;
 import com.blazemeter.jmeter.rte.protocols.tn5250.listeners.DisconnectListener;
 import com.blazemeter.jmeter.rte.protocols.tn5250.listeners.ScreenTextListener;
 import com.blazemeter.jmeter.rte.protocols.tn5250.listeners.SilenceListener;
+import com.blazemeter.jmeter.rte.protocols.tn5250.listeners.Tn5250ConditionWaiter;
 import com.blazemeter.jmeter.rte.protocols.tn5250.listeners.Tn5250TerminalStateListenerProxy;
 import com.blazemeter.jmeter.rte.protocols.tn5250.listeners.UnlockListener;
 import com.blazemeter.jmeter.rte.protocols.tn5250.listeners.VisibleCursorListener;
 import com.blazemeter.jmeter.rte.sampler.NavigationType;
+import com.helger.commons.annotation.VisibleForTesting;
 import java.awt.Dimension;
 import java.awt.event.KeyEvent;
 import java.util.Arrays;
@@ -42,11 +46,13 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import javax.naming.OperationNotSupportedException;
 import net.infordata.em.TerminalClient;
 import net.infordata.em.crt5250.XI5250Field;
+import net.infordata.em.tn5250.XI5250EmulatorEvent;
 import net.infordata.em.tn5250.XI5250EmulatorListener;
 
 public class Tn5250Client extends BaseProtocolClient {
@@ -97,6 +103,19 @@ public class Tn5250Client extends BaseProtocolClient {
   private TerminalClient client;
   private Map<TerminalStateListener, Tn5250TerminalStateListenerProxy> listenersProxies =
       new ConcurrentHashMap<>();
+  private final List<XI5250EmulatorListener> emulatorListeners = new CopyOnWriteArrayList<>();
+  private final WaitEngine<Tn5250ConditionWaiter<?>> waitEngine =
+      new WaitEngine<>(this::buildWaiter);
+
+  public Tn5250Client() {
+  }
+
+  @VisibleForTesting
+  protected Tn5250Client(TerminalClient client, ExceptionHandler exceptionHandler) {
+    this.client = client;
+    this.exceptionHandler = exceptionHandler;
+    addScreenEventsDispatcher();
+  }
 
   @Override
   public List<TerminalType> getSupportedTerminalTypes() {
@@ -106,7 +125,7 @@ public class Tn5250Client extends BaseProtocolClient {
   @Override
   public void connect(String server, int port, SSLType sslType, TerminalType terminalType,
       long timeoutMillis) throws RteIOException, TimeoutException, InterruptedException {
-    stableTimeoutExecutor = Executors.newSingleThreadScheduledExecutor(NAMED_THREAD_FACTORY);
+    stableTimeoutExecutor = StableTimeoutScheduler.getInstance();
     /*
      we need create terminalClient instance on connect instead of 
      constructor to avoid leaving keyboard thread running when 
@@ -131,21 +150,33 @@ public class Tn5250Client extends BaseProtocolClient {
         handleServerDisconnection();
       }
     });
-    for (TerminalStateListener listener : listenersProxies.keySet()) {
-      addListener(listener);
-    }
+    addScreenEventsDispatcher();
+    listenersProxies.keySet().forEach(exceptionHandler::addListener);
     ConnectionEndTerminalListener connectionEndListener = new ConnectionEndTerminalListener(
         connectionEndWaiter);
     client.addEmulatorListener(connectionEndListener);
+    boolean connected = false;
     try {
       client.connect(server, port);
       connectionEndWaiter.await();
       exceptionHandler.throwAnyPendingError();
+      connected = true;
     } finally {
       client.removeEmulatorListener(connectionEndListener);
+      registerConnectionEnd(connected);
     }
   }
 
+  private void addScreenEventsDispatcher() {
+    invalidateScreen();
+    client.addEmulatorListener(new EmulatorEventsDispatcher());
+  }
+
+  @Override
+  protected Protocol getProtocol() {
+    return Protocol.TN5250;
+  }
+
   @Override
   protected void setField(Input i, long echoTimeoutMillis) {
     if (i instanceof CoordInput) {
@@ -225,7 +256,11 @@ public class Tn5250Client extends BaseProtocolClient {
   }
 
   @Override
-  protected ConditionWaiter<?> buildWaiter(WaitCondition waitCondition) {
+  protected WaitEngine<?> getWaitEngine() {
+    return waitEngine;
+  }
+
+  private Tn5250ConditionWaiter<?> buildWaiter(WaitCondition waitCondition) {
     if (waitCondition instanceof SyncWaitCondition) {
       return new UnlockListener((SyncWaitCondition) waitCondition, this,
           stableTimeoutExecutor, exceptionHandler);
@@ -235,8 +270,8 @@ public class Tn5250Client extends BaseProtocolClient {
     } else if (waitCondition instanceof SilentWaitCondition) {
       return new SilenceListener((SilentWaitCondition) waitCondition,
           this, stableTimeoutExecutor, exceptionHandler);
-    } else if (waitCondition instanceof TextWaitCondition) {
-      return new ScreenTextListener((TextWaitCondition) waitCondition, this,
+    } else if (waitCondition instanceof ScreenWaitCondition) {
+      return new ScreenTextListener((ScreenWaitCondition) waitCondition, this,
           stableTimeoutExecutor, exceptionHandler);
     } else if (waitCondition instanceof DisconnectWaitCondition) {
       return new DisconnectListener((DisconnectWaitCondition) waitCondition, this,
@@ -251,28 +286,26 @@ public class Tn5250Client extends BaseProtocolClient {
   public void addTerminalStateListener(TerminalStateListener listener) {
     Tn5250TerminalStateListenerProxy proxy = new Tn5250TerminalStateListenerProxy(listener);
     listenersProxies.put(listener, proxy);
+    addEmulatorListener(proxy);
     if (client != null) {
-      addListener(listener);
+      exceptionHandler.addListener(listener);
     }
   }
 
-  private void addListener(TerminalStateListener listener) {
-    Tn5250TerminalStateListenerProxy listenerProxy = listenersProxies.get(listener);
-    client.addEmulatorListener(listenerProxy);
-    exceptionHandler.addListener(listener);
-  }
-
   @Override
   public void removeTerminalStateListener(TerminalStateListener listener) {
     Tn5250TerminalStateListenerProxy proxy = listenersProxies.remove(listener);
+    if (proxy == null) {
+      return;
+    }
+    removeEmulatorListener(proxy);
     if (client != null) {
-      client.removeEmulatorListener(proxy);
       exceptionHandler.removeListener(listener);
     }
   }
 
   @Override
-  public Screen getScreen() {
+  protected Screen buildScreen() {
     Dimension screenSize = client.getScreenDimensions();
     Screen ret = new Screen(screenSize);
     String screenText = client.getScreenText().replace("\n", "");
@@ -328,20 +361,73 @@ public class Tn5250Client extends BaseProtocolClient {
   }
 
   public void addEmulatorListener(XI5250EmulatorListener listener) {
-    client.addEmulatorListener(listener);
+    emulatorListeners.add(listener);
   }
 
   public void removeEmulatorListener(XI5250EmulatorListener listener) {
-    client.removeEmulatorListener(listener);
+    emulatorListeners.remove(listener);
   }
 
   @Override
   protected void doDisconnect() {
-    stableTimeoutExecutor.shutdownNow();
     stableTimeoutExecutor = null;
     client.disconnect();
   }
 
+  /*
+  Only this listener is registered in the emulator for screen related events, which invalidates the
+  cached screen before notifying the wait engine and the rest of listeners, so they never get a
+  stale screen.
+   */
+  private class EmulatorEventsDispatcher implements XI5250EmulatorListener {
+
+    @Override
+    public void connecting(XI5250EmulatorEvent e) {
+      dispatch(l -> l.connecting(e));
+    }
+
+    @Override
+    public void connected(XI5250EmulatorEvent e) {
+      invalidateScreen();
+      dispatch(l -> l.connected(e));
+    }
+
+    @Override
+    public void disconnected(XI5250EmulatorEvent e) {
+      dispatch(l -> l.disconnected(e));
+    }
+
+    @Override
+    public void stateChanged(XI5250EmulatorEvent e) {
+      invalidateScreen();
+      dispatch(l -> l.stateChanged(e));
+    }
+
+    @Override
+    public void newPanelReceived(XI5250EmulatorEvent e) {
+      invalidateScreen();
+      dispatch(l -> l.newPanelReceived(e));
+    }
+
+    @Override
+    public void fieldsRemoved(XI5250EmulatorEvent e) {
+      invalidateScreen();
+      dispatch(l -> l.fieldsRemoved(e));
+    }
+
+    @Override
+    public void dataSended(XI5250EmulatorEvent e) {
+      invalidateScreen();
+      dispatch(l -> l.dataSended(e));
+    }
+
+    private void dispatch(Consumer<XI5250EmulatorListener> event) {
+      waitEngine.dispatch(event);
+      emulatorListeners.forEach(event);
+    }
+
+  }
+
   private static class KeyEventMap {
 
     private final int modifier;
@@ -1,17 +1,17 @@
 package com.blazemeter.jmeter.rte.protocols.tn5250.listeners;
 
 import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
-import com.blazemeter.jmeter.rte.core.wait.TextWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.ScreenWaitCondition;
 import com.blazemeter.jmeter.rte.protocols.tn5250.Tn5250Client;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 import net.infordata.em.tn5250.XI5250EmulatorEvent;
 
-public class ScreenTextListener extends Tn5250ConditionWaiter<TextWaitCondition> {
+public class ScreenTextListener extends Tn5250ConditionWaiter<ScreenWaitCondition> {
 
   private static final List<String> EVENT_NAMES = getEventNames();
 
-  public ScreenTextListener(TextWaitCondition condition, Tn5250Client client,
+  public ScreenTextListener(ScreenWaitCondition condition, Tn5250Client client,
       ScheduledExecutorService stableTimeoutExecutor, ExceptionHandler exceptionHandler) {
     super(condition, client, stableTimeoutExecutor, exceptionHandler);
   }
@@ -9,23 +9,24 @@ import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import net.infordata.em.tn5250.XI5250EmulatorEvent;
 import net.infordata.em.tn5250.XI5250EmulatorListener;
 
 /**
  * An {@link XI5250EmulatorListener} which allows waiting for certain condition, and keeps in such
- * state for a given period of time.
+ * state for a given period of time. Emulator events are received from the client wait engine.
  */
 public abstract class Tn5250ConditionWaiter<T extends WaitCondition> extends
     ConditionWaiter<T> implements XI5250EmulatorListener {
 
   protected final Tn5250Client client;
+  private final ReentrantLock conditionStateLock = new ReentrantLock();
 
   public Tn5250ConditionWaiter(T condition, Tn5250Client client,
       ScheduledExecutorService stableTimeoutExecutor, ExceptionHandler exceptionHandler) {
     super(condition, stableTimeoutExecutor, exceptionHandler);
-    client.addEmulatorListener(this);
     this.client = client;
     initialVerificationOfCondition();
   }
@@ -37,6 +38,20 @@ public abstract class Tn5250ConditionWaiter<T extends WaitCondition> extends
         .collect(Collectors.toList());
   }
 
+  /*
+  Emulator events may be notified from different threads, so condition state updates of each
+  waiter are serialized with its own lock.
+   */
+  @Override
+  protected void updateConditionState(String event) {
+    conditionStateLock.lock();
+    try {
+      super.updateConditionState(event);
+    } finally {
+      conditionStateLock.unlock();
+    }
+  }
+
   @Override
   public void connecting(XI5250EmulatorEvent event) {
   }
@@ -64,10 +79,4 @@ public abstract class Tn5250ConditionWaiter<T extends WaitCondition> extends
   @Override
   public void dataSended(XI5250EmulatorEvent event) {
   }
-
-  @Override
-  public void stop() {
-    super.stop();
-    client.removeEmulatorListener(this);
-  }
 }
@@ -17,7 +17,7 @@ public class UnlockListener extends Tn5250ConditionWaiter<SyncWaitCondition> {
   }
 
   @Override
-  public synchronized void stateChanged(XI5250EmulatorEvent event) {
+  public void stateChanged(XI5250EmulatorEvent event) {
     updateConditionState(event.toString());
   }
 
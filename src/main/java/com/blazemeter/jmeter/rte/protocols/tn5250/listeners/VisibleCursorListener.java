@@ -18,7 +18,7 @@ public class VisibleCursorListener extends Tn5250ConditionWaiter<CursorWaitCondi
   }
 
   @Override
-  public synchronized void stateChanged(XI5250EmulatorEvent event) {
+  public void stateChanged(XI5250EmulatorEvent event) {
     updateConditionState(event.toString());
   }
 
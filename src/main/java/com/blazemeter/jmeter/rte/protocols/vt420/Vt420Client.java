@@ -6,28 +6,32 @@ import com.blazemeter.jmeter.rte.core.CharacterBasedProtocolClient;
 import com.blazemeter.jmeter.rte.core.Input;
 import com.blazemeter.jmeter.rte.core.NavigationInput;
 import com.blazemeter.jmeter.rte.core.Position;
+import com.blazemeter.jmeter.rte.core.Protocol;
 import com.blazemeter.jmeter.rte.core.Screen;
 import com.blazemeter.jmeter.rte.core.TerminalType;
 import com.blazemeter.jmeter.rte.core.exceptions.RteIOException;
 import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.listener.TerminalStateListener;
 import com.blazemeter.jmeter.rte.core.ssl.SSLType;
-import com.blazemeter.jmeter.rte.core.wait.ConditionWaiter;
 import com.blazemeter.jmeter.rte.core.wait.ConnectionEndWaiter;
 import com.blazemeter.jmeter.rte.core.wait.CursorWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.DisconnectWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.ScreenWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.SilentWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.StableTimeoutScheduler;
 import com.blazemeter.jmeter.rte.core.wait.SyncWaitCondition;
-import com.blazemeter.jmeter.rte.core.wait.TextWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.WaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.WaitEngine;
 import com.blazemeter.jmeter.rte.protocols.vt420.listeners.DisconnectListener;
 import com.blazemeter.jmeter.rte.protocols.vt420.listeners.ScreenTextListener;
 import com.blazemeter.jmeter.rte.protocols.vt420.listeners.SilenceListener;
 import com.blazemeter.jmeter.rte.protocols.vt420.listeners.UnlockListener;
 import com.blazemeter.jmeter.rte.protocols.vt420.listeners.VisibleCursorListener;
+import com.blazemeter.jmeter.rte.protocols.vt420.listeners.Vt420ConditionWaiter;
 import com.blazemeter.jmeter.rte.protocols.vt420.listeners.Vt420TerminalStateListenerProxy;
 import com.blazemeter.jmeter.rte.sampler.NavigationType;
 import com.blazemeter.jmeter.rte.sampler.RTESampler;
+import com.helger.commons.annotation.VisibleForTesting;
 import java.awt.Dimension;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -37,9 +41,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -59,6 +64,19 @@ public class Vt420Client extends BaseProtocolClient implements CharacterBasedPro
   private TerminalClient client;
   private Map<TerminalStateListener, Vt420TerminalStateListenerProxy> listeners =
       new ConcurrentHashMap<>();
+  private final List<ScreenChangeListener> screenChangeListeners = new CopyOnWriteArrayList<>();
+  private final WaitEngine<Vt420ConditionWaiter<?>> waitEngine =
+      new WaitEngine<>(this::buildWaiter);
+
+  public Vt420Client() {
+  }
+
+  @VisibleForTesting
+  protected Vt420Client(TerminalClient client, ExceptionHandler exceptionHandler) {
+    this.client = client;
+    this.exceptionHandler = exceptionHandler;
+    addScreenEventsDispatcher();
+  }
 
   private static EnumMap<NavigationType, String> buildNavigationKeysMapping() {
     return new EnumMap<NavigationType, String>(NavigationType.class) {
@@ -130,21 +148,35 @@ public class Vt420Client extends BaseProtocolClient implements CharacterBasedPro
         .collect(Collectors.toList());
   }
 
-  private void sendCharacterByOneAtATime(List<String> text, long timeout) {
-    Semaphore semaphore = new Semaphore(0);
-    ScreenChangeListener listener = s -> semaphore.release();
-    client.addScreenChangeListener(listener);
+  /*
+  Up to the configured window size of characters are sent without waiting for the server to echo
+  them, and more characters are sent (in a single write) as soon as echoes of previous ones are
+  received. This avoids a round trip per character while not flooding hosts which drop fast input.
+   */
+  private void sendCharacters(List<String> text, long timeout) {
+    int windowSize = Math.max(1, RTESampler.getCharacterWindowSize());
+    EchoTracker echoTracker = new EchoTracker(text);
+    client.addScreenChangeListener(echoTracker);
     try {
-      for (String character : text) {
-        client.sendTextByCurrentCursorPosition(character);
-        if (!semaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+      int sentCount = 0;
+      while (echoTracker.echoedCount < text.size()) {
+        int windowEnd = Math.min(echoTracker.echoedCount + windowSize, text.size());
+        if (sentCount < windowEnd) {
+          client.sendTextByCurrentCursorPosition(
+              String.join("", text.subList(sentCount, windowEnd)));
+          sentCount = windowEnd;
+        }
+        if (!echoTracker.awaitScreenChange(sentCount, timeout)) {
+          String characters = String.join("", text.subList(echoTracker.echoedCount, sentCount));
           exceptionHandler.setPendingError(
               new TimeoutException(
                   "No server response after waiting '" + timeout + "' milliseconds when sending "
-                      + "'" + character + "' character of '" + text + "'."));
+                      + "'" + characters + "' " + (characters.length() > 1 ? "characters"
+                      : "character") + " of '" + text + "'."));
           LOG.warn("If you consider that the character timeout is too low "
               + "you can change the value by adding the line `RTEConnectionConfig"
               + ".characterTimeoutMillis=<time_in_millis>` in the jmeter.properties file.");
+          break;
         }
       }
     } catch (IOException e) {
@@ -154,7 +186,84 @@ public class Vt420Client extends BaseProtocolClient implements CharacterBasedPro
       exceptionHandler.setPendingError(ex);
       Thread.currentThread().interrupt();
     }
-    client.removeScreenChangeListener(listener);
+    client.removeScreenChangeListener(echoTracker);
+  }
+
+  /*
+  Cursor position and screen are taken on each screen change, to compare each change with the
+  previous one, even when the sending thread handles them later.
+
+  Hosts may echo several characters in one screen change, so when the first pending character is
+  a printable one, the echoed characters are computed from the cursor advance (up to the number of
+  consecutive pending printable characters). When the cursor does not move (e.g.: in fields which
+  don't display their content, or when a menu option is selected) or pending character is a
+  control character or escape sequence (like navigation keys, which move the cursor anywhere), a
+  change in the screen is taken as the echo of one character.
+   */
+  private class EchoTracker implements ScreenChangeListener {
+
+    private final List<String> text;
+    private final BlockingQueue<ScreenState> screenChanges = new LinkedBlockingQueue<>();
+    private int echoedCount;
+    private ScreenState lastScreenState;
+
+    private EchoTracker(List<String> text) {
+      this.text = text;
+      lastScreenState = new ScreenState();
+    }
+
+    @Override
+    public void screenChanged(String screen) {
+      screenChanges.add(new ScreenState());
+    }
+
+    private boolean awaitScreenChange(int sentCount, long timeoutMillis)
+        throws InterruptedException {
+      ScreenState screenState = screenChanges.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+      if (screenState == null) {
+        return false;
+      }
+      int printableCount = countPrintableCharacters(sentCount);
+      if (printableCount > 0 && lastScreenState.cursorPosition >= 0
+          && screenState.cursorPosition >= 0
+          && screenState.cursorPosition != lastScreenState.cursorPosition) {
+        Dimension screenSize = client.getScreenSize();
+        int advance = Math.floorMod(screenState.cursorPosition - lastScreenState.cursorPosition,
+            screenSize.width * screenSize.height);
+        echoedCount += Math.min(advance, printableCount);
+      } else if (echoedCount < sentCount && (screenState.cursorPosition
+          != lastScreenState.cursorPosition || !screenState.screen
+          .equals(lastScreenState.screen))) {
+        echoedCount++;
+      }
+      lastScreenState = screenState;
+      return true;
+    }
+
+    private int countPrintableCharacters(int sentCount) {
+      int ret = 0;
+      while (echoedCount + ret < sentCount && isPrintable(text.get(echoedCount + ret))) {
+        ret++;
+      }
+      return ret;
+    }
+
+    private boolean isPrintable(String character) {
+      return character.length() == 1 && !Character.isISOControl(character.charAt(0));
+    }
+
+  }
+
+  private class ScreenState {
+
+    private final int cursorPosition = getLinealCursorPosition();
+    private final String screen = client.getScreen();
+
+  }
+
+  private int getLinealCursorPosition() {
+    int width = client.getScreenSize().width;
+    return client.getCursorPosition().map(p -> p.y * width + p.x).orElse(-1);
   }
 
   private void processArrowKey(long echoTimeoutMillis, NavigationInput navigationInput) {
@@ -162,7 +271,7 @@ public class Vt420Client extends BaseProtocolClient implements CharacterBasedPro
     IntStream.range(0, navigationInput.getRepeat())
         .forEach(e -> input.add(NAVIGATION_KEYS.get(navigationInput.getNavigationType())));
     input.addAll(textToList(navigationInput.getInput()));
-    sendCharacterByOneAtATime(input, echoTimeoutMillis);
+    sendCharacters(input, echoTimeoutMillis);
   }
 
   protected void sendAttentionKey(AttentionKey attentionKey) {
@@ -179,12 +288,16 @@ public class Vt420Client extends BaseProtocolClient implements CharacterBasedPro
   }
 
   @Override
-  protected ConditionWaiter<?> buildWaiter(WaitCondition waitCondition) {
+  protected WaitEngine<?> getWaitEngine() {
+    return waitEngine;
+  }
+
+  private Vt420ConditionWaiter<?> buildWaiter(WaitCondition waitCondition) {
     if (waitCondition instanceof SyncWaitCondition) {
       return new UnlockListener((SyncWaitCondition) waitCondition, this, stableTimeoutExecutor,
           exceptionHandler);
-    } else if (waitCondition instanceof TextWaitCondition) {
-      return new ScreenTextListener((TextWaitCondition) waitCondition, this,
+    } else if (waitCondition instanceof ScreenWaitCondition) {
+      return new ScreenTextListener((ScreenWaitCondition) waitCondition, this,
           stableTimeoutExecutor,
           exceptionHandler);
     } else if (waitCondition instanceof SilentWaitCondition) {
@@ -205,7 +318,6 @@ public class Vt420Client extends BaseProtocolClient implements CharacterBasedPro
   @Override
   protected void doDisconnect() {
     try {
-      stableTimeoutExecutor.shutdownNow();
       stableTimeoutExecutor = null;
       client.disconnect();
     } catch (IOException e) {
@@ -223,7 +335,7 @@ public class Vt420Client extends BaseProtocolClient implements CharacterBasedPro
   public void connect(String server, int port, SSLType sslType, TerminalType terminalType,
       long timeoutMillis) throws RteIOException {
     client = new TerminalClient(terminalType.getScreenSize(), terminalType.getId());
-    stableTimeoutExecutor = Executors.newSingleThreadScheduledExecutor(NAMED_THREAD_FACTORY);
+    stableTimeoutExecutor = StableTimeoutScheduler.getInstance();
     exceptionHandler = new ExceptionHandler(server);
     client.setSocketFactory(getSocketFactory(sslType, server));
     ConnectionEndWaiter connectionEndWaiter = new ConnectionEndWaiter(timeoutMillis);
@@ -236,6 +348,7 @@ public class Vt420Client extends BaseProtocolClient implements CharacterBasedPro
       @Override
       public void onConnectionClosed() {
         handleServerDisconnection();
+        waitEngine.dispatch(Vt420ConditionWaiter::onConnectionClosed);
       }
 
       @Override
@@ -243,14 +356,15 @@ public class Vt420Client extends BaseProtocolClient implements CharacterBasedPro
         connectionEndWaiter.stop();
       }
     });
-    listeners.forEach((stateListener, listenerProxy) -> client
-        .addScreenChangeListener(listeners.get(stateListener)));
+    addScreenEventsDispatcher();
 
+    boolean connected = false;
     try {
       client.connect(server, port, (int) timeoutMillis);
       connectionEndWaiter.await();
     } catch (ConnectionException e) {
       LOG.error("Connection error: ", e);
+      registerConnectionEnd(false);
       throw new RteIOException(new Throwable("Connection error"), server);
     } catch (InterruptedException e) {
       exceptionHandler.setPendingError(e);
@@ -260,7 +374,31 @@ public class Vt420Client extends BaseProtocolClient implements CharacterBasedPro
       LOG.error("Timeout connection exceeded ", e);
     }
 
-    exceptionHandler.throwAnyPendingError();
+    try {
+      exceptionHandler.throwAnyPendingError();
+      connected = true;
+    } finally {
+      registerConnectionEnd(connected);
+    }
+  }
+
+  @Override
+  protected Protocol getProtocol() {
+    return Protocol.VT420;
+  }
+
+  /*
+  Only this listener is registered in the emulator for screen changes, which invalidates the
+  cached screen before notifying the wait engine and the rest of listeners, so they never get a
+  stale screen.
+   */
+  private void addScreenEventsDispatcher() {
+    invalidateScreen();
+    client.addScreenChangeListener(screen -> {
+      invalidateScreen();
+      waitEngine.dispatch(w -> w.screenChanged(screen));
+      screenChangeListeners.forEach(l -> l.screenChanged(screen));
+    });
   }
 
   @Override
@@ -268,21 +406,19 @@ public class Vt420Client extends BaseProtocolClient implements CharacterBasedPro
     Vt420TerminalStateListenerProxy listenerProxy = new Vt420TerminalStateListenerProxy(
         terminalStateListener);
     listeners.put(terminalStateListener, listenerProxy);
-    if (client != null) {
-      client.addScreenChangeListener(listenerProxy);
-    }
+    addScreenChangeListener(listenerProxy);
   }
 
   @Override
   public void removeTerminalStateListener(TerminalStateListener terminalStateListener) {
     Vt420TerminalStateListenerProxy listenerProxy = listeners.remove(terminalStateListener);
-    if (client != null) {
-      client.removeScreenChangeListener(listenerProxy);
+    if (listenerProxy != null) {
+      removeScreenChangeListener(listenerProxy);
     }
   }
 
   @Override
-  public Screen getScreen() {
+  protected Screen buildScreen() {
     return Screen.buildScreenFromText(client.getScreen(), client.getScreenSize());
   }
 
@@ -313,17 +449,17 @@ public class Vt420Client extends BaseProtocolClient implements CharacterBasedPro
 
   @Override
   public void addScreenChangeListener(ScreenChangeListener listener) {
-    client.addScreenChangeListener(listener);
+    screenChangeListeners.add(listener);
   }
 
   @Override
   public void removeScreenChangeListener(ScreenChangeListener listener) {
-    client.removeScreenChangeListener(listener);
+    screenChangeListeners.remove(listener);
   }
 
   @Override
   public void send(String character) {
-    sendCharacterByOneAtATime(Collections.singletonList(character),
+    sendCharacters(Collections.singletonList(character),
         RTESampler.getCharacterTimeout());
   }
 
@@ -4,10 +4,8 @@ import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.wait.DisconnectWaitCondition;
 import com.blazemeter.jmeter.rte.protocols.vt420.Vt420Client;
 import java.util.concurrent.ScheduledExecutorService;
-import nl.lxtreme.jvt220.terminal.ConnectionListener;
 
-public class DisconnectListener extends Vt420ConditionWaiter<DisconnectWaitCondition> implements
-    ConnectionListener {
+public class DisconnectListener extends Vt420ConditionWaiter<DisconnectWaitCondition> {
 
   private boolean disconnected;
 
@@ -16,7 +14,6 @@ public class DisconnectListener extends Vt420ConditionWaiter<DisconnectWaitCondi
       ScheduledExecutorService stableTimeoutExecutor,
       ExceptionHandler exceptionHandler) {
     super(condition, client, stableTimeoutExecutor, exceptionHandler);
-    client.addConnectionListener(this);
   }
 
   @Override
@@ -29,15 +26,4 @@ public class DisconnectListener extends Vt420ConditionWaiter<DisconnectWaitCondi
     disconnected = true;
     updateConditionState("Disconnect");
   }
-
-  @Override
-  public void stop() {
-    super.stop();
-    client.removeConnectionListener(this);
-  }
-
-  @Override
-  public void onConnection() {
-
-  }
 }
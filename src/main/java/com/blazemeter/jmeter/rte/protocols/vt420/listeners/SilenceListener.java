@@ -4,17 +4,14 @@ import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.wait.SilentWaitCondition;
 import com.blazemeter.jmeter.rte.protocols.vt420.Vt420Client;
 import java.util.concurrent.ScheduledExecutorService;
-import nl.lxtreme.jvt220.terminal.ScreenChangeListener;
 
-public class SilenceListener extends Vt420ConditionWaiter<SilentWaitCondition> implements
-    ScreenChangeListener {
+public class SilenceListener extends Vt420ConditionWaiter<SilentWaitCondition> {
 
   public SilenceListener(SilentWaitCondition condition,
       Vt420Client client,
       ScheduledExecutorService stableTimeoutExecutor,
       ExceptionHandler exceptionHandler) {
     super(condition, client, stableTimeoutExecutor, exceptionHandler);
-    client.addScreenChangeListener(this);
   }
 
   @Override
@@ -29,12 +26,6 @@ public class SilenceListener extends Vt420ConditionWaiter<SilentWaitCondition> i
     updateConditionState(SCREEN_CHANGED);
   }
 
-  @Override
-  public void stop() {
-    super.stop();
-    client.removeScreenChangeListener(this);
-  }
-
   @Override
   protected boolean getCurrentConditionState() {
     return true;
@@ -5,8 +5,14 @@ import com.blazemeter.jmeter.rte.core.wait.ConditionWaiter;
 import com.blazemeter.jmeter.rte.core.wait.WaitCondition;
 import com.blazemeter.jmeter.rte.protocols.vt420.Vt420Client;
 import java.util.concurrent.ScheduledExecutorService;
+import nl.lxtreme.jvt220.terminal.ScreenChangeListener;
 
-public abstract class Vt420ConditionWaiter<T extends WaitCondition> extends ConditionWaiter<T> {
+/**
+ * A {@link ConditionWaiter} which gets the events of a {@link Vt420Client} from the client wait
+ * engine, and only handles the ones which may change its condition.
+ */
+public abstract class Vt420ConditionWaiter<T extends WaitCondition> extends ConditionWaiter<T>
+    implements ScreenChangeListener {
 
   protected static final String SCREEN_CHANGED = "screenChanged";
   protected final Vt420Client client;
@@ -18,4 +24,11 @@ public abstract class Vt420ConditionWaiter<T extends WaitCondition> extends Cond
     this.client = client;
     initialVerificationOfCondition();
   }
+
+  @Override
+  public void screenChanged(String screen) {
+  }
+
+  public void onConnectionClosed() {
+  }
 }
@@ -8,6 +8,7 @@ import com.blazemeter.jmeter.rte.core.Protocol;
 import com.blazemeter.jmeter.rte.core.RteProtocolClient;
 import com.blazemeter.jmeter.rte.core.RteSampleResultBuilder;
 import com.blazemeter.jmeter.rte.core.Screen;
+import com.blazemeter.jmeter.rte.core.ScreenRegistry;
 import com.blazemeter.jmeter.rte.core.ServerDisconnectHandler;
 import com.blazemeter.jmeter.rte.core.TerminalType;
 import com.blazemeter.jmeter.rte.core.exceptions.RteIOException;
@@ -15,6 +16,7 @@ import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.listener.RequestListener;
 import com.blazemeter.jmeter.rte.core.listener.TerminalStateListener;
 import com.blazemeter.jmeter.rte.core.ssl.SSLType;
+import com.blazemeter.jmeter.rte.core.wait.StableTimeoutScheduler;
 import com.blazemeter.jmeter.rte.recorder.emulator.CharacterBasedEmulator;
 import com.blazemeter.jmeter.rte.recorder.emulator.FieldBasedEmulator;
 import com.blazemeter.jmeter.rte.recorder.emulator.TerminalEmulator;
@@ -22,6 +24,7 @@ import com.blazemeter.jmeter.rte.recorder.emulator.TerminalEmulatorListener;
 import com.blazemeter.jmeter.rte.recorder.emulator.Xtn5250TerminalEmulator;
 import com.blazemeter.jmeter.rte.recorder.wait.WaitConditionsRecorder;
 import com.blazemeter.jmeter.rte.sampler.Action;
+import com.blazemeter.jmeter.rte.sampler.RTEConnectionConfig;
 import com.blazemeter.jmeter.rte.sampler.RTESampler;
 import com.blazemeter.jmeter.rte.sampler.gui.RTEConfigGui;
 import com.blazemeter.jmeter.rte.sampler.gui.RTESamplerGui;
@@ -273,7 +276,7 @@ public class RTERecorder extends GenericController implements TerminalEmulatorLi
   }
 
   private ConfigTestElement buildRteConfigElement() {
-    ConfigTestElement configTestElement = new ConfigTestElement();
+    ConfigTestElement configTestElement = new RTEConnectionConfig();
     configTestElement.setName("bzm-RTE-config");
     configTestElement.setProperty(TestElement.GUI_CLASS, RTEConfigGui.class.getName());
     configTestElement.setProperty(RTESampler.CONFIG_PORT, String.valueOf(getPort()));
@@ -400,6 +403,10 @@ public class RTERecorder extends GenericController implements TerminalEmulatorLi
   @Override
   public void onAttentionKey(AttentionKey attentionKey, List<Input> inputs, String screenName) {
     sampleCount++;
+    // the name given by the user identifies the screen where inputs are sent
+    if (screenName != null && !screenName.isEmpty()) {
+      ScreenRegistry.getInstance().register(screenName, terminalClient.getScreen());
+    }
     recordPendingSample();
     requestListener.stop();
     terminalClient.resetAlarm();
@@ -492,7 +499,9 @@ public class RTERecorder extends GenericController implements TerminalEmulatorLi
         }
         terminalClient.removeTerminalStateListener(this);
         notifyChildren(TestStateListener.class, TestStateListener::testEnded);
+        ScreenRegistry.getInstance().save();
         terminalClient = null;
+        StableTimeoutScheduler.shutdownInstance();
       }
     }
   }
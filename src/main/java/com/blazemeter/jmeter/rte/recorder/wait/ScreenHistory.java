@@ -0,0 +1,115 @@
+package com.blazemeter.jmeter.rte.recorder.wait;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.BiConsumer;
+
+/*
+Bounded history of screen texts, where only the oldest text is kept complete and the rest are kept
+as the difference with the previous one, since consecutive screens usually share most of their
+text (e.g.: a clock or a progress indicator is updated).
+
+When the history is full, the oldest screen is discarded and the next one becomes the new complete
+text.
+ */
+class ScreenHistory {
+
+  private final int maxSize;
+  private final Deque<Entry> entries = new ArrayDeque<>();
+  private String firstText;
+  private String lastText;
+
+  ScreenHistory(int maxSize) {
+    this.maxSize = Math.max(1, maxSize);
+  }
+
+  public void add(String text, Instant timestamp) {
+    if (entries.isEmpty()) {
+      firstText = text;
+      entries.add(new Entry(null, timestamp));
+    } else {
+      entries.add(new Entry(TextDelta.between(lastText, text), timestamp));
+      if (entries.size() > maxSize) {
+        removeFirst();
+      }
+    }
+    lastText = text;
+  }
+
+  private void removeFirst() {
+    entries.removeFirst();
+    Entry newFirst = entries.removeFirst();
+    firstText = newFirst.delta.applyTo(firstText);
+    entries.addFirst(new Entry(null, newFirst.timestamp));
+  }
+
+  public void forEach(BiConsumer<String, Instant> consumer) {
+    String text = firstText;
+    for (Entry entry : entries) {
+      if (entry.delta != null) {
+        text = entry.delta.applyTo(text);
+      }
+      consumer.accept(text, entry.timestamp);
+    }
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public void clear() {
+    entries.clear();
+    firstText = null;
+    lastText = null;
+  }
+
+  private static class Entry {
+
+    private final TextDelta delta;
+    private final Instant timestamp;
+
+    private Entry(TextDelta delta, Instant timestamp) {
+      this.delta = delta;
+      this.timestamp = timestamp;
+    }
+
+  }
+
+  /*
+  Replacement of the text between the common prefix and the common suffix of two texts.
+   */
+  private static class TextDelta {
+
+    private final int start;
+    private final int end;
+    private final String replacement;
+
+    private TextDelta(int start, int end, String replacement) {
+      this.start = start;
+      this.end = end;
+      this.replacement = replacement;
+    }
+
+    private static TextDelta between(String previous, String current) {
+      int maxCommon = Math.min(previous.length(), current.length());
+      int prefix = 0;
+      while (prefix < maxCommon && previous.charAt(prefix) == current.charAt(prefix)) {
+        prefix++;
+      }
+      int suffix = 0;
+      while (suffix < maxCommon - prefix && previous.charAt(previous.length() - 1 - suffix)
+          == current.charAt(current.length() - 1 - suffix)) {
+        suffix++;
+      }
+      return new TextDelta(prefix, previous.length() - suffix,
+          current.substring(prefix, current.length() - suffix));
+    }
+
+    private String applyTo(String previous) {
+      return previous.substring(0, start) + replacement + previous.substring(end);
+    }
+
+  }
+
+}
@@ -10,10 +10,7 @@ import java.awt.Dimension;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -24,9 +21,14 @@ import org.apache.oro.text.regex.Perl5Compiler;
 
 public class TextWaitRecorder extends WaitConditionRecorder {
 
-  private Deque<Screenshot> screenshots = new ArrayDeque<>();
+  private static final String MAX_SCREENS_PROPERTY = "RTERecorder.textWaitMaxScreens";
+  private static final int DEFAULT_MAX_SCREENS = 1000;
+
+  private final ScreenHistory screens = new ScreenHistory(
+      JMeterUtils.getPropDefault(MAX_SCREENS_PROPERTY, DEFAULT_MAX_SCREENS));
+  private Screen lastScreen;
   private String regex;
-  private Instant timestampWaitForText = null;
+  private TextPeriodsTracker textPeriodsTracker;
   private long stableTimeoutMillis;
 
   public TextWaitRecorder(RteProtocolClient rteProtocolClient, long timeoutThresholdMillis,
@@ -43,11 +45,21 @@ public class TextWaitRecorder extends WaitConditionRecorder {
     this.stableTimeoutMillis = stablePeriodMillis;
   }
 
+  /*
+  Once the wait for text condition is set, screens are no longer kept, and are only used to
+  update the last text period (if the text was still in screen when the condition was set).
+   */
   @Override
   public synchronized void onTerminalStateChange() {
     Screen screen = rteProtocolClient.getScreen();
-    if (screenshots.isEmpty() || !screenshots.getLast().screen.equals(screen)) {
-      screenshots.add(new Screenshot(screen, clock.instant()));
+    if (screen.equals(lastScreen)) {
+      return;
+    }
+    lastScreen = screen;
+    if (textPeriodsTracker != null) {
+      textPeriodsTracker.accept(screen.getText(), clock.instant());
+    } else {
+      screens.add(screen.getText(), clock.instant());
     }
   }
 
@@ -60,7 +72,7 @@ public class TextWaitRecorder extends WaitConditionRecorder {
 
     PatternMatcher matcher = JMeterUtils.getMatcher();
     Pattern pattern = JMeterUtils.getPattern(regex);
-    List<ScreenTextPeriod> screenTextStablePeriods = buildScreenTextStablePeriods(matcher, pattern);
+    List<ScreenTextPeriod> screenTextStablePeriods = buildScreenTextStablePeriods();
 
     long timeout = ChronoUnit.MILLIS.between(startTime,
         screenTextStablePeriods.get(screenTextStablePeriods.size() - 1).timestamp);
@@ -96,9 +108,8 @@ public class TextWaitRecorder extends WaitConditionRecorder {
         .getAsLong();
   }
 
-  private List<ScreenTextPeriod> buildScreenTextStablePeriods(PatternMatcher matcher,
-      Pattern pattern) {
-    List<ScreenTextPeriod> textPeriods = getTextPeriods(matcher, pattern);
+  private List<ScreenTextPeriod> buildScreenTextStablePeriods() {
+    List<ScreenTextPeriod> textPeriods = getTextPeriods();
     List<ScreenTextPeriod> screenTextStablePeriod = textPeriods.stream()
         .filter(e -> e.periodMillis >= stableTimeoutMillis)
         .collect(Collectors.toList());
@@ -111,60 +122,88 @@ public class TextWaitRecorder extends WaitConditionRecorder {
     return screenTextStablePeriod;
   }
 
-  private synchronized List<ScreenTextPeriod> getTextPeriods(PatternMatcher matcher,
-      Pattern pattern) {
-    List<ScreenTextPeriod> textPeriods = new ArrayList<>();
-    Iterator<Screenshot> it = screenshots.iterator();
-    while (it.hasNext()) {
-      Screenshot current = it.next();
-      if (!current.timestamp.isBefore(timestampWaitForText)) {
-        return textPeriods;
-      }
-      if (matcher.contains(current.screen.getText(), pattern)) {
-        Screenshot next = current;
-        while (it.hasNext() && matcher.contains(next.screen.getText(), pattern)) {
-          next = it.next();
-        }
-        textPeriods.add(new ScreenTextPeriod(current.timestamp,
-            ChronoUnit.MILLIS.between(current.timestamp, next.timestamp)));
-      }
-    }
-    return textPeriods;
+  private synchronized List<ScreenTextPeriod> getTextPeriods() {
+    return textPeriodsTracker.getTextPeriods();
   }
 
-  public void start() {
+  public synchronized void start() {
     super.start();
-    screenshots.clear();
+    screens.clear();
+    lastScreen = null;
     regex = null;
-    timestampWaitForText = null;
+    textPeriodsTracker = null;
   }
 
-  public void setWaitForTextCondition(String text) {
+  /*
+  Text periods are evaluated once for the kept screens, and then updated with each new screen,
+  avoiding evaluating the regex again for all screens when the recorder is stopped.
+   */
+  public synchronized void setWaitForTextCondition(String text) {
     regex = Perl5Compiler.quotemeta(text).replace("\\\n", ".*\\n.*");
-    timestampWaitForText = clock.instant();
+    textPeriodsTracker = new TextPeriodsTracker(JMeterUtils.getPattern(regex),
+        clock.instant());
+    screens.forEach(textPeriodsTracker::accept);
+    screens.clear();
   }
 
-  private static class ScreenTextPeriod {
+  /*
+  Keeps the periods of time the text has been in screen, considering only the ones started before
+  the wait for text condition was set.
+   */
+  private static class TextPeriodsTracker {
+
+    private final PatternMatcher matcher = JMeterUtils.getMatcher();
+    private final Pattern pattern;
+    private final Instant conditionTimestamp;
+    private final List<ScreenTextPeriod> textPeriods = new ArrayList<>();
+    private Instant periodStart;
+    private Instant lastMatchTimestamp;
+
+    private TextPeriodsTracker(Pattern pattern, Instant conditionTimestamp) {
+      this.pattern = pattern;
+      this.conditionTimestamp = conditionTimestamp;
+    }
 
-    private Instant timestamp;
-    private long periodMillis;
+    private void accept(String screenText, Instant timestamp) {
+      if (periodStart == null && !timestamp.isBefore(conditionTimestamp)) {
+        return;
+      }
+      boolean matches = matcher.contains(screenText, pattern);
+      if (periodStart == null) {
+        if (matches) {
+          periodStart = timestamp;
+          lastMatchTimestamp = timestamp;
+        }
+      } else if (matches) {
+        lastMatchTimestamp = timestamp;
+      } else {
+        textPeriods.add(new ScreenTextPeriod(periodStart,
+            ChronoUnit.MILLIS.between(periodStart, timestamp)));
+        periodStart = null;
+      }
+    }
 
-    private ScreenTextPeriod(Instant timestamp, long periodMillis) {
-      this.timestamp = timestamp;
-      this.periodMillis = periodMillis;
+    private List<ScreenTextPeriod> getTextPeriods() {
+      List<ScreenTextPeriod> ret = new ArrayList<>(textPeriods);
+      if (periodStart != null) {
+        ret.add(new ScreenTextPeriod(periodStart,
+            ChronoUnit.MILLIS.between(periodStart, lastMatchTimestamp)));
+      }
+      return ret;
     }
 
   }
 
-  private static class Screenshot {
+  private static class ScreenTextPeriod {
 
-    private final Screen screen;
-    private final Instant timestamp;
+    private Instant timestamp;
+    private long periodMillis;
 
-    private Screenshot(Screen screen, Instant timestamp) {
-      this.screen = screen;
+    private ScreenTextPeriod(Instant timestamp, long periodMillis) {
       this.timestamp = timestamp;
+      this.periodMillis = periodMillis;
     }
 
   }
+
 }
@@ -0,0 +1,49 @@
+package com.blazemeter.jmeter.rte.sampler;
+
+import com.blazemeter.jmeter.rte.core.Protocol;
+import com.blazemeter.jmeter.rte.core.RteProtocolClient;
+import com.helger.commons.annotation.VisibleForTesting;
+import java.util.function.Function;
+import org.apache.jmeter.config.ConfigTestElement;
+import org.apache.jmeter.testelement.TestStateListener;
+
+/**
+ * RTE config element, which pre connects pooled sessions (check {@code
+ * RTESampler.preConnectSessions} property) when test starts, before thread groups start sampling.
+ */
+public class RTEConnectionConfig extends ConfigTestElement implements TestStateListener {
+
+  private static final long serialVersionUID = 4297381745329471640L;
+
+  private final transient Function<Protocol, RteProtocolClient> protocolFactory;
+
+  public RTEConnectionConfig() {
+    this(Protocol::createProtocolClient);
+  }
+
+  @VisibleForTesting
+  RTEConnectionConfig(Function<Protocol, RteProtocolClient> protocolFactory) {
+    this.protocolFactory = protocolFactory;
+  }
+
+  @Override
+  public void testStarted() {
+    RTESampler sampler = new RTESampler(protocolFactory);
+    sampler.addTestElement(this);
+    sampler.preConnect();
+  }
+
+  @Override
+  public void testStarted(String host) {
+    testStarted();
+  }
+
+  @Override
+  public void testEnded() {
+  }
+
+  @Override
+  public void testEnded(String host) {
+  }
+
+}
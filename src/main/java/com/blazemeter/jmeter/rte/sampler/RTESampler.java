@@ -7,30 +7,47 @@ import com.blazemeter.jmeter.rte.core.LabelInput;
 import com.blazemeter.jmeter.rte.core.NavigationInput;
 import com.blazemeter.jmeter.rte.core.Position;
 import com.blazemeter.jmeter.rte.core.Protocol;
+import com.blazemeter.jmeter.rte.core.RteMetrics;
 import com.blazemeter.jmeter.rte.core.RteProtocolClient;
 import com.blazemeter.jmeter.rte.core.RteSampleResultBuilder;
+import com.blazemeter.jmeter.rte.core.ScreenInterner;
+import com.blazemeter.jmeter.rte.core.ScreenRegistry;
 import com.blazemeter.jmeter.rte.core.ServerDisconnectHandler;
 import com.blazemeter.jmeter.rte.core.TerminalType;
 import com.blazemeter.jmeter.rte.core.exceptions.ConnectionClosedException;
+import com.blazemeter.jmeter.rte.core.exceptions.ErrorScreenException;
 import com.blazemeter.jmeter.rte.core.exceptions.RteIOException;
 import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
 import com.blazemeter.jmeter.rte.core.listener.RequestListener;
+import com.blazemeter.jmeter.rte.core.pool.RteConnectionPool;
+import com.blazemeter.jmeter.rte.core.pool.RteConnectionPool.PooledSession;
 import com.blazemeter.jmeter.rte.core.ssl.SSLType;
+import com.blazemeter.jmeter.rte.core.wait.AnyOfWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.Area;
 import com.blazemeter.jmeter.rte.core.wait.CursorWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.DisconnectWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.ErrorScreenWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.KnownScreenWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.ScreenWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.SilentWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.StablePeriodEstimator;
+import com.blazemeter.jmeter.rte.core.wait.StablePeriodEstimator.LearningSample;
+import com.blazemeter.jmeter.rte.core.wait.StableTimeoutScheduler;
 import com.blazemeter.jmeter.rte.core.wait.SyncWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.TextWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.WaitCondition;
 import com.helger.commons.annotation.VisibleForTesting;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import org.apache.jmeter.engine.event.LoopIterationEvent;
 import org.apache.jmeter.engine.event.LoopIterationListener;
@@ -38,8 +55,12 @@ import org.apache.jmeter.samplers.AbstractSampler;
 import org.apache.jmeter.samplers.Entry;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.testelement.TestElement;
+import org.apache.jmeter.testelement.TestStateListener;
 import org.apache.jmeter.testelement.ThreadListener;
+import org.apache.jmeter.testelement.property.FunctionProperty;
 import org.apache.jmeter.testelement.property.JMeterProperty;
+import org.apache.jmeter.testelement.property.MultiProperty;
+import org.apache.jmeter.testelement.property.PropertyIterator;
 import org.apache.jmeter.testelement.property.TestElementProperty;
 import org.apache.jmeter.threads.JMeterVariables;
 import org.apache.jmeter.util.JMeterUtils;
@@ -47,7 +68,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class RTESampler extends AbstractSampler implements ThreadListener,
-    LoopIterationListener {
+    LoopIterationListener, TestStateListener {
 
   public static final String CONFIG_PORT = "RTEConnectionConfig.port";
   public static final String CONFIG_SERVER = "RTEConnectionConfig.server";
@@ -82,12 +103,28 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
   protected static final long DEFAULT_WAIT_TEXT_TIMEOUT_MILLIS = 30000;
   @VisibleForTesting
   protected static final long DEFAULT_WAIT_CURSOR_TIMEOUT_MILLIS = 30000;
+  @VisibleForTesting
+  protected static final long DEFAULT_WAIT_SCREEN_TIMEOUT_MILLIS = 30000;
 
   //If users wants to change Stable Timeout value it should be specified in
   // jmeter.properties by adding a line like ths one:
   // "RTEConnectionConfig.stableTimeoutMillis=value"
   private static final String CONFIG_STABLE_TIMEOUT = "RTEConnectionConfig.stableTimeoutMillis";
   private static final String REUSE_CONNECTIONS_PROPERTY = "RTESampler.reuseConnections";
+  private static final String POOL_CONNECTIONS_PROPERTY = "RTESampler.poolConnections";
+  private static final String POOL_MAX_SIZE_PROPERTY = "RTESampler.poolMaxSize";
+  private static final String POOL_MAX_IDLE_PROPERTY = "RTESampler.poolMaxIdleMillis";
+  private static final String POOL_MAX_LIFETIME_PROPERTY = "RTESampler.poolMaxLifetimeMillis";
+  private static final String REUSED_SESSION_VARIABLE = "RTESampler.reusedSession";
+  private static final String PHASE_VARIABLES_PREFIX = "RTESampler.";
+  private static final String WAIT_TEXT_MATCH_VARIABLE = "RTESampler.waitTextMatch";
+  private static final List<String> PHASES = Arrays.asList(RteSampleResultBuilder.SEND_END_PHASE,
+      RteSampleResultBuilder.FIRST_RESPONSE_PHASE, RteSampleResultBuilder.KEYBOARD_UNLOCK_PHASE,
+      RteSampleResultBuilder.CONDITIONS_MET_PHASE, RteSampleResultBuilder.STABLE_PERIOD_END_PHASE);
+  private static final String PRE_CONNECT_SESSIONS_PROPERTY = "RTESampler.preConnectSessions";
+  private static final String PRE_CONNECT_CONCURRENCY_PROPERTY =
+      "RTESampler.preConnectConcurrency";
+  private static final String LAZY_RESPONSE_PROPERTY = "RTESampler.lazyResponse";
   private static final String ATTENTION_KEY_PROPERTY = "RTESampler.attentionKey";
   private static final String WAIT_SYNC_PROPERTY = "RTESampler.waitSync";
   private static final String WAIT_CURSOR_PROPERTY = "RTESampler.waitCursor";
@@ -99,23 +136,49 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
   private static final String WAIT_SILENT_TIMEOUT_PROPERTY = "RTESampler.waitSilentTimeout";
   private static final String WAIT_TEXT_PROPERTY = "RTESampler.waitText";
   private static final String WAIT_TEXT_REGEX_PROPERTY = "RTESampler.waitTextRegex";
+  private static final String WAIT_TEXT_ALTERNATIVES_PROPERTY = "RTESampler.waitTextAlternatives";
   private static final String WAIT_TEXT_AREA_TOP_PROPERTY = "RTESampler.waitTextAreaTop";
   private static final String WAIT_TEXT_AREA_LEFT_PROPERTY = "RTESampler.waitTextAreaLeft";
   private static final String WAIT_TEXT_AREA_BOTTOM_PROPERTY = "RTESampler.waitTextAreaBottom";
   private static final String WAIT_TEXT_AREA_RIGHT_PROPERTY = "RTESampler.waitTextAreaRight";
   private static final String WAIT_TEXT_TIMEOUT_PROPERTY = "RTESampler.waitTextTimeout";
+  private static final String WAIT_SCREEN_PROPERTY = "RTESampler.waitScreen";
+  private static final String WAIT_SCREEN_NAME_PROPERTY = "RTESampler.waitScreenName";
+  private static final String WAIT_SCREEN_TIMEOUT_PROPERTY = "RTESampler.waitScreenTimeout";
   private static final String CONFIG_CHARACTER_TIMEOUT = "RTEConnectionConfig"
       + ".characterTimeoutMillis";
+  private static final String CONFIG_CHARACTER_WINDOW_SIZE = "RTEConnectionConfig"
+      + ".characterWindowSize";
+  private static final String CONFIG_ADAPTIVE_STABLE_TIMEOUT = "RTEConnectionConfig"
+      + ".adaptiveStableTimeout";
+  private static final String CONFIG_ADAPTIVE_STABLE_TIMEOUT_RATE = "RTEConnectionConfig"
+      + ".adaptiveStableTimeoutPrematureEndRate";
   private static final String WAIT_DISCONNECT_PROPERTY = "RTESampler.waitDisconnect";
+  private static final String ABORT_TEXT_PROPERTY = "RTESampler.abortText";
+  private static final String ABORT_TEXT_REGEXES_PROPERTY = "RTESampler.abortTextRegexes";
   private static final String WAIT_DISCONNECT_TIMEOUT_PROPERTY = "RTESampler.waitDisconnectTimeout";
+  private static final String STABLE_PERIOD_ESTIMATOR_ID_PROPERTY =
+      "RTESampler.stablePeriodEstimatorId";
 
   private static final Logger LOG = LoggerFactory.getLogger(RTESampler.class);
   private static final long DEFAULT_CHARACTER_TIMEOUT_MILLIS = 60000;
+  private static final int DEFAULT_CHARACTER_WINDOW_SIZE = 8;
   private static final long DEFAULT_DISCONNECT_TIMEOUT_MILLIS = 10000;
+  private static final int DEFAULT_POOL_MAX_SIZE = 10;
+  private static final long DEFAULT_POOL_MAX_IDLE_MILLIS = 300000;
+  private static final long DEFAULT_POOL_MAX_LIFETIME_MILLIS = 0;
+  private static final int DEFAULT_PRE_CONNECT_CONCURRENCY = 10;
+  private static final double DEFAULT_ADAPTIVE_STABLE_TIMEOUT_RATE = 0.01;
   private static final ThreadLocal<Map<String, RteProtocolClient>> CONNECTIONS = ThreadLocal
       .withInitial(HashMap::new);
+  private static final ReentrantLock CONNECTION_POOL_LOCK = new ReentrantLock();
+  private static volatile RteConnectionPool connectionPool;
+  private static final Map<String, StablePeriodEstimator> STABLE_PERIOD_ESTIMATORS =
+      new ConcurrentHashMap<>();
 
   private final transient Function<Protocol, RteProtocolClient> protocolFactory;
+  private transient SamplerPlan plan;
+  private transient boolean modifiedWhileRunning;
 
   public RTESampler() {
     this(Protocol::createProtocolClient);
@@ -144,6 +207,36 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
     return getPropertyAsString(TestElement.NAME);
   }
 
+  /*
+  Any change to sampler properties invalidates the compiled plan. Changes done while running (eg:
+  by pre processors) are reverted by JMeter after each sample without notice, so in such case the
+  plan is no longer cached.
+   */
+  @Override
+  public void setProperty(JMeterProperty property) {
+    invalidatePlan();
+    super.setProperty(property);
+  }
+
+  @Override
+  public void removeProperty(String key) {
+    invalidatePlan();
+    super.removeProperty(key);
+  }
+
+  @Override
+  public void clear() {
+    invalidatePlan();
+    super.clear();
+  }
+
+  private void invalidatePlan() {
+    plan = null;
+    if (isRunningVersion()) {
+      modifiedWhileRunning = true;
+    }
+  }
+
   @Override
   public void setName(String name) {
     if (name != null) {
@@ -202,6 +295,47 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
     JMeterUtils.setProperty(REUSE_CONNECTIONS_PROPERTY, Boolean.toString(doReuse));
   }
 
+  private boolean isPoolConnections() {
+    return JMeterUtils.getPropDefault(POOL_CONNECTIONS_PROPERTY, false);
+  }
+
+  @VisibleForTesting
+  protected void setPoolConnections(boolean doPool) {
+    JMeterUtils.setProperty(POOL_CONNECTIONS_PROPERTY, Boolean.toString(doPool));
+  }
+
+  private static RteConnectionPool getConnectionPool() {
+    RteConnectionPool ret = connectionPool;
+    if (ret != null) {
+      return ret;
+    }
+    CONNECTION_POOL_LOCK.lock();
+    try {
+      if (connectionPool == null) {
+        connectionPool = new RteConnectionPool(
+            JMeterUtils.getPropDefault(POOL_MAX_SIZE_PROPERTY, DEFAULT_POOL_MAX_SIZE),
+            JMeterUtils.getPropDefault(POOL_MAX_IDLE_PROPERTY, DEFAULT_POOL_MAX_IDLE_MILLIS),
+            JMeterUtils.getPropDefault(POOL_MAX_LIFETIME_PROPERTY,
+                DEFAULT_POOL_MAX_LIFETIME_MILLIS));
+      }
+      return connectionPool;
+    } finally {
+      CONNECTION_POOL_LOCK.unlock();
+    }
+  }
+
+  private static void closeConnectionPool() {
+    CONNECTION_POOL_LOCK.lock();
+    try {
+      if (connectionPool != null) {
+        connectionPool.close();
+        connectionPool = null;
+      }
+    } finally {
+      CONNECTION_POOL_LOCK.unlock();
+    }
+  }
+
   private SSLType getSSLType() {
     return SSLType.valueOf(getPropertyAsString(CONFIG_SSL_TYPE));
   }
@@ -352,6 +486,28 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
     setProperty(WAIT_TEXT_REGEX_PROPERTY, regex);
   }
 
+  /**
+   * Gets alternative regular expressions (one per line) which end the text wait when any of them,
+   * or the main regular expression, is found in the search area.
+   */
+  public String getWaitTextAlternatives() {
+    return getPropertyAsString(WAIT_TEXT_ALTERNATIVES_PROPERTY);
+  }
+
+  public void setWaitTextAlternatives(String alternatives) {
+    setProperty(WAIT_TEXT_ALTERNATIVES_PROPERTY, alternatives, "");
+  }
+
+  private static List<String> splitLines(String text) {
+    List<String> ret = new ArrayList<>();
+    for (String line : text.split("\\R")) {
+      if (!line.isEmpty()) {
+        ret.add(line);
+      }
+    }
+    return ret;
+  }
+
   public String getWaitTextAreaTop() {
     return getPropertyAsString(WAIT_TEXT_AREA_TOP_PROPERTY, String.valueOf(1));
   }
@@ -413,6 +569,35 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
     return getLongProperty(WAIT_TEXT_TIMEOUT_PROPERTY, DEFAULT_WAIT_TEXT_TIMEOUT_MILLIS);
   }
 
+  public boolean getWaitScreen() {
+    return getPropertyAsBoolean(WAIT_SCREEN_PROPERTY, false);
+  }
+
+  public void setWaitScreen(boolean waitScreen) {
+    setProperty(WAIT_SCREEN_PROPERTY, waitScreen);
+  }
+
+  public String getWaitScreenName() {
+    return getPropertyAsString(WAIT_SCREEN_NAME_PROPERTY);
+  }
+
+  public void setWaitScreenName(String screenName) {
+    setProperty(WAIT_SCREEN_NAME_PROPERTY, screenName);
+  }
+
+  public String getWaitScreenTimeout() {
+    return getPropertyAsString(WAIT_SCREEN_TIMEOUT_PROPERTY,
+        String.valueOf(DEFAULT_WAIT_SCREEN_TIMEOUT_MILLIS));
+  }
+
+  public void setWaitScreenTimeout(String timeout) {
+    setProperty(WAIT_SCREEN_TIMEOUT_PROPERTY, timeout);
+  }
+
+  private long getWaitScreenTimeoutValue() {
+    return getLongProperty(WAIT_SCREEN_TIMEOUT_PROPERTY, DEFAULT_WAIT_SCREEN_TIMEOUT_MILLIS);
+  }
+
   public boolean getWaitDisconnect() {
     return getPropertyAsBoolean(WAIT_DISCONNECT_PROPERTY, false);
   }
@@ -430,6 +615,26 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
     setProperty(WAIT_DISCONNECT_TIMEOUT_PROPERTY, timeout);
   }
 
+  public boolean getAbortText() {
+    return getPropertyAsBoolean(ABORT_TEXT_PROPERTY, false);
+  }
+
+  public void setAbortText(boolean abortText) {
+    setProperty(ABORT_TEXT_PROPERTY, abortText);
+  }
+
+  /**
+   * Gets regular expressions (one per line) which fail the sample, as soon as any of them is found
+   * in the screen while waiting for conditions.
+   */
+  public String getAbortTextRegexes() {
+    return getPropertyAsString(ABORT_TEXT_REGEXES_PROPERTY);
+  }
+
+  public void setAbortTextRegexes(String regexes) {
+    setProperty(ABORT_TEXT_REGEXES_PROPERTY, regexes, "");
+  }
+
   public void setWaitConditions(List<WaitCondition> waitConditions) {
     setWaitSync(false);
     for (WaitCondition waitCondition : waitConditions) {
@@ -451,6 +656,10 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
       setWaitTextAreaBottom(String.valueOf(searchArea.getBottom()));
       setWaitTextAreaRight(String.valueOf(searchArea.getRight()));
       setWaitTextTimeout(String.valueOf(condition.getTimeoutMillis()));
+    } else if (condition instanceof KnownScreenWaitCondition) {
+      setWaitScreen(true);
+      setWaitScreenName(((KnownScreenWaitCondition) condition).getScreenName());
+      setWaitScreenTimeout(String.valueOf(condition.getTimeoutMillis()));
     } else if (condition instanceof CursorWaitCondition) {
       CursorWaitCondition cursorWait = (CursorWaitCondition) condition;
       setWaitCursor(true);
@@ -501,21 +710,31 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
   public SampleResult sample(Entry entry) {
     RteSampleResultBuilder resultBuilder = buildSampleResultBuilder();
     RteProtocolClient client = null;
+    SamplerPlan plan = null;
 
     try {
-      client = getClient();
-      configureWaitForDisconnect(client);
-      if (getAction() == Action.DISCONNECT) {
+      plan = getPlan();
+      client = getClient(plan);
+      configureWaitForDisconnect(client, plan);
+      if (plan.getAction() == Action.DISCONNECT) {
         if (client != null) {
-          disconnect(client);
+          disconnect(client, plan);
         }
         return resultBuilder.withSuccessResponse(null)
             .build();
       }
       if (client == null) {
-        client = buildClient();
+        boolean syncedSession = false;
+        if (isPoolConnections()) {
+          PooledSession session = borrowClient(plan);
+          client = session.getClient();
+          syncedSession = session.isReused() || session.isPreConnected();
+          configureWaitForDisconnect(client, plan);
+        } else {
+          client = buildClient(plan);
+        }
         resultBuilder.withConnectEndNow();
-        if (getAction() == Action.SEND_INPUT) {
+        if (plan.getAction() == Action.SEND_INPUT && !syncedSession) {
           client.await(Collections
               .singletonList(new SyncWaitCondition(getConnectionTimeout(), getStableTimeout())));
         }
@@ -525,20 +744,30 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
       client.addTerminalStateListener(requestListener);
 
       try {
-        if (getAction() == Action.SEND_INPUT) {
+        if (plan.getAction() == Action.SEND_INPUT) {
           resultBuilder.withInputInhibitedRequest(client.isInputInhibited().orElse(false))
-              .withAttentionKey(getAttentionKey())
-              .withInputs(getInputs());
-          client.send(getInputs(), getAttentionKey(), getCharacterTimeout());
+              .withAttentionKey(plan.getAttentionKey())
+              .withInputs(plan.getInputs());
+          client.send(plan.getInputs(), plan.getAttentionKey(), getCharacterTimeout());
+          resultBuilder.withSendEndNow();
         }
-        List<WaitCondition> waiters = getWaitersList();
-        if (!waiters.isEmpty()) {
-          client.await(waiters);
+        // avoids keeping a matched branch from previous samples when the wait fails
+        getThreadContext().getVariables().remove(WAIT_TEXT_MATCH_VARIABLE);
+        if (isAdaptiveStableTimeout()) {
+          awaitWithAdaptiveStableTimeout(client, plan, resultBuilder);
+        } else {
+          List<WaitCondition> waiters = plan.getWaitConditions();
+          if (!waiters.isEmpty()) {
+            resultBuilder.withConditionsMetTime(client.await(waiters))
+                .withStablePeriodEndNow();
+          }
         }
+        updateWaitTextMatchVariable(plan, client);
         resultBuilder.withSuccessResponse(client);
       } finally {
         client.resetAlarm();
         requestListener.stop();
+        updatePhaseVariables(resultBuilder.getPhaseTimes());
       }
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
@@ -546,9 +775,23 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
       return resultBuilder.withFailure(e)
           .build();
     } catch (TimeoutException e) {
+      ErrorScreenWaitCondition errorScreen = findErrorScreen(plan, client);
+      if (errorScreen != null) {
+        return resultBuilder.withErrorScreenFailure(
+            new ErrorScreenException("Found " + errorScreen.getDescription()), client)
+            .build();
+      }
       LOG.warn("Timeout error", e);
       return resultBuilder.withTimeoutFailure(e, client)
           .build();
+    } catch (RteIOException e) {
+      if (e.getCause() instanceof ErrorScreenException) {
+        return resultBuilder.withErrorScreenFailure((ErrorScreenException) e.getCause(), client)
+            .build();
+      }
+      LOG.error("Error while sampling the remote terminal", e);
+      return resultBuilder.withFailure(e)
+          .build();
     } catch (Exception e) {
       LOG.error("Error while sampling the remote terminal", e);
       return resultBuilder.withFailure(e)
@@ -557,17 +800,95 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
     return resultBuilder.build();
   }
 
-  private void configureWaitForDisconnect(RteProtocolClient client) {
-    if (client == null) {
+  /*
+  Error screens are checked when conditions are not met, since they are only detected on screen
+  changes while waiting, and the error screen may have arrived before the wait started.
+   */
+  private static ErrorScreenWaitCondition findErrorScreen(SamplerPlan plan,
+      RteProtocolClient client) {
+    if (plan == null || client == null) {
+      return null;
+    }
+    for (WaitCondition condition : plan.getWaitConditions()) {
+      if (condition instanceof ErrorScreenWaitCondition && ((ErrorScreenWaitCondition) condition)
+          .matchesScreen(client.getScreen())) {
+        return (ErrorScreenWaitCondition) condition;
+      }
+    }
+    return null;
+  }
+
+  /*
+  Only samples using the configured stable timeout are registered in the estimator, since
+  conditions which stop being met after a shortened stable period can't be observed.
+   */
+  private void awaitWithAdaptiveStableTimeout(RteProtocolClient client, SamplerPlan plan,
+      RteSampleResultBuilder resultBuilder)
+      throws InterruptedException, TimeoutException, RteIOException {
+    long configuredStableTimeout = plan.getStableTimeout();
+    StablePeriodEstimator estimator = STABLE_PERIOD_ESTIMATORS.computeIfAbsent(
+        getPropertyAsString(STABLE_PERIOD_ESTIMATOR_ID_PROPERTY),
+        k -> new StablePeriodEstimator(getAdaptiveStableTimeoutPrematureEndRate()));
+    long stableTimeout = estimator.nextStablePeriod(configuredStableTimeout);
+    boolean learning = stableTimeout == configuredStableTimeout;
+    List<WaitCondition> waiters = plan.getWaitConditions(stableTimeout);
+    if (waiters.isEmpty()) {
       return;
     }
-    boolean expectedDisconnection =
-        getWaitersList().stream().anyMatch(l -> l instanceof DisconnectWaitCondition);
+    LearningSample sample = learning ? new LearningSample() : null;
+    resultBuilder.withConditionsMetTime(client.await(waiters, sample))
+        .withStablePeriodEndNow();
+    // samples failing by timeout or errors are not registered since await throws an exception
+    if (learning) {
+      estimator.registerSample(sample);
+    }
+  }
+
+  /*
+  Variables of all phases are updated, to avoid keeping values from previous samples for phases
+  which didn't happen in current one.
+   */
+  private void updatePhaseVariables(Map<String, Long> phaseTimes) {
+    JMeterVariables vars = getThreadContext().getVariables();
+    for (String phase : PHASES) {
+      Long time = phaseTimes.get(phase);
+      if (time != null) {
+        vars.put(PHASE_VARIABLES_PREFIX + phase, String.valueOf(time));
+      } else {
+        vars.remove(PHASE_VARIABLES_PREFIX + phase);
+      }
+    }
+  }
+
+  /*
+  Branches are numbered from 1 (the main regex) and only the first one matching the final screen
+  is reported, since several of them may match it.
+   */
+  private void updateWaitTextMatchVariable(SamplerPlan plan, RteProtocolClient client) {
+    for (WaitCondition condition : plan.getWaitConditions()) {
+      if (condition instanceof AnyOfWaitCondition) {
+        int branch = ((AnyOfWaitCondition) condition).findMatchingBranch(client.getScreen());
+        if (branch >= 0) {
+          getThreadContext().getVariables()
+              .put(WAIT_TEXT_MATCH_VARIABLE, String.valueOf(branch + 1));
+        }
+        return;
+      }
+    }
+  }
 
+  private void configureWaitForDisconnect(RteProtocolClient client, SamplerPlan plan) {
+    if (client == null) {
+      return;
+    }
     ServerDisconnectHandler serverDisconnectHandler = new ServerDisconnectHandler(
-        expectedDisconnection) {
+        plan.isExpectedDisconnection()) {
       @Override
       public void onDisconnection(ExceptionHandler exceptionHandler) {
+        RteConnectionPool pool = connectionPool;
+        if (pool != null) {
+          pool.markBroken(client);
+        }
         if (!this.isExpectedDisconnection) {
           exceptionHandler.setPendingError(new ConnectionClosedException());
         }
@@ -585,8 +906,41 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
     JMeterUtils.setProperty(CONFIG_CHARACTER_TIMEOUT, "" + timeoutMillis);
   }
 
+  public static int getCharacterWindowSize() {
+    return JMeterUtils.getPropDefault(CONFIG_CHARACTER_WINDOW_SIZE,
+        DEFAULT_CHARACTER_WINDOW_SIZE);
+  }
+
+  @VisibleForTesting
+  public static void setCharacterWindowSize(int windowSize) {
+    JMeterUtils.setProperty(CONFIG_CHARACTER_WINDOW_SIZE, "" + windowSize);
+  }
+
+  public static boolean isAdaptiveStableTimeout() {
+    return JMeterUtils.getPropDefault(CONFIG_ADAPTIVE_STABLE_TIMEOUT, false);
+  }
+
+  @VisibleForTesting
+  public static void setAdaptiveStableTimeout(boolean adaptiveStableTimeout) {
+    JMeterUtils.setProperty(CONFIG_ADAPTIVE_STABLE_TIMEOUT, "" + adaptiveStableTimeout);
+  }
+
+  private static double getAdaptiveStableTimeoutPrematureEndRate() {
+    return Double.parseDouble(JMeterUtils.getPropDefault(CONFIG_ADAPTIVE_STABLE_TIMEOUT_RATE,
+        String.valueOf(DEFAULT_ADAPTIVE_STABLE_TIMEOUT_RATE)));
+  }
+
+  public static boolean isLazyResponse() {
+    return JMeterUtils.getPropDefault(LAZY_RESPONSE_PROPERTY, false);
+  }
+
+  @VisibleForTesting
+  public static void setLazyResponse(boolean lazyResponse) {
+    JMeterUtils.setProperty(LAZY_RESPONSE_PROPERTY, Boolean.toString(lazyResponse));
+  }
+
   private RteSampleResultBuilder buildSampleResultBuilder() {
-    return new RteSampleResultBuilder()
+    return new RteSampleResultBuilder(isLazyResponse())
         .withLabel(getName())
         .withServer(getServer())
         .withPort(getPort())
@@ -596,29 +950,108 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
         .withAction(getAction());
   }
 
-  private RteProtocolClient getClient() {
-    String clientId = buildConnectionId();
+  private RteProtocolClient getClient(SamplerPlan plan) {
     Map<String, RteProtocolClient> clients = CONNECTIONS.get();
-    return clients.get(clientId);
+    return clients.get(plan.getConnectionId());
   }
 
   private String buildConnectionId() {
     return getServer() + ":" + getPort();
   }
 
-  private void disconnect(RteProtocolClient client) throws RteIOException {
-    CONNECTIONS.get().remove(buildConnectionId());
-    client.disconnect();
+  private void disconnect(RteProtocolClient client, SamplerPlan plan) throws RteIOException {
+    CONNECTIONS.get().remove(plan.getConnectionId());
+    closeConnection(client);
   }
 
-  private RteProtocolClient buildClient()
+  private static void closeConnection(RteProtocolClient client) throws RteIOException {
+    RteConnectionPool pool = connectionPool;
+    if (pool == null || !pool.release(client)) {
+      client.disconnect();
+    }
+  }
+
+  private RteProtocolClient buildClient(SamplerPlan plan)
+      throws RteIOException, InterruptedException, TimeoutException {
+    RteProtocolClient client = connectClient();
+    CONNECTIONS.get().put(plan.getConnectionId(), client);
+    return client;
+  }
+
+  private RteProtocolClient connectClient()
       throws RteIOException, InterruptedException, TimeoutException {
     RteProtocolClient client = protocolFactory.apply(getProtocol());
     client.connect(getServer(), getPort(), getSSLType(), getTerminalType(), getConnectionTimeout());
-    CONNECTIONS.get().put(buildConnectionId(), client);
     return client;
   }
 
+  private PooledSession borrowClient(SamplerPlan plan)
+      throws RteIOException, InterruptedException, TimeoutException {
+    PooledSession session = getConnectionPool()
+        .borrow(plan.getPoolKey(), this::connectClient, getConnectionTimeout());
+    CONNECTIONS.get().put(plan.getConnectionId(), session.getClient());
+    getThreadContext().getVariables()
+        .put(REUSED_SESSION_VARIABLE, String.valueOf(session.isReused()));
+    return session;
+  }
+
+  /*
+  Pre connection is triggered by RTE config elements when test starts (before thread groups start
+  sampling), on a sampler configured with the config element values, since such values are only
+  merged into samplers while sampling. Pre connections are not samples of any thread, so they are
+  only logged.
+   */
+  void preConnect() {
+    int sessions = JMeterUtils.getPropDefault(PRE_CONNECT_SESSIONS_PROPERTY, 0);
+    if (sessions <= 0 || !isPoolConnections()) {
+      return;
+    }
+    String server = getServer();
+    int port = getPort();
+    String connectionId = buildConnectionId();
+    Protocol protocol = getProtocol();
+    TerminalType terminalType = getTerminalType();
+    SSLType sslType = getSSLType();
+    long connectionTimeout = getConnectionTimeout();
+    long stableTimeout = getStableTimeout();
+    try {
+      getConnectionPool().preConnect(buildPoolKey(), () -> {
+        long startTime = System.currentTimeMillis();
+        RteProtocolClient client = protocolFactory.apply(protocol);
+        try {
+          client.connect(server, port, sslType, terminalType, connectionTimeout);
+          long connectTime = System.currentTimeMillis() - startTime;
+          client.await(Collections
+              .singletonList(new SyncWaitCondition(connectionTimeout, stableTimeout)));
+          LOG.info("Pre connected session to {} in {} ms (synced in {} ms)", connectionId,
+              connectTime, System.currentTimeMillis() - startTime);
+          return client;
+        } catch (Exception e) {
+          // failures are logged by the pool
+          disconnectQuietly(client);
+          throw e;
+        }
+      }, sessions, JMeterUtils
+          .getPropDefault(PRE_CONNECT_CONCURRENCY_PROPERTY, DEFAULT_PRE_CONNECT_CONCURRENCY));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Pre connection of sessions has been interrupted", e);
+    }
+  }
+
+  private static void disconnectQuietly(RteProtocolClient client) {
+    try {
+      client.disconnect();
+    } catch (Exception e) {
+      LOG.debug("Problem while closing RTE connection", e);
+    }
+  }
+
+  private String buildPoolKey() {
+    return buildConnectionId() + ":" + getProtocol() + ":" + getTerminalType().getId() + ":"
+        + getSSLType();
+  }
+
   private List<Input> getInputs() {
     List<Input> inputs = new ArrayList<>();
     for (JMeterProperty p : getInputsTestElement()) {
@@ -640,41 +1073,121 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
     return (Inputs) getProperty(Inputs.INPUTS_PROPERTY).getObjectValue();
   }
 
-  private List<WaitCondition> getWaitersList() {
+  /*
+  Plan is compiled again when stable timeout changes, since it is a JMeter property which may be
+  changed between tests without modifying the sampler.
+   */
+  private SamplerPlan getPlan() {
+    SamplerPlan ret = plan;
+    long stableTimeout = getStableTimeout();
+    if (ret != null && ret.getStableTimeout() == stableTimeout) {
+      return ret;
+    }
+    ret = new SamplerPlan(getAction(), getAttentionKey(), getInputs(), stableTimeout,
+        this::getWaitersList, buildConnectionId(), buildPoolKey());
+    if (!modifiedWhileRunning && !hasFunctions(propertyIterator())) {
+      plan = ret;
+    }
+    return ret;
+  }
+
+  private static boolean hasFunctions(PropertyIterator properties) {
+    while (properties.hasNext()) {
+      JMeterProperty property = properties.next();
+      if (property instanceof FunctionProperty || property instanceof MultiProperty
+          && hasFunctions(((MultiProperty) property).iterator())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private List<WaitCondition> getWaitersList(long stableTimeout) {
     List<WaitCondition> waiters = new ArrayList<>();
     if (getWaitSync()) {
-      waiters.add(new SyncWaitCondition(getWaitSyncTimeoutValue(), getStableTimeout()));
+      waiters.add(new SyncWaitCondition(getWaitSyncTimeoutValue(), stableTimeout));
     }
     if (getWaitCursor()) {
-      waiters.add(buildCursorWaitCondition());
+      waiters.add(buildCursorWaitCondition(stableTimeout));
     }
     if (getWaitSilent()) {
       waiters.add(new SilentWaitCondition(getWaitSilentTimeoutValue(), getWaitSilentTimeValue()));
     }
     if (getWaitText()) {
-      waiters.add(buildTextWaitCondition());
+      waiters.add(buildTextWaitCondition(stableTimeout));
+    }
+    if (getWaitScreen()) {
+      waiters.add(buildKnownScreenWaitCondition(stableTimeout));
     }
     if (getWaitDisconnect()) {
       waiters.add(new DisconnectWaitCondition(Long.parseLong(getWaitDisconnectTimeout())));
     }
     waiters.sort(Comparator.comparing(WaitCondition::getTimeoutMillis));
+    if (getAbortText() && !waiters.isEmpty()) {
+      ErrorScreenWaitCondition errorScreen = buildErrorScreenWaitCondition();
+      if (errorScreen != null) {
+        waiters.add(errorScreen);
+      }
+    }
     return waiters;
   }
 
-  private CursorWaitCondition buildCursorWaitCondition() {
+  private ErrorScreenWaitCondition buildErrorScreenWaitCondition() {
+    List<TextWaitCondition> texts = new ArrayList<>();
+    for (String regex : splitLines(getAbortTextRegexes())) {
+      texts.add(new TextWaitCondition(JMeterUtils.getPattern(regex), JMeterUtils.getMatcher(),
+          Area.fromTopLeftBottomRight(1, 1, Position.UNSPECIFIED_INDEX,
+              Position.UNSPECIFIED_INDEX), 0, 0));
+    }
+    if (texts.isEmpty()) {
+      return null;
+    }
+    return new ErrorScreenWaitCondition(texts.size() == 1 ? texts.get(0)
+        : new AnyOfWaitCondition(texts, 0, 0));
+  }
+
+  /*
+  Fingerprints are resolved when building the condition, so screens registered afterwards are
+  only considered by samplers created after that (e.g.: on next test run).
+   */
+  private KnownScreenWaitCondition buildKnownScreenWaitCondition(long stableTimeout) {
+    String screenName = getWaitScreenName();
+    long[] fingerprints = ScreenRegistry.getInstance().findFingerprints(screenName);
+    if (fingerprints.length == 0) {
+      throw new IllegalArgumentException("Unknown screen '" + screenName
+          + "'. Record it or check " + ScreenRegistry.FILE_PROPERTY + " property.");
+    }
+    return new KnownScreenWaitCondition(screenName, fingerprints, getWaitScreenTimeoutValue(),
+        stableTimeout);
+  }
+
+  private CursorWaitCondition buildCursorWaitCondition(long stableTimeout) {
     return new CursorWaitCondition(
         new Position(getWaitCursorRowValue(), getWaitCursorColumnValue()),
-        getWaitCursorTimeoutValue(), getStableTimeout());
+        getWaitCursorTimeoutValue(), stableTimeout);
+  }
+
+  private ScreenWaitCondition buildTextWaitCondition(long stableTimeout) {
+    List<String> alternatives = splitLines(getWaitTextAlternatives());
+    if (alternatives.isEmpty()) {
+      return buildTextWaitCondition(getWaitTextRegex(), stableTimeout);
+    }
+    List<TextWaitCondition> branches = new ArrayList<>();
+    branches.add(buildTextWaitCondition(getWaitTextRegex(), stableTimeout));
+    for (String alternative : alternatives) {
+      branches.add(buildTextWaitCondition(alternative, stableTimeout));
+    }
+    return new AnyOfWaitCondition(branches, getWaitTextTimeoutValue(), stableTimeout);
   }
 
-  private TextWaitCondition buildTextWaitCondition() {
+  private TextWaitCondition buildTextWaitCondition(String regex, long stableTimeout) {
     return new TextWaitCondition(
-        JMeterUtils.getPattern(getWaitTextRegex()),
+        JMeterUtils.getPattern(regex),
         JMeterUtils.getMatcher(),
         Area.fromTopLeftBottomRight(getWaitTextAreaTopValue(), getWaitTextAreaLeftValue(),
             getWaitTextAreaBottomValue(), getWaitTextAreaRightValue()),
         getWaitTextTimeoutValue(),
-        getStableTimeout());
+        stableTimeout);
   }
 
   @Override
@@ -689,7 +1202,7 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
   private void closeConnections() {
     CONNECTIONS.get().values().forEach(c -> {
       try {
-        c.disconnect();
+        closeConnection(c);
       } catch (Exception e) {
         LOG.error("Problem while closing RTE connection", e);
       }
@@ -697,6 +1210,38 @@ public class RTESampler extends AbstractSampler implements ThreadListener,
     CONNECTIONS.get().clear();
   }
 
+  /*
+  The estimator id is set on the test plan element before JMeter clones it for each thread, so all
+  clones of a sampler share the same estimator, no matter their names (which may be repeated in the
+  test plan).
+   */
+  @Override
+  public void testStarted() {
+    setProperty(STABLE_PERIOD_ESTIMATOR_ID_PROPERTY, UUID.randomUUID().toString());
+    RteMetrics.startSummaryLog();
+  }
+
+  @Override
+  public void testStarted(String host) {
+    testStarted();
+  }
+
+  @Override
+  public void testEnded() {
+    closeConnectionPool();
+    // last summary is logged before shutting down the scheduler to include its statistics
+    RteMetrics.stopSummaryLog();
+    StableTimeoutScheduler.shutdownInstance();
+    STABLE_PERIOD_ESTIMATORS.clear();
+    removeProperty(STABLE_PERIOD_ESTIMATOR_ID_PROPERTY);
+    ScreenInterner.clear();
+  }
+
+  @Override
+  public void testEnded(String host) {
+    testEnded();
+  }
+
   @Override
   public void iterationStart(LoopIterationEvent loopIterationEvent) {
     if (!isReuseConnections() && isFirstRteSamplerInLoop()) {
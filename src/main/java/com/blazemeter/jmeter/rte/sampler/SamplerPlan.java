@@ -0,0 +1,101 @@
+package com.blazemeter.jmeter.rte.sampler;
+
+import com.blazemeter.jmeter.rte.core.AttentionKey;
+import com.blazemeter.jmeter.rte.core.Input;
+import com.blazemeter.jmeter.rte.core.wait.DisconnectWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.WaitCondition;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+/*
+Immutable values resolved from sampler properties (action, inputs, wait conditions, connection
+keys, etc.), which are compiled once and reused by every sample of a sampler instance (JMeter
+clones samplers for each thread) as long as its properties don't contain functions or variables.
+
+Wait conditions with stable timeouts other than the configured one (estimated by adaptive stable
+timeout) are also built once per stable timeout value, and then reused by later samples.
+ */
+class SamplerPlan {
+
+  private final Action action;
+  private final AttentionKey attentionKey;
+  private final List<Input> inputs;
+  private final long stableTimeout;
+  private final List<WaitCondition> waitConditions;
+  private final LongFunction<List<WaitCondition>> waitConditionsBuilder;
+  private final Map<Long, List<WaitCondition>> adaptedWaitConditions = new ConcurrentHashMap<>();
+  private final boolean expectedDisconnection;
+  private final String connectionId;
+  private final String poolKey;
+
+  SamplerPlan(Action action, AttentionKey attentionKey, List<Input> inputs, long stableTimeout,
+      LongFunction<List<WaitCondition>> waitConditionsBuilder, String connectionId,
+      String poolKey) {
+    this.action = action;
+    this.attentionKey = attentionKey;
+    this.inputs = Collections.unmodifiableList(inputs);
+    this.stableTimeout = stableTimeout;
+    this.waitConditionsBuilder = waitConditionsBuilder;
+    this.waitConditions = Collections.unmodifiableList(waitConditionsBuilder.apply(stableTimeout));
+    this.expectedDisconnection = this.waitConditions.stream()
+        .anyMatch(c -> c instanceof DisconnectWaitCondition);
+    this.connectionId = connectionId;
+    this.poolKey = poolKey;
+  }
+
+  public Action getAction() {
+    return action;
+  }
+
+  public AttentionKey getAttentionKey() {
+    return attentionKey;
+  }
+
+  public List<Input> getInputs() {
+    return inputs;
+  }
+
+  public long getStableTimeout() {
+    return stableTimeout;
+  }
+
+  /**
+   * Gets the wait conditions built with {@link #getStableTimeout()}, sorted by timeout.
+   * <p>
+   * Returned conditions are shared by all the samples of the sampler instance, and are evaluated
+   * both by the thread owning the sampler and by emulator threads notifying screen changes.
+   */
+  public List<WaitCondition> getWaitConditions() {
+    return waitConditions;
+  }
+
+  /**
+   * Gets the wait conditions built with the given stable timeout, sorted by timeout.
+   * <p>
+   * Conditions are only built the first time they are requested for each stable timeout, and are
+   * shared as the ones returned by {@link #getWaitConditions()}.
+   */
+  public List<WaitCondition> getWaitConditions(long stableTimeout) {
+    if (stableTimeout == this.stableTimeout) {
+      return waitConditions;
+    }
+    return adaptedWaitConditions.computeIfAbsent(stableTimeout,
+        t -> Collections.unmodifiableList(waitConditionsBuilder.apply(t)));
+  }
+
+  public boolean isExpectedDisconnection() {
+    return expectedDisconnection;
+  }
+
+  public String getConnectionId() {
+    return connectionId;
+  }
+
+  public String getPoolKey() {
+    return poolKey;
+  }
+
+}
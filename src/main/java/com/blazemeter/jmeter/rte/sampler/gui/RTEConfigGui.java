@@ -2,6 +2,7 @@ package com.blazemeter.jmeter.rte.sampler.gui;
 
 import com.blazemeter.jmeter.rte.core.Protocol;
 import com.blazemeter.jmeter.rte.core.ssl.SSLType;
+import com.blazemeter.jmeter.rte.sampler.RTEConnectionConfig;
 import com.blazemeter.jmeter.rte.sampler.RTESampler;
 import com.helger.commons.annotation.VisibleForTesting;
 import java.awt.BorderLayout;
@@ -70,7 +71,7 @@ public class RTEConfigGui extends AbstractConfigGui {
 
   @Override
   public TestElement createTestElement() {
-    ConfigTestElement config = new ConfigTestElement();
+    ConfigTestElement config = new RTEConnectionConfig();
     configureTestElement(config);
     return config;
   }
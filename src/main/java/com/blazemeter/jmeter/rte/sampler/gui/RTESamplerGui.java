@@ -60,13 +60,19 @@ public class RTESamplerGui extends AbstractSamplerGui {
       rteSamplerPanel.setWaitSilentTimeout(sampler.getWaitSilentTimeout());
       rteSamplerPanel.setWaitText(sampler.getWaitText());
       rteSamplerPanel.setWaitTextRegex(sampler.getWaitTextRegex());
+      rteSamplerPanel.setWaitTextAlternatives(sampler.getWaitTextAlternatives());
       rteSamplerPanel.setWaitTextAreaTop(sampler.getWaitTextAreaTop());
       rteSamplerPanel.setWaitTextAreaLeft(sampler.getWaitTextAreaLeft());
       rteSamplerPanel.setWaitTextAreaBottom(sampler.getWaitTextAreaBottom());
       rteSamplerPanel.setWaitTextAreaRight(sampler.getWaitTextAreaRight());
       rteSamplerPanel.setWaitTextTimeout(sampler.getWaitTextTimeout());
+      rteSamplerPanel.setWaitScreen(sampler.getWaitScreen());
+      rteSamplerPanel.setWaitScreenName(sampler.getWaitScreenName());
+      rteSamplerPanel.setWaitScreenTimeout(sampler.getWaitScreenTimeout());
       rteSamplerPanel.setWaitDisconnect(sampler.getWaitDisconnect());
       rteSamplerPanel.setWaitDisconnectTimeout(sampler.getWaitDisconnectTimeout());
+      rteSamplerPanel.setAbortText(sampler.getAbortText());
+      rteSamplerPanel.setAbortTextRegexes(sampler.getAbortTextRegexes());
     }
   }
 
@@ -99,13 +105,19 @@ public class RTESamplerGui extends AbstractSamplerGui {
       sampler.setWaitSilentTimeout(rteSamplerPanel.getWaitSilentTimeout());
       sampler.setWaitText(rteSamplerPanel.getWaitText());
       sampler.setWaitTextRegex(rteSamplerPanel.getWaitTextRegex());
+      sampler.setWaitTextAlternatives(rteSamplerPanel.getWaitTextAlternatives());
       sampler.setWaitTextTimeout(rteSamplerPanel.getWaitTextTimeout());
+      sampler.setWaitScreen(rteSamplerPanel.getWaitScreen());
+      sampler.setWaitScreenName(rteSamplerPanel.getWaitScreenName());
+      sampler.setWaitScreenTimeout(rteSamplerPanel.getWaitScreenTimeout());
       sampler.setWaitTextAreaTop(rteSamplerPanel.getWaitTextAreaTop());
       sampler.setWaitTextAreaLeft(rteSamplerPanel.getWaitTextAreaLeft());
       sampler.setWaitTextAreaBottom(rteSamplerPanel.getWaitTextAreaBottom());
       sampler.setWaitTextAreaRight(rteSamplerPanel.getWaitTextAreaRight());
       sampler.setWaitDisconnect(rteSamplerPanel.getWaitDisconnect());
       sampler.setWaitDisconnectTimeout(rteSamplerPanel.getWaitDisconnectTimeout());
+      sampler.setAbortText(rteSamplerPanel.getAbortText());
+      sampler.setAbortTextRegexes(rteSamplerPanel.getAbortTextRegexes());
     }
   }
 
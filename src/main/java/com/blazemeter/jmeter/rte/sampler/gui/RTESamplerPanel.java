@@ -18,6 +18,8 @@ import javax.swing.JCheckBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JRadioButton;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.LayoutStyle.ComponentPlacement;
 
@@ -59,6 +61,8 @@ public class RTESamplerPanel extends JPanel {
   private final JCheckBox waitText = SwingUtils.createComponent("waitText", new JCheckBox("Text?"));
   private final JTextField waitTextRegex = SwingUtils
       .createComponent("waitTextRegex", new JTextField());
+  private final JTextArea waitTextAlternatives = SwingUtils
+      .createComponent("waitTextAlternatives", new JTextArea(3, 0));
   private final JTextField waitTextTimeout = SwingUtils
       .createComponent("waitTextTimeout", new JTextField());
   private final JTextField waitTextAreaTop = SwingUtils
@@ -69,11 +73,23 @@ public class RTESamplerPanel extends JPanel {
       .createComponent("waitTextAreaBottom", new JTextField());
   private final JTextField waitTextAreaRight = SwingUtils
       .createComponent("waitTextAreaRight", new JTextField());
+  private JPanel waitScreenPanel;
+  private final JCheckBox waitScreen = SwingUtils
+      .createComponent("waitScreen", new JCheckBox("Screen?"));
+  private final JTextField waitScreenName = SwingUtils
+      .createComponent("waitScreenName", new JTextField());
+  private final JTextField waitScreenTimeout = SwingUtils
+      .createComponent("waitScreenTimeout", new JTextField());
   private final JCheckBox waitDisconnect = SwingUtils.createComponent("waitDisconnect",
       new JCheckBox("Disconnect?"));
   private final JTextField waitDisconnectTimeout = SwingUtils.createComponent(
       "waitDisconnectTimeout", new JTextField());
   private JPanel waitDisconnectPanel;
+  private JPanel abortTextPanel;
+  private final JCheckBox abortText = SwingUtils.createComponent("abortText",
+      new JCheckBox("Abort if text?"));
+  private final JTextArea abortTextRegexes = SwingUtils
+      .createComponent("abortTextRegexes", new JTextArea(3, 0));
 
   public RTESamplerPanel() {
     GroupLayout layout = new GroupLayout(this);
@@ -209,8 +225,10 @@ public class RTESamplerPanel extends JPanel {
     waitCursorPanel = buildWaitCursorPanel();
     waitSilentPanel = buildWaitSilentPanel();
     waitTextPanel = buildWaitTextPanel();
+    waitScreenPanel = buildWaitScreenPanel();
     waitDisconnectPanel = buildSimpleWaitPanel("waitDisconnectPanel", waitDisconnect,
         waitDisconnectTimeout);
+    abortTextPanel = buildAbortTextPanel();
 
     JLabel warningLabel = SwingUtils
         .createComponent("warningLabel", new JLabel("Warning: if Timeout value " +
@@ -224,14 +242,18 @@ public class RTESamplerPanel extends JPanel {
         .addComponent(waitCursorPanel)
         .addComponent(waitSilentPanel)
         .addComponent(waitTextPanel)
+        .addComponent(waitScreenPanel)
         .addComponent(waitDisconnectPanel)
+        .addComponent(abortTextPanel)
         .addComponent(warningLabel));
     layout.setVerticalGroup(layout.createSequentialGroup()
         .addComponent(waitSyncPanel)
         .addComponent(waitCursorPanel)
         .addComponent(waitSilentPanel)
         .addComponent(waitTextPanel)
+        .addComponent(waitScreenPanel)
         .addComponent(waitDisconnectPanel)
+        .addComponent(abortTextPanel)
         .addComponent(warningLabel));
 
     return panel;
@@ -364,6 +386,10 @@ public class RTESamplerPanel extends JPanel {
     });
 
     JLabel regexLabel = SwingUtils.createComponent("regexLabel", new JLabel("Regex: "));
+    JLabel alternativesLabel = SwingUtils.createComponent("alternativesLabel",
+        new JLabel("Or any of (one regex per line): "));
+    JScrollPane alternativesPane = SwingUtils.createComponent("waitTextAlternativesPane",
+        new JScrollPane(waitTextAlternatives));
     JPanel searchAreaPanel = buildSearchAreaPanel();
     JPanel labeledTimeoutPanel = buildLabeledTimeoutPanel(waitTextTimeout);
     layout.setHorizontalGroup(layout.createSequentialGroup()
@@ -377,6 +403,11 @@ public class RTESamplerPanel extends JPanel {
                     GroupLayout.PREFERRED_SIZE)
                 .addPreferredGap(ComponentPlacement.UNRELATED)
                 .addComponent(labeledTimeoutPanel))
+            .addGroup(layout.createSequentialGroup()
+                .addComponent(alternativesLabel)
+                .addPreferredGap(ComponentPlacement.RELATED)
+                .addComponent(alternativesPane, GroupLayout.PREFERRED_SIZE, 200,
+                    GroupLayout.PREFERRED_SIZE))
             .addComponent(searchAreaPanel))
     );
     layout.setVerticalGroup(layout.createSequentialGroup()
@@ -386,11 +417,76 @@ public class RTESamplerPanel extends JPanel {
             .addComponent(waitTextRegex)
             .addComponent(labeledTimeoutPanel))
         .addPreferredGap(ComponentPlacement.RELATED)
+        .addGroup(layout.createParallelGroup(Alignment.LEADING)
+            .addComponent(alternativesLabel)
+            .addComponent(alternativesPane))
+        .addPreferredGap(ComponentPlacement.RELATED)
         .addComponent(searchAreaPanel));
 
     return panel;
   }
 
+  private JPanel buildWaitScreenPanel() {
+    JPanel panel = SwingUtils.createComponent("waitScreenPanel", new JPanel());
+    GroupLayout layout = new GroupLayout(panel);
+    panel.setLayout(layout);
+
+    waitScreen.addItemListener(e -> {
+      updateWait(waitScreen, panel, e.getStateChange() == ItemEvent.SELECTED);
+      validate();
+      repaint();
+    });
+
+    JLabel nameLabel = SwingUtils.createComponent("screenNameLabel", new JLabel("Name: "));
+    JPanel labeledTimeoutPanel = buildLabeledTimeoutPanel(waitScreenTimeout);
+    layout.setHorizontalGroup(layout.createSequentialGroup()
+        .addComponent(waitScreen)
+        .addPreferredGap(ComponentPlacement.UNRELATED)
+        .addComponent(nameLabel)
+        .addPreferredGap(ComponentPlacement.RELATED)
+        .addComponent(waitScreenName, GroupLayout.PREFERRED_SIZE, 200,
+            GroupLayout.PREFERRED_SIZE)
+        .addPreferredGap(ComponentPlacement.UNRELATED)
+        .addComponent(labeledTimeoutPanel));
+    layout.setVerticalGroup(layout.createParallelGroup(Alignment.BASELINE)
+        .addComponent(waitScreen)
+        .addComponent(nameLabel)
+        .addComponent(waitScreenName)
+        .addComponent(labeledTimeoutPanel));
+
+    return panel;
+  }
+
+  private JPanel buildAbortTextPanel() {
+    JPanel panel = SwingUtils.createComponent("abortTextPanel", new JPanel());
+    GroupLayout layout = new GroupLayout(panel);
+    panel.setLayout(layout);
+
+    abortText.addItemListener(e -> {
+      updateWait(abortText, panel, e.getStateChange() == ItemEvent.SELECTED);
+      validate();
+      repaint();
+    });
+
+    JLabel regexesLabel = SwingUtils.createComponent("abortRegexesLabel",
+        new JLabel("Regexes (one per line): "));
+    JScrollPane regexesPane = SwingUtils.createComponent("abortTextRegexesPane",
+        new JScrollPane(abortTextRegexes));
+    layout.setHorizontalGroup(layout.createSequentialGroup()
+        .addComponent(abortText)
+        .addPreferredGap(ComponentPlacement.UNRELATED)
+        .addComponent(regexesLabel)
+        .addPreferredGap(ComponentPlacement.RELATED)
+        .addComponent(regexesPane, GroupLayout.PREFERRED_SIZE, 200,
+            GroupLayout.PREFERRED_SIZE));
+    layout.setVerticalGroup(layout.createParallelGroup(Alignment.LEADING)
+        .addComponent(abortText)
+        .addComponent(regexesLabel)
+        .addComponent(regexesPane));
+
+    return panel;
+  }
+
   private JPanel buildSearchAreaPanel() {
     JPanel panel = SwingUtils.createComponent("searchAreaPanel", new JPanel());
     panel.setBorder(BorderFactory.createTitledBorder("Search area: "));
@@ -569,6 +665,14 @@ public class RTESamplerPanel extends JPanel {
     this.waitTextRegex.setText(waitTextRegex);
   }
 
+  public String getWaitTextAlternatives() {
+    return this.waitTextAlternatives.getText();
+  }
+
+  public void setWaitTextAlternatives(String waitTextAlternatives) {
+    this.waitTextAlternatives.setText(waitTextAlternatives);
+  }
+
   public String getWaitTextAreaTop() {
     return this.waitTextAreaTop.getText();
   }
@@ -609,6 +713,31 @@ public class RTESamplerPanel extends JPanel {
     this.waitTextTimeout.setText(waitTextTimeout);
   }
 
+  public boolean getWaitScreen() {
+    return this.waitScreen.isSelected();
+  }
+
+  public void setWaitScreen(boolean waitScreen) {
+    this.waitScreen.setSelected(waitScreen);
+    updateWait(this.waitScreen, waitScreenPanel, waitScreen);
+  }
+
+  public String getWaitScreenName() {
+    return this.waitScreenName.getText();
+  }
+
+  public void setWaitScreenName(String waitScreenName) {
+    this.waitScreenName.setText(waitScreenName);
+  }
+
+  public String getWaitScreenTimeout() {
+    return this.waitScreenTimeout.getText();
+  }
+
+  public void setWaitScreenTimeout(String waitScreenTimeout) {
+    this.waitScreenTimeout.setText(waitScreenTimeout);
+  }
+
   public boolean getWaitDisconnect() {
     return this.waitDisconnect.isSelected();
   }
@@ -625,4 +754,21 @@ public class RTESamplerPanel extends JPanel {
   public void setWaitDisconnectTimeout(String waitDisconnectTimeout) {
     this.waitDisconnectTimeout.setText(waitDisconnectTimeout);
   }
+
+  public boolean getAbortText() {
+    return this.abortText.isSelected();
+  }
+
+  public void setAbortText(boolean abortText) {
+    this.abortText.setSelected(abortText);
+    updateWait(this.abortText, abortTextPanel, abortText);
+  }
+
+  public String getAbortTextRegexes() {
+    return this.abortTextRegexes.getText();
+  }
+
+  public void setAbortTextRegexes(String abortTextRegexes) {
+    this.abortTextRegexes.setText(abortTextRegexes);
+  }
 }
@@ -0,0 +1,86 @@
+package com.blazemeter.jmeter.rte.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blazemeter.jmeter.rte.core.wait.StableTimeoutScheduler;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RteMetricsTest {
+
+  private static final long TIMEOUT_MILLIS = 5000;
+
+  private RteMetrics metrics;
+
+  @Before
+  public void setup() {
+    metrics = new RteMetrics();
+  }
+
+  @After
+  public void teardown() {
+    StableTimeoutScheduler.shutdownInstance();
+  }
+
+  @Test
+  public void shouldGetActiveSessionsPerProtocolWhenSessionsOpenedAndClosed() {
+    metrics.sessionOpened(Protocol.TN5250);
+    metrics.sessionOpened(Protocol.TN5250);
+    metrics.sessionOpened(Protocol.VT420);
+    metrics.sessionClosed(Protocol.TN5250);
+    assertThat(metrics.getActiveSessions())
+        .containsEntry(Protocol.TN5250.name(), 1L)
+        .containsEntry(Protocol.VT420.name(), 1L);
+  }
+
+  @Test
+  public void shouldGetConnectsWhenSessionsOpened() {
+    metrics.sessionOpened(Protocol.TN3270);
+    metrics.sessionClosed(Protocol.TN3270);
+    metrics.sessionOpened(Protocol.TN3270);
+    assertThat(metrics.getConnects()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldGetTimeoutsPerConditionTypeWhenConditionsTimedOut() {
+    metrics.conditionTimedOut("SyncWaitCondition");
+    metrics.conditionTimedOut("SyncWaitCondition");
+    metrics.conditionTimedOut("TextWaitCondition");
+    assertThat(metrics.getConditionTimeouts())
+        .containsEntry("SyncWaitCondition", 2L)
+        .containsEntry("TextWaitCondition", 1L);
+  }
+
+  @Test
+  public void shouldGetAverageScreenBuildTimeWhenScreensBuilt() {
+    metrics.screenBuilt(1000000);
+    metrics.screenBuilt(3000000);
+    assertThat(metrics.getAverageScreenBuildMillis()).isEqualTo(2.0);
+  }
+
+  @Test
+  public void shouldGetSchedulerExecutedTasksWhenScheduledTaskRuns() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    StableTimeoutScheduler.getInstance().schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+    latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    assertThat(metrics.getStableTimeoutExecutedTasks()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldGetNoSchedulerExecutedTasksWhenSchedulerNotRunning() {
+    assertThat(metrics.getStableTimeoutExecutedTasks()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldRegisterInstanceInJmxWhenGetInstance() throws Exception {
+    RteMetrics.getInstance();
+    assertThat(ManagementFactory.getPlatformMBeanServer()
+        .isRegistered(new ObjectName(RteMetrics.OBJECT_NAME))).isTrue();
+  }
+
+}
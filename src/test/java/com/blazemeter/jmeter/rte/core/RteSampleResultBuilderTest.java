@@ -1,6 +1,9 @@
 package com.blazemeter.jmeter.rte.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.blazemeter.jmeter.rte.core.ssl.SSLType;
@@ -21,6 +24,7 @@ public class RteSampleResultBuilderTest {
 
   public static final String FIELD_POSITION_TEXT = "Field-positions: [(1,1)-(1,20)]" + "\n";
   public static final String SOUNDED_ALARM_TEXT = "Sound-Alarm: true" + "\n";
+  public static final String SCREEN_HASH_TEXT = "Screen-hash: a24b393afe017b10" + "\n";
   public static final Dimension SCREEN_SIZE = new Dimension(30, 1);
   private static final Position CURSOR_POSITION = new Position(1, 1);
   private static final String EXPECTED_HEADERS_RESPONSE = "Input-inhibited: true\n" +
@@ -64,7 +68,11 @@ public class RteSampleResultBuilderTest {
   }
 
   private RteSampleResultBuilder buildBasicResultBuilder() {
-    return new RteSampleResultBuilder()
+    return buildBasicResultBuilder(false);
+  }
+
+  private RteSampleResultBuilder buildBasicResultBuilder(boolean lazyRendering) {
+    return new RteSampleResultBuilder(lazyRendering)
         .withAction(Action.CONNECT)
         .withProtocol(Protocol.TN5250)
         .withTerminalType(new TerminalType("IBM-3179-2", new Dimension(80, 24)))
@@ -101,7 +109,7 @@ public class RteSampleResultBuilderTest {
     RteSampleResultBuilder resultBuilder = buildBasicResultBuilder()
         .withSuccessResponse(client);
     String expectedResponseHeaders = EXPECTED_HEADERS_RESPONSE +
-        SOUNDED_ALARM_TEXT + FIELD_POSITION_TEXT;
+        SOUNDED_ALARM_TEXT + FIELD_POSITION_TEXT + SCREEN_HASH_TEXT;
     assertThat(resultBuilder.build().getResponseHeaders()).isEqualTo(expectedResponseHeaders);
   }
 
@@ -119,7 +127,7 @@ public class RteSampleResultBuilderTest {
     RteSampleResultBuilder resultBuilder = buildBasicResultBuilder()
         .withSuccessResponse(client);
     assertThat(resultBuilder.build().getResponseHeaders())
-        .isEqualTo(EXPECTED_HEADERS_RESPONSE + FIELD_POSITION_TEXT);
+        .isEqualTo(EXPECTED_HEADERS_RESPONSE + FIELD_POSITION_TEXT + SCREEN_HASH_TEXT);
   }
 
   @Test
@@ -130,6 +138,68 @@ public class RteSampleResultBuilderTest {
         .isEqualTo(StringUtils.rightPad(SCREEN_TEXT, SCREEN.getSize().width) + "\n");
   }
 
+  @Test
+  public void shouldGetScreenTextWhenGetResponseDataWithLazyRendering() {
+    RteSampleResultBuilder resultBuilder = buildBasicResultBuilder(true)
+        .withSuccessResponse(client);
+    assertThat(resultBuilder.build().getResponseDataAsString())
+        .isEqualTo(StringUtils.rightPad(SCREEN_TEXT, SCREEN.getSize().width) + "\n");
+  }
+
+  @Test
+  public void shouldGetTerminalStatusHeadersWhenGetResponseHeadersWithLazyRendering() {
+    RteSampleResultBuilder resultBuilder = buildBasicResultBuilder(true)
+        .withSuccessResponse(client);
+    assertThat(resultBuilder.build().getResponseHeaders())
+        .isEqualTo(EXPECTED_HEADERS_RESPONSE + SOUNDED_ALARM_TEXT + FIELD_POSITION_TEXT
+            + SCREEN_HASH_TEXT);
+  }
+
+  @Test
+  public void shouldNotRenderScreenWhenBuildWithLazyRendering() {
+    Screen screen = mock(Screen.class);
+    when(client.getScreen()).thenReturn(screen);
+    buildBasicResultBuilder(true)
+        .withSuccessResponse(client)
+        .build();
+    verify(screen, never()).getText();
+  }
+
+  @Test
+  public void shouldShareResponseDataWhenBuildResultsWithSameScreen() {
+    byte[] responseData = buildBasicResultBuilder()
+        .withSuccessResponse(client)
+        .build()
+        .getResponseData();
+    when(client.getScreen()).thenReturn(buildScreen());
+    assertThat(buildBasicResultBuilder()
+        .withSuccessResponse(client)
+        .build()
+        .getResponseData()).isSameAs(responseData);
+  }
+
+  @Test
+  public void shouldNotRenderWhenGetBytesWithLazyRendering() {
+    Runnable renderer = mock(Runnable.class);
+    LazySampleResult result = new LazySampleResult();
+    result.setRenderer(renderer, 20);
+    assertThat(result.getBytesAsLong()).isEqualTo(20);
+    verify(renderer, never()).run();
+  }
+
+  @Test
+  public void shouldGetSameBytesWhenGetBytesWithLazyRendering() {
+    long expected = buildBasicResultBuilder()
+        .withSuccessResponse(client)
+        .build()
+        .getBytesAsLong();
+    assertThat(buildBasicResultBuilder(true)
+        .withSuccessResponse(client)
+        .build()
+        .getBytesAsLong())
+        .isEqualTo(expected);
+  }
+
   @Test
   public void shouldGetEmptyStringWhenGetResponseDataWithoutScreen() {
     RteSampleResultBuilder resultBuilder = buildBasicResultBuilder()
@@ -154,6 +224,25 @@ public class RteSampleResultBuilderTest {
         buildScreen(), null, new TerminalType("IBM-3179-2", new Dimension(24, 80)));
     resultBuilder.withSuccessResponse(client);
     assertThat(resultBuilder.build().getResponseHeaders())
-        .isEqualTo(EXPECTED_HEADERS_RESPONSE + SOUNDED_ALARM_TEXT + FIELD_POSITION_TEXT);
+        .isEqualTo(EXPECTED_HEADERS_RESPONSE + SOUNDED_ALARM_TEXT + FIELD_POSITION_TEXT
+            + SCREEN_HASH_TEXT);
+  }
+
+  @Test
+  public void shouldGetPhasesInOrderWhenGetPhaseTimes() {
+    RteSampleResultBuilder resultBuilder = buildBasicResultBuilder()
+        .withSendEndNow()
+        .withConditionsMetTime(System.currentTimeMillis())
+        .withStablePeriodEndNow();
+    assertThat(resultBuilder.getPhaseTimes().keySet()).containsExactly(
+        RteSampleResultBuilder.SEND_END_PHASE, RteSampleResultBuilder.CONDITIONS_MET_PHASE,
+        RteSampleResultBuilder.STABLE_PERIOD_END_PHASE);
+  }
+
+  @Test
+  public void shouldNotGetConditionsMetPhaseWhenWithUnknownConditionsMetTime() {
+    RteSampleResultBuilder resultBuilder = buildBasicResultBuilder()
+        .withConditionsMetTime(0);
+    assertThat(resultBuilder.getPhaseTimes()).isEmpty();
   }
 }
@@ -0,0 +1,81 @@
+package com.blazemeter.jmeter.rte.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blazemeter.jmeter.rte.JMeterTestUtils;
+import com.blazemeter.jmeter.rte.core.ScreenInterner.InternedScreen;
+import org.apache.jmeter.util.JMeterUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ScreenInternerTest {
+
+  private static final String MAX_SIZE_PROPERTY = "RTESampler.internedScreensMaxSize";
+  private static final String MENU_SCREEN = "Main menu\n";
+  private static final String LOGIN_SCREEN = "Sign on\n";
+  private static final String ERROR_SCREEN = "Invalid password\n";
+
+  @BeforeClass
+  public static void setupClass() {
+    JMeterTestUtils.setupJmeterEnv();
+  }
+
+  @Before
+  public void setup() {
+    ScreenInterner.clear();
+    JMeterUtils.setProperty(MAX_SIZE_PROPERTY, "2");
+  }
+
+  @After
+  public void teardown() {
+    JMeterUtils.getJMeterProperties().remove(MAX_SIZE_PROPERTY);
+    ScreenInterner.clear();
+  }
+
+  @Test
+  public void shouldGetSameInternedScreenWhenInternSameText() {
+    InternedScreen screen = ScreenInterner.intern(MENU_SCREEN);
+    assertThat(ScreenInterner.intern(new String(MENU_SCREEN.toCharArray()))).isSameAs(screen);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedScreenWhenMaxSizeReached() {
+    InternedScreen menu = ScreenInterner.intern(MENU_SCREEN);
+    InternedScreen login = ScreenInterner.intern(LOGIN_SCREEN);
+    ScreenInterner.intern(MENU_SCREEN);
+    ScreenInterner.intern(ERROR_SCREEN);
+    assertThat(ScreenInterner.intern(MENU_SCREEN)).isSameAs(menu);
+    assertThat(ScreenInterner.intern(LOGIN_SCREEN)).isNotSameAs(login);
+  }
+
+  @Test
+  public void shouldKeepMaxSizeWhenInternMoreScreensThanMaxSize() {
+    ScreenInterner.intern(MENU_SCREEN);
+    ScreenInterner.intern(LOGIN_SCREEN);
+    ScreenInterner.intern(ERROR_SCREEN);
+    assertThat(ScreenInterner.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldGetNewInternedScreenWhenInternAfterClear() {
+    InternedScreen screen = ScreenInterner.intern(MENU_SCREEN);
+    ScreenInterner.clear();
+    assertThat(ScreenInterner.intern(MENU_SCREEN)).isNotSameAs(screen);
+  }
+
+  @Test
+  public void shouldGetSameHashWhenInternSameTextAfterClear() {
+    String hash = ScreenInterner.intern(MENU_SCREEN).getHash();
+    ScreenInterner.clear();
+    assertThat(ScreenInterner.intern(MENU_SCREEN).getHash()).isEqualTo(hash);
+  }
+
+  @Test
+  public void shouldGetDifferentHashesWhenInternDifferentTexts() {
+    assertThat(ScreenInterner.intern(MENU_SCREEN).getHash())
+        .isNotEqualTo(ScreenInterner.intern(LOGIN_SCREEN).getHash());
+  }
+
+}
@@ -0,0 +1,88 @@
+package com.blazemeter.jmeter.rte.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Dimension;
+import java.io.File;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScreenRegistryTest {
+
+  private static final String MENU_SCREEN_NAME = "MENU01";
+  private static final String LOGIN_SCREEN_NAME = "LOGIN";
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static Screen buildScreen(String title, String fieldText) {
+    Screen screen = new Screen(new Dimension(20, 2));
+    screen.addSegment(0, title);
+    screen.addField(20, fieldText);
+    return screen;
+  }
+
+  @Test
+  public void shouldGetNameWhenFindNameOfScreenRegisteredWithOtherFieldsContents() {
+    ScreenRegistry registry = new ScreenRegistry(null);
+    registry.register(MENU_SCREEN_NAME, buildScreen("Main menu", "1"));
+    assertThat(registry.findName(buildScreen("Main menu", "2"))).isEqualTo(MENU_SCREEN_NAME);
+  }
+
+  @Test
+  public void shouldGetNullWhenFindNameOfUnknownScreen() {
+    ScreenRegistry registry = new ScreenRegistry(null);
+    registry.register(MENU_SCREEN_NAME, buildScreen("Main menu", "1"));
+    assertThat(registry.findName(buildScreen("Sign on", "1"))).isNull();
+  }
+
+  @Test
+  public void shouldGetAllFingerprintsOfNameWhenFindFingerprints() {
+    ScreenRegistry registry = new ScreenRegistry(null);
+    Screen menu = buildScreen("Main menu", "1");
+    Screen otherMenu = buildScreen("Main menu (2)", "1");
+    registry.register(MENU_SCREEN_NAME, menu);
+    registry.register(MENU_SCREEN_NAME, otherMenu);
+    registry.register(LOGIN_SCREEN_NAME, buildScreen("Sign on", "1"));
+    assertThat(registry.findFingerprints(MENU_SCREEN_NAME))
+        .containsOnly(menu.getFingerprint(), otherMenu.getFingerprint());
+  }
+
+  @Test
+  public void shouldGetLastNameWhenFindNameOfScreenRegisteredTwice() {
+    ScreenRegistry registry = new ScreenRegistry(null);
+    registry.register(MENU_SCREEN_NAME, buildScreen("Main menu", "1"));
+    registry.register(LOGIN_SCREEN_NAME, buildScreen("Main menu", "1"));
+    assertThat(registry.findName(buildScreen("Main menu", "1"))).isEqualTo(LOGIN_SCREEN_NAME);
+  }
+
+  @Test
+  public void shouldGetSavedScreensWhenLoadRegistryFromSavedFile() throws Exception {
+    File file = new File(tempFolder.getRoot(), "screens.properties");
+    ScreenRegistry registry = new ScreenRegistry(file);
+    registry.register(MENU_SCREEN_NAME, buildScreen("Main menu", "1"));
+    registry.save();
+    assertThat(new ScreenRegistry(file).findName(buildScreen("Main menu", "2")))
+        .isEqualTo(MENU_SCREEN_NAME);
+  }
+
+  @Test
+  public void shouldGetRegisteredScreenWhenFindScreenOfRegistryLoadedFromSavedFile()
+      throws Exception {
+    File file = new File(tempFolder.getRoot(), "screens.properties");
+    ScreenRegistry registry = new ScreenRegistry(file);
+    Screen menu = buildScreen("Main menu", "1");
+    registry.register(MENU_SCREEN_NAME, menu);
+    registry.save();
+    assertThat(new ScreenRegistry(file).findScreen(menu.getFingerprint())).isEqualTo(menu);
+  }
+
+  @Test
+  public void shouldGetNullWhenFindScreenOfUnknownFingerprint() {
+    ScreenRegistry registry = new ScreenRegistry(null);
+    registry.register(MENU_SCREEN_NAME, buildScreen("Main menu", "1"));
+    assertThat(registry.findScreen(buildScreen("Sign on", "1").getFingerprint())).isNull();
+  }
+
+}
@@ -0,0 +1,63 @@
+package com.blazemeter.jmeter.rte.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Dimension;
+import org.junit.Test;
+
+public class ScreenSnapshotCodecTest {
+
+  private static final Position CURSOR_POSITION = new Position(2, 3);
+
+  private static Screen buildScreen() {
+    Screen screen = new Screen(new Dimension(10, 3));
+    screen.addSegment(0, "Name:");
+    screen.addField(6, "user");
+    screen.addSegment(10, "Password:");
+    screen.addSecretField(20, "secret\u0000\u0000");
+    return screen;
+  }
+
+  @Test
+  public void shouldGetEqualScreenWhenDecodeEncodedScreen() {
+    Screen screen = buildScreen();
+    assertThat(ScreenSnapshotCodec.decode(ScreenSnapshotCodec.encode(screen, CURSOR_POSITION)))
+        .isEqualTo(screen);
+  }
+
+  @Test
+  public void shouldGetSameTextWhenDecodeEncodedScreen() {
+    Screen screen = buildScreen();
+    assertThat(ScreenSnapshotCodec.decode(ScreenSnapshotCodec.encode(screen)).getText())
+        .isEqualTo(screen.getText());
+  }
+
+  @Test
+  public void shouldGetCursorPositionWhenDecodeCursorPositionOfScreenWithCursor() {
+    assertThat(ScreenSnapshotCodec
+        .decodeCursorPosition(ScreenSnapshotCodec.encode(buildScreen(), CURSOR_POSITION)))
+        .isEqualTo(CURSOR_POSITION);
+  }
+
+  @Test
+  public void shouldGetNullWhenDecodeCursorPositionOfScreenWithoutCursor() {
+    assertThat(ScreenSnapshotCodec.decodeCursorPosition(ScreenSnapshotCodec.encode(buildScreen())))
+        .isNull();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenDecodeUnknownFormatVersion() {
+    byte[] snapshot = ScreenSnapshotCodec.encode(buildScreen());
+    snapshot[0] = 0;
+    ScreenSnapshotCodec.decode(snapshot);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenDecodeTruncatedSnapshot() {
+    byte[] snapshot = ScreenSnapshotCodec.encode(buildScreen());
+    byte[] truncated = new byte[snapshot.length - 3];
+    System.arraycopy(snapshot, 0, truncated, 0, truncated.length);
+    ScreenSnapshotCodec.decode(truncated);
+  }
+
+}
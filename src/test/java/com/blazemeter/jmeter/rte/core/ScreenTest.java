@@ -7,6 +7,7 @@ import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
 import java.awt.Dimension;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -48,6 +49,17 @@ public class ScreenTest {
         .isEqualTo(WHITESPACES_FILLED_ROW + "\n" + WHITESPACES_FILLED_ROW + "\n");
   }
 
+  @Test
+  public void shouldGetUpdatedTextWhenGetTextAfterAddingSegment() {
+    Screen screen = buildScreen();
+    screen.addSegment(0, WHITESPACES_FILLED_ROW);
+    screen.getText();
+    screen.addSegment(SCREEN_WIDTH, S1_LITERAL);
+    assertThat(screen.getText()).isEqualTo(
+        WHITESPACES_FILLED_ROW + "\n" + S1_LITERAL + StringUtils.repeat(' ', SCREEN_WIDTH - 2)
+            + "\n");
+  }
+
   @Test
   public void shouldGetScreenTextWithAddedFieldsAndSegmentsWhenGetText() {
     Screen screen = new Screen(new Dimension(SCREEN_WIDTH * 3, SCREEN_HEIGHT));
@@ -81,6 +93,15 @@ public class ScreenTest {
         buildExpectedString("T est", screen.getSize().width, screen.getSize().height));
   }
 
+  @Test
+  public void shouldGetEncodedTextLengthWhenGetTextUtf8LengthWithoutBuildingText() {
+    Screen screen = buildScreen();
+    screen.addSegment(1, "\u00f1a");
+    screen.addField(4, "\u20ac\u0000");
+    assertThat(screen.getTextUtf8Length())
+        .isEqualTo(screen.getText().getBytes(StandardCharsets.UTF_8).length);
+  }
+
   @Test
   public void shouldGetAddedFieldsAndSegmentsWhenGetSegments() {
     Screen screen = new Screen(new Dimension(SCREEN_WIDTH * 2, SCREEN_HEIGHT));
@@ -115,6 +136,21 @@ public class ScreenTest {
     assertThat(screen.getSegments()).isEqualTo(expectedSegments);
   }
 
+  @Test(expected = UnsupportedOperationException.class)
+  public void shouldThrowUnsupportedOperationExceptionWhenModifyGotSegments() {
+    Screen screen = buildScreen();
+    screen.addSegment(0, S1_LITERAL);
+    screen.getSegments().clear();
+  }
+
+  @Test
+  public void shouldNotModifyCopiedScreenWhenAddSegmentToCopy() {
+    Screen screen = buildScreen();
+    screen.addSegment(0, S1_LITERAL);
+    new Screen(screen).addSegment(SCREEN_WIDTH, S2_LITERAL);
+    assertThat(screen.getSegments()).hasSize(1);
+  }
+
   @Test
   public void shouldGetScreenWithInvisibleCharsAsSpacesWhenWithInvisibleCharsAsSpaces() {
     Screen screen = buildScreen();
@@ -160,6 +196,48 @@ public class ScreenTest {
     return expectedScreen;
   }
 
+  @Test
+  public void shouldGetSameFingerprintWhenScreensOnlyDifferInFieldsContents() {
+    assertThat(buildFieldsScreen(F1_LITERAL).getFingerprint())
+        .isEqualTo(buildFieldsScreen(F2_LITERAL).getFingerprint());
+  }
+
+  private Screen buildFieldsScreen(String fieldText) {
+    Screen screen = buildScreen();
+    screen.addSegment(0, S1_LITERAL);
+    screen.addField(2, fieldText);
+    screen.addSegment(4, S2_LITERAL);
+    return screen;
+  }
+
+  @Test
+  public void shouldGetDifferentFingerprintWhenScreensDifferInProtectedText() {
+    Screen screen = buildScreen();
+    screen.addSegment(0, S2_LITERAL);
+    screen.addField(2, F1_LITERAL);
+    screen.addSegment(4, S2_LITERAL);
+    assertThat(screen.getFingerprint())
+        .isNotEqualTo(buildFieldsScreen(F1_LITERAL).getFingerprint());
+  }
+
+  @Test
+  public void shouldGetDifferentFingerprintWhenScreensDifferInFieldsLayout() {
+    Screen screen = buildScreen();
+    screen.addSegment(0, S1_LITERAL);
+    screen.addSegment(2, F1_LITERAL);
+    screen.addSegment(4, S2_LITERAL);
+    assertThat(screen.getFingerprint())
+        .isNotEqualTo(buildFieldsScreen(F1_LITERAL).getFingerprint());
+  }
+
+  @Test
+  public void shouldGetUpdatedFingerprintWhenGetFingerprintAfterAddingSegment() {
+    Screen screen = buildFieldsScreen(F1_LITERAL);
+    long fingerprint = screen.getFingerprint();
+    screen.addSegment(SCREEN_WIDTH, S1_LITERAL);
+    assertThat(screen.getFingerprint()).isNotEqualTo(fingerprint);
+  }
+
   @Test
   public void shouldGetScreenHtmlWhenGetHtml() throws Exception {
     XmlAssert.assertThat(buildHtmlTestScreen().getHtml())
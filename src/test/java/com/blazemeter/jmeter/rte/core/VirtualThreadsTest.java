@@ -0,0 +1,48 @@
+package com.blazemeter.jmeter.rte.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blazemeter.jmeter.rte.JMeterTestUtils;
+import org.apache.jmeter.util.JMeterUtils;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class VirtualThreadsTest {
+
+  private static final String THREAD_NAME_PREFIX = "TEST-THREAD-";
+
+  @BeforeClass
+  public static void setupClass() {
+    JMeterTestUtils.setupJmeterEnv();
+  }
+
+  @After
+  public void teardown() {
+    JMeterUtils.getJMeterProperties().remove(VirtualThreads.ENABLED_PROPERTY);
+  }
+
+  @Test
+  public void shouldNameThreadsWithPrefixAndSequenceWhenNewThreadFactory() {
+    assertThat(VirtualThreads.newThreadFactory(THREAD_NAME_PREFIX).newThread(() -> {
+    }).getName()).isEqualTo(THREAD_NAME_PREFIX + 1);
+  }
+
+  @Test
+  public void shouldCreateDaemonThreadsWhenNewDaemonThreadFactory() {
+    assertThat(VirtualThreads.newThreadFactory(THREAD_NAME_PREFIX, true).newThread(() -> {
+    }).isDaemon()).isTrue();
+  }
+
+  @Test
+  public void shouldNotBeEnabledWhenPropertyNotSet() {
+    assertThat(VirtualThreads.isEnabled()).isFalse();
+  }
+
+  @Test
+  public void shouldBeEnabledOnlyIfSupportedWhenPropertySet() {
+    JMeterUtils.setProperty(VirtualThreads.ENABLED_PROPERTY, "true");
+    assertThat(VirtualThreads.isEnabled()).isEqualTo(VirtualThreads.isSupported());
+  }
+
+}
@@ -0,0 +1,180 @@
+package com.blazemeter.jmeter.rte.core.pool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.blazemeter.jmeter.rte.core.RteProtocolClient;
+import com.blazemeter.jmeter.rte.core.ServerDisconnectHandler;
+import com.blazemeter.jmeter.rte.core.pool.RteConnectionPool.PooledSession;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RteConnectionPoolTest {
+
+  private static final String KEY = "server:23";
+  private static final String OTHER_KEY = "other:23";
+  private static final long TIMEOUT_MILLIS = 100;
+  private static final int MAX_SESSIONS = 1;
+
+  @Mock
+  private RteProtocolClient client;
+  @Mock
+  private RteProtocolClient otherClient;
+  private RteConnectionPool pool;
+
+  @Before
+  public void setup() {
+    pool = new RteConnectionPool(MAX_SESSIONS, 0, 0);
+  }
+
+  @Test
+  public void shouldReuseSessionWhenBorrowAfterRelease() throws Exception {
+    pool.borrow(KEY, () -> client, TIMEOUT_MILLIS);
+    pool.release(client);
+    PooledSession session = pool.borrow(KEY, () -> otherClient, TIMEOUT_MILLIS);
+    assertThat(session.getClient()).isSameAs(client);
+  }
+
+  @Test
+  public void shouldFlagSessionAsReusedWhenBorrowAfterRelease() throws Exception {
+    pool.borrow(KEY, () -> client, TIMEOUT_MILLIS);
+    pool.release(client);
+    assertThat(pool.borrow(KEY, () -> otherClient, TIMEOUT_MILLIS).isReused()).isTrue();
+  }
+
+  @Test
+  public void shouldNotFlagSessionAsReusedWhenNewlyCreated() throws Exception {
+    assertThat(pool.borrow(KEY, () -> client, TIMEOUT_MILLIS).isReused()).isFalse();
+  }
+
+  @Test(expected = TimeoutException.class)
+  public void shouldThrowTimeoutExceptionWhenBorrowAndNoSessionIsAvailable() throws Exception {
+    pool.borrow(KEY, () -> client, TIMEOUT_MILLIS);
+    pool.borrow(KEY, () -> otherClient, TIMEOUT_MILLIS);
+  }
+
+  @Test
+  public void shouldCreateNewSessionWhenBorrowWithDifferentKey() throws Exception {
+    pool.borrow(KEY, () -> client, TIMEOUT_MILLIS);
+    assertThat(pool.borrow(OTHER_KEY, () -> otherClient, TIMEOUT_MILLIS).getClient())
+        .isSameAs(otherClient);
+  }
+
+  @Test
+  public void shouldFreeSlotWhenSessionCreationFails() throws Exception {
+    try {
+      pool.borrow(KEY, () -> {
+        throw new TimeoutException();
+      }, TIMEOUT_MILLIS);
+    } catch (TimeoutException e) {
+      // expected failure on connection
+    }
+    assertThat(pool.borrow(KEY, () -> client, TIMEOUT_MILLIS).getClient()).isSameAs(client);
+  }
+
+  @Test
+  public void shouldReturnFalseWhenReleaseNotBorrowedClient() {
+    assertThat(pool.release(client)).isFalse();
+  }
+
+  @Test
+  public void shouldDisconnectSessionWhenReleaseBrokenSession() throws Exception {
+    pool.borrow(KEY, () -> client, TIMEOUT_MILLIS);
+    pool.markBroken(client);
+    pool.release(client);
+    verify(client).disconnect();
+  }
+
+  @Test
+  public void shouldCreateNewSessionWhenIdleSessionIsDisconnectedByServer() throws Exception {
+    AtomicReference<ServerDisconnectHandler> disconnectHandler = new AtomicReference<>();
+    doAnswer(a -> {
+      disconnectHandler.set(a.getArgument(0));
+      return null;
+    }).when(client).setDisconnectionHandler(any());
+    pool.borrow(KEY, () -> client, TIMEOUT_MILLIS);
+    pool.release(client);
+    disconnectHandler.get().onDisconnection(null);
+    assertThat(pool.borrow(KEY, () -> otherClient, TIMEOUT_MILLIS).getClient())
+        .isSameAs(otherClient);
+  }
+
+  @Test
+  public void shouldDisconnectSessionWhenReleaseBusySession() throws Exception {
+    pool.borrow(KEY, () -> client, TIMEOUT_MILLIS);
+    when(client.isBusy()).thenReturn(true);
+    pool.release(client);
+    verify(client).disconnect();
+  }
+
+  @Test
+  public void shouldCreateNewSessionWhenIdleSessionBecomesBusy() throws Exception {
+    pool.borrow(KEY, () -> client, TIMEOUT_MILLIS);
+    pool.release(client);
+    when(client.isBusy()).thenReturn(true);
+    assertThat(pool.borrow(KEY, () -> otherClient, TIMEOUT_MILLIS).getClient())
+        .isSameAs(otherClient);
+  }
+
+  @Test
+  public void shouldCreateNewSessionWhenIdleSessionExceedsMaxLifetime() throws Exception {
+    pool = new RteConnectionPool(MAX_SESSIONS, 0, 1);
+    pool.borrow(KEY, () -> client, TIMEOUT_MILLIS);
+    Thread.sleep(10);
+    pool.release(client);
+    assertThat(pool.borrow(KEY, () -> otherClient, TIMEOUT_MILLIS).getClient())
+        .isSameAs(otherClient);
+  }
+
+  @Test
+  public void shouldDisconnectIdleSessionsWhenClose() throws Exception {
+    pool.borrow(KEY, () -> client, TIMEOUT_MILLIS);
+    pool.release(client);
+    pool.close();
+    verify(client).disconnect();
+  }
+
+  @Test
+  public void shouldNotDisconnectIdleSessionWhenNotExpired() throws Exception {
+    pool.borrow(KEY, () -> client, TIMEOUT_MILLIS);
+    pool.release(client);
+    pool.borrow(KEY, () -> otherClient, TIMEOUT_MILLIS);
+    verify(client, never()).disconnect();
+  }
+
+  @Test
+  public void shouldBorrowPreConnectedSessionWhenPreConnected() throws Exception {
+    pool.preConnect(KEY, () -> client, 1, 1);
+    PooledSession session = pool.borrow(KEY, () -> otherClient, TIMEOUT_MILLIS);
+    assertThat(session.getClient()).isSameAs(client);
+    assertThat(session.isPreConnected()).isTrue();
+  }
+
+  @Test
+  public void shouldNotPreConnectMoreSessionsThanPoolMaxSize() throws Exception {
+    AtomicInteger connections = new AtomicInteger();
+    pool.preConnect(KEY, () -> {
+      connections.incrementAndGet();
+      return client;
+    }, 3, 3);
+    assertThat(connections.get()).isEqualTo(MAX_SESSIONS);
+  }
+
+  @Test
+  public void shouldNotPreConnectWhenSessionsAlreadyPreConnectedForKey() throws Exception {
+    pool.preConnect(KEY, () -> client, 1, 1);
+    assertThat(pool.preConnect(KEY, () -> otherClient, 1, 1)).isFalse();
+  }
+
+}
@@ -0,0 +1,58 @@
+package com.blazemeter.jmeter.rte.core.ssl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import javax.net.ssl.SSLContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SSLContextFactoryTest {
+
+  private static final String KEY_STORE_PASSWORD = "changeit";
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private File keyStore;
+
+  @Before
+  public void setup() throws Exception {
+    keyStore = tempFolder.newFile(".keystore");
+    Files.copy(new File(getClass().getResource("/.keystore").getFile()).toPath(),
+        keyStore.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    SSLContextFactory.setKeyStore(keyStore.getPath());
+    SSLContextFactory.setKeyStorePassword(KEY_STORE_PASSWORD);
+  }
+
+  @After
+  public void teardown() {
+    System.clearProperty("javax.net.ssl.keyStore");
+    System.clearProperty("javax.net.ssl.keyStorePassword");
+  }
+
+  @Test
+  public void shouldGetSameContextWhenGetSSLContextWithSameConfiguration() throws Exception {
+    assertThat(SSLContextFactory.getSSLContext(SSLType.TLS))
+        .isSameAs(SSLContextFactory.getSSLContext(SSLType.TLS));
+  }
+
+  @Test
+  public void shouldGetDifferentContextWhenGetSSLContextWithDifferentType() throws Exception {
+    assertThat(SSLContextFactory.getSSLContext(SSLType.TLS))
+        .isNotSameAs(SSLContextFactory.getSSLContext(SSLType.SSLV3));
+  }
+
+  @Test
+  public void shouldGetNewContextWhenGetSSLContextAfterKeyStoreChanges() throws Exception {
+    SSLContext context = SSLContextFactory.getSSLContext(SSLType.TLS);
+    assertThat(keyStore.setLastModified(keyStore.lastModified() - 10000)).isTrue();
+    assertThat(SSLContextFactory.getSSLContext(SSLType.TLS)).isNotSameAs(context);
+  }
+
+}
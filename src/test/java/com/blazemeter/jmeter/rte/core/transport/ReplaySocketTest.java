@@ -0,0 +1,73 @@
+package com.blazemeter.jmeter.rte.core.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blazemeter.jmeter.rte.core.transport.TrafficCapture.Record;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReplaySocketTest {
+
+  private static final byte[] WELCOME_SCREEN = new byte[]{1, 2, 3};
+  private static final byte[] LOGIN = new byte[]{4};
+  private static final byte[] MENU_SCREEN = new byte[]{5, 6};
+  private static final int READ_TIMEOUT_MILLIS = 100;
+
+  private ReplaySocket socket;
+
+  @Before
+  public void setup() throws Exception {
+    socket = new ReplaySocket(Arrays.asList(new Record(false, 0, WELCOME_SCREEN),
+        new Record(true, 10, LOGIN), new Record(false, 20, MENU_SCREEN)));
+    socket.connect(InetSocketAddress.createUnresolved("localhost", 23));
+    socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+  }
+
+  @After
+  public void teardown() {
+    socket.close();
+  }
+
+  @Test
+  public void shouldReadReceivedDataWhenReadFromStart() throws Exception {
+    assertThat(read(WELCOME_SCREEN.length)).isEqualTo(WELCOME_SCREEN);
+  }
+
+  private byte[] read(int length) throws Exception {
+    byte[] ret = new byte[length];
+    InputStream input = socket.getInputStream();
+    int offset = 0;
+    while (offset < length) {
+      offset += input.read(ret, offset, length - offset);
+    }
+    return ret;
+  }
+
+  @Test(expected = SocketTimeoutException.class)
+  public void shouldThrowSocketTimeoutExceptionWhenReadResponseWithoutSendingRequest()
+      throws Exception {
+    read(WELCOME_SCREEN.length);
+    read(MENU_SCREEN.length);
+  }
+
+  @Test
+  public void shouldReadResponseWhenReadAfterSendingRequest() throws Exception {
+    read(WELCOME_SCREEN.length);
+    socket.getOutputStream().write(LOGIN);
+    assertThat(read(MENU_SCREEN.length)).isEqualTo(MENU_SCREEN);
+  }
+
+  @Test
+  public void shouldGetEndOfStreamWhenReadAfterEndOfCapture() throws Exception {
+    read(WELCOME_SCREEN.length);
+    socket.getOutputStream().write(LOGIN);
+    read(MENU_SCREEN.length);
+    assertThat(socket.getInputStream().read()).isEqualTo(-1);
+  }
+
+}
@@ -0,0 +1,123 @@
+package com.blazemeter.jmeter.rte.core.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.blazemeter.jmeter.rte.JMeterTestUtils;
+import com.blazemeter.jmeter.rte.core.RteMetrics;
+import java.io.File;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import javax.net.SocketFactory;
+import javax.net.ssl.SSLSocketFactory;
+import org.apache.jmeter.util.JMeterUtils;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TransportTest {
+
+  private static final int BUFFER_SIZE = 4096;
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @BeforeClass
+  public static void setupClass() {
+    JMeterTestUtils.setupJmeterEnv();
+  }
+
+  @After
+  public void teardown() {
+    JMeterUtils.getJMeterProperties().remove(SocketOptions.TCP_NO_DELAY_PROPERTY);
+    JMeterUtils.getJMeterProperties().remove(SocketOptions.RECEIVE_BUFFER_SIZE_PROPERTY);
+    JMeterUtils.getJMeterProperties().remove(TrafficCapture.CAPTURE_DIRECTORY_PROPERTY);
+    JMeterUtils.getJMeterProperties().remove(TrafficCapture.REPLAY_FILE_PROPERTY);
+  }
+
+  @Test
+  public void shouldGetSSLSocketFactoryWhenDecorateSSLSocketFactory() {
+    assertThat(Transport.decorate(SSLSocketFactory.getDefault()))
+        .isInstanceOf(SSLSocketFactory.class);
+  }
+
+  @Test
+  public void shouldNotGetSSLSocketFactoryWhenDecoratePlainSocketFactory() {
+    assertThat(Transport.decorate(SocketFactory.getDefault()))
+        .isNotInstanceOf(SSLSocketFactory.class);
+  }
+
+  @Test
+  public void shouldKeepNagleAlgorithmWhenCreateSocket() throws Exception {
+    try (Socket socket = Transport.decorate(SocketFactory.getDefault()).createSocket()) {
+      assertThat(socket.getTcpNoDelay()).isFalse();
+    }
+  }
+
+  @Test
+  public void shouldDisableNagleAlgorithmWhenCreateSocketWithTcpNoDelayEnabled() throws Exception {
+    JMeterUtils.setProperty(SocketOptions.TCP_NO_DELAY_PROPERTY, "true");
+    try (Socket socket = Transport.decorate(SocketFactory.getDefault()).createSocket()) {
+      assertThat(socket.getTcpNoDelay()).isTrue();
+    }
+  }
+
+  @Test
+  public void shouldRegisterSentAndReceivedBytesWhenUseSocket() throws Exception {
+    RteMetrics metrics = RteMetrics.getInstance();
+    long sentBytes = metrics.getBytesSent();
+    long receivedBytes = metrics.getBytesReceived();
+    try (ServerSocket server = new ServerSocket(0);
+        Socket socket = Transport.decorate(SocketFactory.getDefault())
+            .createSocket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+        Socket serverSocket = server.accept()) {
+      socket.getOutputStream().write(new byte[]{1, 2, 3});
+      serverSocket.getInputStream().read(new byte[3]);
+      serverSocket.getOutputStream().write(new byte[]{4, 5});
+      socket.getInputStream().read(new byte[2]);
+    }
+    assertThat(new long[]{metrics.getBytesSent() - sentBytes,
+        metrics.getBytesReceived() - receivedBytes}).containsExactly(3, 2);
+  }
+
+  @Test
+  public void shouldCaptureTrafficWhenUseSocketWithConfiguredCaptureDirectory()
+      throws Exception {
+    File captureDirectory = tempFolder.getRoot();
+    JMeterUtils.setProperty(TrafficCapture.CAPTURE_DIRECTORY_PROPERTY, captureDirectory.getPath());
+    try (ServerSocket server = new ServerSocket(0);
+        Socket socket = Transport.decorate(SocketFactory.getDefault())
+            .createSocket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+        Socket serverSocket = server.accept()) {
+      serverSocket.getOutputStream().write(new byte[]{1, 2});
+      socket.getInputStream().read(new byte[2]);
+      socket.getOutputStream().write(new byte[]{3});
+    }
+    File[] captures = captureDirectory.listFiles();
+    assertThat(captures).hasSize(1);
+    assertThat(TrafficCapture.read(captures[0]))
+        .extracting(TrafficCapture.Record::isSent, TrafficCapture.Record::getData)
+        .containsExactly(tuple(false, new byte[]{1, 2}), tuple(true, new byte[]{3}));
+  }
+
+  @Test
+  public void shouldGetReplaySocketWhenCreateSocketWithConfiguredReplayFile() throws Exception {
+    JMeterUtils.setProperty(TrafficCapture.REPLAY_FILE_PROPERTY,
+        tempFolder.newFile().getPath());
+    assertThat(Transport.decorate(SSLSocketFactory.getDefault()))
+        .isInstanceOf(ReplaySocketFactory.class);
+  }
+
+  @Test
+  public void shouldSetReceiveBufferSizeWhenCreateSocketWithConfiguredBufferSize()
+      throws Exception {
+    JMeterUtils.setProperty(SocketOptions.RECEIVE_BUFFER_SIZE_PROPERTY, "" + BUFFER_SIZE);
+    try (Socket socket = Transport.decorate(SocketFactory.getDefault()).createSocket()) {
+      assertThat(socket.getReceiveBufferSize()).isGreaterThanOrEqualTo(BUFFER_SIZE);
+    }
+  }
+
+}
@@ -0,0 +1,63 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blazemeter.jmeter.rte.core.Position;
+import com.blazemeter.jmeter.rte.core.Screen;
+import java.util.Arrays;
+import org.apache.oro.text.regex.MalformedPatternException;
+import org.apache.oro.text.regex.Perl5Compiler;
+import org.apache.oro.text.regex.Perl5Matcher;
+import org.junit.Test;
+
+public class AnyOfWaitConditionTest {
+
+  private static final Screen SCREEN = Screen.valueOf("ORDER ACCEPTED\n");
+
+  private static TextWaitCondition buildBranch(String regex) throws MalformedPatternException {
+    return new TextWaitCondition(new Perl5Compiler().compile(regex), new Perl5Matcher(),
+        Area.fromTopLeftBottomRight(1, 1, Position.UNSPECIFIED_INDEX, Position.UNSPECIFIED_INDEX),
+        60000, 1000);
+  }
+
+  private static AnyOfWaitCondition buildCondition(String... regexes)
+      throws MalformedPatternException {
+    TextWaitCondition[] branches = new TextWaitCondition[regexes.length];
+    for (int i = 0; i < regexes.length; i++) {
+      branches[i] = buildBranch(regexes[i]);
+    }
+    return new AnyOfWaitCondition(Arrays.asList(branches), 60000, 1000);
+  }
+
+  @Test
+  public void shouldMatchScreenWhenAnyBranchMatches() throws Exception {
+    assertThat(buildCondition("CREDIT LIMIT EXCEEDED", "ORDER ACCEPTED").matchesScreen(SCREEN))
+        .isTrue();
+  }
+
+  @Test
+  public void shouldNotMatchScreenWhenNoBranchMatches() throws Exception {
+    assertThat(buildCondition("CREDIT LIMIT EXCEEDED", "ORDER REJECTED").matchesScreen(SCREEN))
+        .isFalse();
+  }
+
+  @Test
+  public void shouldGetMatchingBranchIndexWhenFindMatchingBranch() throws Exception {
+    assertThat(buildCondition("CREDIT LIMIT EXCEEDED", "ORDER ACCEPTED")
+        .findMatchingBranch(SCREEN))
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void shouldGetFirstMatchingBranchIndexWhenSeveralBranchesMatch() throws Exception {
+    assertThat(buildCondition("ORDER", "ACCEPTED").findMatchingBranch(SCREEN))
+        .isEqualTo(0);
+  }
+
+  @Test
+  public void shouldGetNegativeIndexWhenFindMatchingBranchAndNoBranchMatches() throws Exception {
+    assertThat(buildCondition("CREDIT LIMIT EXCEEDED").findMatchingBranch(SCREEN))
+        .isEqualTo(-1);
+  }
+
+}
@@ -0,0 +1,201 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import com.blazemeter.jmeter.rte.core.Screen;
+import com.blazemeter.jmeter.rte.core.exceptions.ErrorScreenException;
+import com.blazemeter.jmeter.rte.core.exceptions.RteIOException;
+import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConditionWaiterTest {
+
+  private static final long STABLE_MILLIS = 50;
+  private static final long SHORT_TIMEOUT_MILLIS = 300;
+  private static final long LONG_TIMEOUT_MILLIS = 5000;
+
+  private ScheduledExecutorService executor;
+  private ExceptionHandler exceptionHandler;
+
+  @Before
+  public void setup() {
+    executor = Executors.newSingleThreadScheduledExecutor();
+    exceptionHandler = new ExceptionHandler("server");
+  }
+
+  @After
+  public void teardown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldEndWhenAwaitAllAndAllConditionsAreMet() throws Exception {
+    TestWaiter longWaiter = new TestWaiter(LONG_TIMEOUT_MILLIS);
+    TestWaiter shortWaiter = new TestWaiter(SHORT_TIMEOUT_MILLIS);
+    longWaiter.meetConditionIn(100);
+    shortWaiter.meetConditionIn(150);
+    ConditionWaiter.awaitAll(Arrays.asList(longWaiter, shortWaiter));
+  }
+
+  @Test
+  public void shouldGetLastConditionMetTimeWhenAwaitAll() throws Exception {
+    TestWaiter firstWaiter = new TestWaiter(LONG_TIMEOUT_MILLIS);
+    TestWaiter lastWaiter = new TestWaiter(SHORT_TIMEOUT_MILLIS);
+    long startTime = System.currentTimeMillis();
+    firstWaiter.meetConditionIn(50);
+    lastWaiter.meetConditionIn(150);
+    assertThat(ConditionWaiter.awaitAll(Arrays.asList(firstWaiter, lastWaiter)))
+        .isBetween(startTime + 150, System.currentTimeMillis() - STABLE_MILLIS);
+  }
+
+  @Test(expected = TimeoutException.class)
+  public void shouldThrowTimeoutExceptionWhenAwaitAllAndConditionNotMetWithinItsTimeout()
+      throws Exception {
+    TestWaiter longWaiter = new TestWaiter(LONG_TIMEOUT_MILLIS);
+    TestWaiter shortWaiter = new TestWaiter(SHORT_TIMEOUT_MILLIS);
+    longWaiter.meetConditionIn(SHORT_TIMEOUT_MILLIS * 2);
+    ConditionWaiter.awaitAll(Arrays.asList(longWaiter, shortWaiter));
+  }
+
+  @Test
+  public void shouldFailAtEarliestDeadlineWhenAwaitAllAndNoConditionIsMet() throws Exception {
+    TestWaiter longWaiter = new TestWaiter(LONG_TIMEOUT_MILLIS);
+    TestWaiter shortWaiter = new TestWaiter(SHORT_TIMEOUT_MILLIS);
+    long startTime = System.currentTimeMillis();
+    try {
+      ConditionWaiter.awaitAll(Arrays.asList(longWaiter, shortWaiter));
+    } catch (TimeoutException e) {
+      assertThat(System.currentTimeMillis() - startTime).isLessThan(LONG_TIMEOUT_MILLIS);
+      return;
+    }
+    fail("Expected timeout exception");
+  }
+
+  @Test(expected = RteIOException.class)
+  public void shouldThrowRteIOExceptionWhenAwaitAllWithMetConditionsAndErrorIsNotified()
+      throws Exception {
+    TestWaiter metWaiter = new TestWaiter(SHORT_TIMEOUT_MILLIS);
+    TestWaiter waiter = new TestWaiter(LONG_TIMEOUT_MILLIS);
+    metWaiter.meetConditionIn(0);
+    executor.schedule(() -> exceptionHandler.setPendingError(new IllegalStateException()),
+        STABLE_MILLIS * 2, TimeUnit.MILLISECONDS);
+    ConditionWaiter.awaitAll(Arrays.asList(metWaiter, waiter));
+  }
+
+  @Test(expected = RteIOException.class)
+  public void shouldThrowRteIOExceptionWhenAwaitAllAndErrorIsNotified() throws Exception {
+    TestWaiter waiter = new TestWaiter(LONG_TIMEOUT_MILLIS);
+    executor.schedule(() -> exceptionHandler.setPendingError(new IllegalStateException()), 10,
+        TimeUnit.MILLISECONDS);
+    ConditionWaiter.awaitAll(Arrays.asList(waiter));
+  }
+
+  @Test
+  public void shouldThrowErrorScreenExceptionWhenAwaitAllAndErrorScreenIsFound()
+      throws Exception {
+    TestWaiter waiter = new TestWaiter(LONG_TIMEOUT_MILLIS);
+    ErrorScreenTestWaiter errorScreenWaiter = new ErrorScreenTestWaiter();
+    long startTime = System.currentTimeMillis();
+    errorScreenWaiter.showErrorScreenIn(50);
+    try {
+      ConditionWaiter.awaitAll(Arrays.asList(waiter, errorScreenWaiter));
+    } catch (RteIOException e) {
+      assertThat(e.getCause()).isInstanceOf(ErrorScreenException.class);
+      assertThat(System.currentTimeMillis() - startTime).isLessThan(LONG_TIMEOUT_MILLIS);
+      return;
+    }
+    fail("Expected error screen exception");
+  }
+
+  @Test
+  public void shouldEndWhenAwaitAllAndConditionsAreMetWithoutErrorScreen() throws Exception {
+    TestWaiter waiter = new TestWaiter(SHORT_TIMEOUT_MILLIS);
+    waiter.meetConditionIn(50);
+    ConditionWaiter.awaitAll(Arrays.asList(waiter, new ErrorScreenTestWaiter()));
+  }
+
+  @Test
+  public void shouldEndWhenAwaitAllAndEventArrivesOnErrorScreenPreviousToWait() throws Exception {
+    TestWaiter waiter = new TestWaiter(SHORT_TIMEOUT_MILLIS);
+    ErrorScreenTestWaiter errorScreenWaiter = new ErrorScreenTestWaiter(true);
+    errorScreenWaiter.notifyEventIn(10);
+    waiter.meetConditionIn(50);
+    ConditionWaiter.awaitAll(Arrays.asList(waiter, errorScreenWaiter));
+  }
+
+  private class TestWaiter extends ConditionWaiter<SyncWaitCondition> {
+
+    private volatile boolean conditionMet;
+
+    private TestWaiter(long timeoutMillis) {
+      super(new SyncWaitCondition(timeoutMillis, STABLE_MILLIS), executor, exceptionHandler);
+    }
+
+    private void meetConditionIn(long delayMillis) {
+      executor.schedule(() -> {
+        conditionMet = true;
+        updateConditionState("condition met");
+      }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected boolean getCurrentConditionState() {
+      return conditionMet;
+    }
+
+  }
+
+  private class ErrorScreenTestWaiter extends ConditionWaiter<ErrorScreenWaitCondition> {
+
+    private volatile boolean errorScreenShown;
+
+    private ErrorScreenTestWaiter() {
+      this(false);
+    }
+
+    private ErrorScreenTestWaiter(boolean errorScreenShown) {
+      super(new ErrorScreenWaitCondition(new ScreenWaitCondition(0, 0) {
+
+        @Override
+        public boolean matchesScreen(Screen screen) {
+          return false;
+        }
+
+        @Override
+        public String getDescription() {
+          return "test error";
+        }
+
+      }), executor, exceptionHandler);
+      this.errorScreenShown = errorScreenShown;
+      initialVerificationOfCondition();
+    }
+
+    private void showErrorScreenIn(long delayMillis) {
+      executor.schedule(() -> {
+        errorScreenShown = true;
+        updateConditionState("error screen shown");
+      }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void notifyEventIn(long delayMillis) {
+      executor.schedule(() -> updateConditionState("screen event"), delayMillis,
+          TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected boolean getCurrentConditionState() {
+      return errorScreenShown;
+    }
+
+  }
+
+}
@@ -0,0 +1,31 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blazemeter.jmeter.rte.core.Screen;
+import org.junit.Test;
+
+public class KnownScreenWaitConditionTest {
+
+  private static final Screen MENU_SCREEN = Screen.valueOf("MAIN MENU\n");
+  private static final Screen SIGN_ON_SCREEN = Screen.valueOf("SIGN ON  \n");
+
+  private static KnownScreenWaitCondition buildCondition(Screen... screens) {
+    long[] fingerprints = new long[screens.length];
+    for (int i = 0; i < screens.length; i++) {
+      fingerprints[i] = screens[i].getFingerprint();
+    }
+    return new KnownScreenWaitCondition("MENU01", fingerprints, 60000, 1000);
+  }
+
+  @Test
+  public void shouldMatchScreenWhenScreenHasKnownFingerprint() {
+    assertThat(buildCondition(SIGN_ON_SCREEN, MENU_SCREEN).matchesScreen(MENU_SCREEN)).isTrue();
+  }
+
+  @Test
+  public void shouldNotMatchScreenWhenScreenHasUnknownFingerprint() {
+    assertThat(buildCondition(MENU_SCREEN).matchesScreen(SIGN_ON_SCREEN)).isFalse();
+  }
+
+}
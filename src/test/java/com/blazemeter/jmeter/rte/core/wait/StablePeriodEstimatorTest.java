@@ -0,0 +1,80 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blazemeter.jmeter.rte.core.wait.StablePeriodEstimator.LearningSample;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StablePeriodEstimatorTest {
+
+  private static final long CONFIGURED_STABLE_PERIOD_MILLIS = 1000;
+  private static final int LEARNING_SAMPLES = 100;
+
+  private StablePeriodEstimator estimator;
+
+  @Before
+  public void setup() {
+    estimator = new StablePeriodEstimator(0.01);
+  }
+
+  @Test
+  public void shouldGetConfiguredStablePeriodWhenNotEnoughSamples() {
+    registerSamples(LEARNING_SAMPLES - 1, 0);
+    assertThat(estimator.nextStablePeriod(CONFIGURED_STABLE_PERIOD_MILLIS))
+        .isEqualTo(CONFIGURED_STABLE_PERIOD_MILLIS);
+  }
+
+  private void registerSamples(int count, long interruptionMillis) {
+    for (int i = 0; i < count; i++) {
+      estimator.registerSample(buildSample(interruptionMillis));
+    }
+  }
+
+  private LearningSample buildSample(long interruptionMillis) {
+    LearningSample ret = new LearningSample();
+    if (interruptionMillis > 0) {
+      ret.onStablePeriodInterrupted(interruptionMillis);
+    }
+    return ret;
+  }
+
+  @Test
+  public void shouldGetConfiguredStablePeriodWhenFirstSampleAfterLearning() {
+    registerSamples(LEARNING_SAMPLES, 0);
+    assertThat(estimator.nextStablePeriod(CONFIGURED_STABLE_PERIOD_MILLIS))
+        .isEqualTo(CONFIGURED_STABLE_PERIOD_MILLIS);
+  }
+
+  @Test
+  public void shouldGetMinStablePeriodWhenNoInterruptions() {
+    registerSamples(LEARNING_SAMPLES, 0);
+    estimator.nextStablePeriod(CONFIGURED_STABLE_PERIOD_MILLIS);
+    assertThat(estimator.nextStablePeriod(CONFIGURED_STABLE_PERIOD_MILLIS)).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldGetStablePeriodLongerThanInterruptionsWhenInterruptionsOverRate() {
+    registerSamples(LEARNING_SAMPLES, 200);
+    estimator.nextStablePeriod(CONFIGURED_STABLE_PERIOD_MILLIS);
+    assertThat(estimator.nextStablePeriod(CONFIGURED_STABLE_PERIOD_MILLIS))
+        .isBetween(200L, CONFIGURED_STABLE_PERIOD_MILLIS);
+  }
+
+  @Test
+  public void shouldIgnoreInterruptionsWhenUnderRate() {
+    registerSamples(LEARNING_SAMPLES - 1, 0);
+    registerSamples(1, 500);
+    estimator.nextStablePeriod(CONFIGURED_STABLE_PERIOD_MILLIS);
+    assertThat(estimator.nextStablePeriod(CONFIGURED_STABLE_PERIOD_MILLIS)).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldGetConfiguredStablePeriodWhenInterruptionsLongerThanConfigured() {
+    registerSamples(LEARNING_SAMPLES, 5000);
+    estimator.nextStablePeriod(CONFIGURED_STABLE_PERIOD_MILLIS);
+    assertThat(estimator.nextStablePeriod(CONFIGURED_STABLE_PERIOD_MILLIS))
+        .isEqualTo(CONFIGURED_STABLE_PERIOD_MILLIS);
+  }
+
+}
@@ -0,0 +1,58 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class StableTimeoutSchedulerTest {
+
+  private static final long TIMEOUT_MILLIS = 5000;
+
+  @After
+  public void teardown() {
+    StableTimeoutScheduler.shutdownInstance();
+  }
+
+  @Test
+  public void shouldShareSchedulerBetweenGetInstanceInvocations() {
+    assertThat(StableTimeoutScheduler.getInstance())
+        .isSameAs(StableTimeoutScheduler.getInstance());
+  }
+
+  @Test
+  public void shouldShutdownSchedulerWhenShutdownInstance() {
+    StableTimeoutScheduler scheduler = StableTimeoutScheduler.getInstance();
+    StableTimeoutScheduler.shutdownInstance();
+    assertThat(scheduler.isShutdown()).isTrue();
+  }
+
+  @Test
+  public void shouldGetNewSchedulerWhenGetInstanceAfterShutdownInstance() {
+    StableTimeoutScheduler scheduler = StableTimeoutScheduler.getInstance();
+    StableTimeoutScheduler.shutdownInstance();
+    assertThat(StableTimeoutScheduler.getInstance()).isNotSameAs(scheduler);
+  }
+
+  @Test
+  public void shouldRegisterExecutedTaskWhenScheduledTaskRuns() throws Exception {
+    StableTimeoutScheduler scheduler = StableTimeoutScheduler.getInstance();
+    CountDownLatch latch = new CountDownLatch(1);
+    scheduler.schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+    latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    assertThat(scheduler.getExecutedTasks()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRemoveTaskFromQueueWhenCancelled() {
+    StableTimeoutScheduler scheduler = StableTimeoutScheduler.getInstance();
+    ScheduledFuture<?> task = scheduler.schedule(() -> {
+    }, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    task.cancel(false);
+    assertThat(scheduler.getQueueDepth()).isEqualTo(0);
+  }
+
+}
@@ -6,6 +6,12 @@ import static org.mockito.Mockito.when;
 import com.blazemeter.jmeter.rte.core.Position;
 import com.blazemeter.jmeter.rte.core.Screen;
 import java.awt.Dimension;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.oro.text.regex.MalformedPatternException;
 import org.apache.oro.text.regex.Perl5Compiler;
 import org.apache.oro.text.regex.Perl5Matcher;
@@ -95,4 +101,59 @@ public class TextWaitConditionTest {
         .isTrue();
   }
 
+  @Test
+  public void shouldMatchScreenWhenMatchedQuotedTextSpanningRows() throws Exception {
+    assertThat(buildCondition(Perl5Compiler.quotemeta("the   |\n|  awesome"), DEFAULT_SEARCH_AREA)
+        .matchesScreen(screen))
+        .isTrue();
+  }
+
+  @Test
+  public void shouldNotMatchScreenWhenQuotedTextNotInArea() throws Exception {
+    assertThat(buildCondition(Perl5Compiler.quotemeta("server!"),
+        Area.fromTopLeftBottomRight(3, 1, 3, 10))
+        .matchesScreen(screen))
+        .isFalse();
+  }
+
+  @Test
+  public void shouldMatchScreenWhenCaseInsensitiveRegexWithoutSpecialChars() throws Exception {
+    assertThat(new TextWaitCondition(
+        new Perl5Compiler().compile("AWESOME", Perl5Compiler.CASE_INSENSITIVE_MASK),
+        new Perl5Matcher(), DEFAULT_SEARCH_AREA, 60000, 1000)
+        .matchesScreen(screen))
+        .isTrue();
+  }
+
+  @Test
+  public void shouldMatchEachScreenWhenEvaluatedConcurrentlyFromSeveralThreads() throws Exception {
+    TextWaitCondition condition = buildCondition(Perl5Compiler.quotemeta(MATCHING_SIMPLE_REGEX),
+        DEFAULT_SEARCH_AREA);
+    Screen matchingScreen = Screen.valueOf(SCREEN);
+    Screen notMatchingScreen = Screen.valueOf(SCREEN.replace("awesome", "regular"));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      List<Future<Boolean>> results = executor.invokeAll(Arrays.asList(
+          buildRepeatedMatch(condition, matchingScreen, true),
+          buildRepeatedMatch(condition, notMatchingScreen, false)));
+      for (Future<Boolean> result : results) {
+        assertThat(result.get()).isTrue();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Callable<Boolean> buildRepeatedMatch(TextWaitCondition condition, Screen screen,
+      boolean expected) {
+    return () -> {
+      for (int i = 0; i < 10000; i++) {
+        if (condition.matchesScreen(screen) != expected) {
+          return false;
+        }
+      }
+      return true;
+    };
+  }
+
 }
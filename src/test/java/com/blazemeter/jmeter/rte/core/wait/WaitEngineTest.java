@@ -0,0 +1,129 @@
+package com.blazemeter.jmeter.rte.core.wait;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WaitEngineTest {
+
+  private static final long STABLE_MILLIS = 50;
+  private static final long TIMEOUT_MILLIS = 5000;
+  private static final long SHORT_TIMEOUT_MILLIS = 300;
+  private static final long CONDITION_MET_DELAY_MILLIS = 400;
+
+  private ScheduledExecutorService executor;
+  private ExceptionHandler exceptionHandler;
+  private volatile boolean conditionMet;
+  private WaitEngine<TestWaiter> engine;
+
+  @Before
+  public void setup() {
+    executor = Executors.newSingleThreadScheduledExecutor();
+    exceptionHandler = new ExceptionHandler("server");
+    engine = new WaitEngine<>(TestWaiter::new, false);
+  }
+
+  @After
+  public void teardown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldEndWaitWhenDispatchedEventMeetsCondition() throws Exception {
+    executor.schedule(() -> {
+      conditionMet = true;
+      engine.dispatch(TestWaiter::onEvent);
+    }, 100, TimeUnit.MILLISECONDS);
+    engine.await(Collections.singletonList(new SyncWaitCondition(TIMEOUT_MILLIS, STABLE_MILLIS)),
+        null);
+  }
+
+  @Test(expected = TimeoutException.class)
+  public void shouldThrowTimeoutExceptionWhenConditionMetWithoutDispatchingEvent()
+      throws Exception {
+    executor.schedule(() -> conditionMet = true, 100, TimeUnit.MILLISECONDS);
+    engine.await(Collections.singletonList(new SyncWaitCondition(300, STABLE_MILLIS)), null);
+  }
+
+  @Test
+  public void shouldEndWaitWhenConditionMetBeforeWaiterIsRegistered() throws Exception {
+    engine = new WaitEngine<>(condition -> {
+      TestWaiter waiter = new TestWaiter(condition);
+      conditionMet = true;
+      return waiter;
+    }, false);
+    engine.await(Collections.singletonList(new SyncWaitCondition(300, STABLE_MILLIS)), null);
+  }
+
+  @Test
+  public void shouldRemoveWaitersWhenWaitEnds() throws Exception {
+    conditionMet = true;
+    engine.await(Collections.singletonList(new SyncWaitCondition(TIMEOUT_MILLIS, STABLE_MILLIS)),
+        null);
+    assertThat(engine.getWaitersCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCountTimeoutAfterPreviousConditionsWhenAwaitConditionsOneAfterOther()
+      throws Exception {
+    meetConditionsIn(CONDITION_MET_DELAY_MILLIS);
+    engine.await(buildLongAndShortTimeoutConditions(), null);
+  }
+
+  private void meetConditionsIn(long delayMillis) {
+    executor.schedule(() -> {
+      conditionMet = true;
+      engine.dispatch(TestWaiter::onEvent);
+    }, delayMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private List<WaitCondition> buildLongAndShortTimeoutConditions() {
+    return Arrays.asList(new SyncWaitCondition(TIMEOUT_MILLIS, STABLE_MILLIS),
+        new SyncWaitCondition(SHORT_TIMEOUT_MILLIS, STABLE_MILLIS));
+  }
+
+  @Test
+  public void shouldFailAtEarliestDeadlineWhenCombinedWaitAndConditionsAreNotMetInTime()
+      throws Exception {
+    engine = new WaitEngine<>(TestWaiter::new, true);
+    meetConditionsIn(CONDITION_MET_DELAY_MILLIS);
+    long startTime = System.currentTimeMillis();
+    try {
+      engine.await(buildLongAndShortTimeoutConditions(), null);
+    } catch (TimeoutException e) {
+      assertThat(System.currentTimeMillis() - startTime).isLessThan(CONDITION_MET_DELAY_MILLIS);
+      return;
+    }
+    fail("Expected timeout exception");
+  }
+
+  private class TestWaiter extends ConditionWaiter<WaitCondition> {
+
+    private TestWaiter(WaitCondition condition) {
+      super(condition, executor, exceptionHandler);
+      initialVerificationOfCondition();
+    }
+
+    private void onEvent() {
+      updateConditionState("test event");
+    }
+
+    @Override
+    protected boolean getCurrentConditionState() {
+      return conditionMet;
+    }
+
+  }
+
+}
@@ -0,0 +1,258 @@
+package com.blazemeter.jmeter.rte.protocols;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scripted host which replays a flow (in same YAML format used by wiresham virtual services) to
+ * any number of concurrent connections, using a single thread with non blocking IO.
+ * <p>
+ * Unlike wiresham virtual service, it is meant to calibrate the overhead of the plugin in a load
+ * generator, so server data is sent as soon as the expected client data is received (flow delays
+ * are ignored), and client data is only checked by its length.
+ */
+public class MockHost implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MockHost.class);
+  private static final Pattern STEP_PATTERN = Pattern
+      .compile("!(server|client)\\s*\\{\\s*data:\\s*'?([0-9A-Fa-f]*)'?");
+  private static final int READ_BUFFER_SIZE = 8192;
+  private static final long STOP_TIMEOUT_MILLIS = 5000;
+
+  private final List<Step> flow;
+  private final AtomicLong acceptedConnections = new AtomicLong();
+  private final AtomicLong completedFlows = new AtomicLong();
+  private ServerSocketChannel serverChannel;
+  private Selector selector;
+  private Thread thread;
+
+  public MockHost(List<Step> flow) {
+    this.flow = flow;
+  }
+
+  public static List<Step> loadFlow(File file) throws IOException {
+    List<Step> ret = new ArrayList<>();
+    StringBuilder step = new StringBuilder();
+    for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+      if (line.trim().startsWith("#")) {
+        continue;
+      }
+      if (line.startsWith("- ") && step.length() > 0) {
+        ret.add(parseStep(step.toString()));
+        step.setLength(0);
+      }
+      step.append(line.trim());
+    }
+    if (step.length() > 0) {
+      ret.add(parseStep(step.toString()));
+    }
+    return ret;
+  }
+
+  private static Step parseStep(String step) {
+    Matcher matcher = STEP_PATTERN.matcher(step);
+    if (!matcher.find()) {
+      throw new IllegalArgumentException("Invalid flow step: " + step);
+    }
+    String hex = matcher.group(2);
+    byte[] data = new byte[hex.length() / 2];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+    }
+    return new Step("server".equals(matcher.group(1)), data);
+  }
+
+  public void start() throws IOException {
+    selector = Selector.open();
+    serverChannel = ServerSocketChannel.open();
+    serverChannel.bind(new InetSocketAddress("localhost", 0));
+    serverChannel.configureBlocking(false);
+    serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    thread = new Thread(this::run, "MOCK-HOST");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  public int getPort() {
+    return serverChannel.socket().getLocalPort();
+  }
+
+  public long getAcceptedConnections() {
+    return acceptedConnections.get();
+  }
+
+  public long getCompletedFlows() {
+    return completedFlows.get();
+  }
+
+  private void run() {
+    ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    try {
+      while (!Thread.currentThread().isInterrupted() && selector.isOpen()) {
+        selector.select();
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          try {
+            if (!key.isValid()) {
+              continue;
+            }
+            if (key.isAcceptable()) {
+              accept();
+            } else {
+              Session session = (Session) key.attachment();
+              if (key.isReadable()) {
+                session.read(readBuffer);
+              }
+              if (key.isValid() && key.isWritable()) {
+                session.write();
+              }
+            }
+          } catch (IOException e) {
+            LOG.debug("Closing mock host connection due to error", e);
+            closeQuietly(key.channel());
+          }
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      if (selector.isOpen()) {
+        LOG.error("Problem in mock host", e);
+      }
+    }
+  }
+
+  private void accept() throws IOException {
+    SocketChannel channel = serverChannel.accept();
+    if (channel == null) {
+      return;
+    }
+    acceptedConnections.incrementAndGet();
+    channel.configureBlocking(false);
+    channel.socket().setTcpNoDelay(true);
+    Session session = new Session(channel);
+    session.key = channel.register(selector, SelectionKey.OP_READ, session);
+    session.advance();
+  }
+
+  private static void closeQuietly(Closeable closeable) {
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      LOG.debug("Problem closing mock host channel", e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (selector == null) {
+      return;
+    }
+    for (SelectionKey key : selector.keys()) {
+      closeQuietly(key.channel());
+    }
+    selector.close();
+    thread.interrupt();
+    try {
+      thread.join(STOP_TIMEOUT_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public static class Step {
+
+    private final boolean fromServer;
+    private final byte[] data;
+
+    public Step(boolean fromServer, byte[] data) {
+      this.fromServer = fromServer;
+      this.data = data;
+    }
+
+  }
+
+  private class Session {
+
+    private final SocketChannel channel;
+    private final Deque<ByteBuffer> pendingWrites = new ArrayDeque<>();
+    private SelectionKey key;
+    private int nextStep;
+    private int pendingClientBytes;
+
+    private Session(SocketChannel channel) {
+      this.channel = channel;
+    }
+
+    /*
+    Sends all server steps until next client step, and counts the flow as completed when no more
+    steps remain.
+     */
+    private void advance() throws IOException {
+      while (nextStep < flow.size() && pendingClientBytes == 0) {
+        Step step = flow.get(nextStep++);
+        if (step.fromServer) {
+          pendingWrites.add(ByteBuffer.wrap(step.data));
+        } else {
+          pendingClientBytes = step.data.length;
+        }
+      }
+      if (nextStep >= flow.size() && pendingClientBytes == 0) {
+        completedFlows.incrementAndGet();
+      }
+      write();
+    }
+
+    private void read(ByteBuffer buffer) throws IOException {
+      buffer.clear();
+      int read = channel.read(buffer);
+      if (read < 0) {
+        closeQuietly(channel);
+        return;
+      }
+      // data received after the end of the flow is ignored
+      while (read > 0 && pendingClientBytes > 0) {
+        int consumed = Math.min(read, pendingClientBytes);
+        pendingClientBytes -= consumed;
+        read -= consumed;
+        if (pendingClientBytes == 0) {
+          advance();
+        }
+      }
+    }
+
+    private void write() throws IOException {
+      while (!pendingWrites.isEmpty()) {
+        ByteBuffer buffer = pendingWrites.peek();
+        channel.write(buffer);
+        if (buffer.hasRemaining()) {
+          key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+          return;
+        }
+        pendingWrites.poll();
+      }
+      key.interestOps(SelectionKey.OP_READ);
+    }
+
+  }
+
+}
@@ -0,0 +1,96 @@
+package com.blazemeter.jmeter.rte.protocols.tn3270;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.blazemeter.jmeter.rte.core.AttentionKey;
+import com.blazemeter.jmeter.rte.core.CoordInput;
+import com.blazemeter.jmeter.rte.core.Position;
+import com.blazemeter.jmeter.rte.core.Screen;
+import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
+import com.bytezone.dm3270.TerminalClient;
+import com.bytezone.dm3270.application.KeyboardStatusChangedEvent;
+import com.bytezone.dm3270.application.KeyboardStatusListener;
+import com.bytezone.dm3270.display.CursorMoveListener;
+import com.bytezone.dm3270.display.ScreenChangeListener;
+import com.bytezone.dm3270.display.ScreenDimensions;
+import com.bytezone.dm3270.display.ScreenWatcher;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class Tn3270ClientTest {
+
+  private static final String SCREEN_TEXT = "Welcome   \nSign on   \n";
+
+  @Mock
+  private TerminalClient terminalClient;
+  @Mock
+  private ScreenWatcher screenWatcher;
+  private Tn3270Client client;
+  private ScreenChangeListener screenChangeListener;
+  private KeyboardStatusListener keyboardStatusListener;
+  private CursorMoveListener cursorMoveListener;
+
+  @Before
+  public void setup() {
+    when(terminalClient.getScreenDimensions()).thenReturn(new ScreenDimensions(2, 10));
+    when(terminalClient.getScreenText()).thenReturn(SCREEN_TEXT);
+    when(terminalClient.getFields()).thenReturn(Collections.emptyList());
+    client = new Tn3270Client(terminalClient, new ExceptionHandler("server"));
+    ArgumentCaptor<ScreenChangeListener> screenChangeCaptor = ArgumentCaptor
+        .forClass(ScreenChangeListener.class);
+    verify(terminalClient).addScreenChangeListener(screenChangeCaptor.capture());
+    screenChangeListener = screenChangeCaptor.getValue();
+    ArgumentCaptor<KeyboardStatusListener> keyboardStatusCaptor = ArgumentCaptor
+        .forClass(KeyboardStatusListener.class);
+    verify(terminalClient).addKeyboardStatusListener(keyboardStatusCaptor.capture());
+    keyboardStatusListener = keyboardStatusCaptor.getValue();
+    ArgumentCaptor<CursorMoveListener> cursorMoveCaptor = ArgumentCaptor
+        .forClass(CursorMoveListener.class);
+    verify(terminalClient).addCursorMoveListener(cursorMoveCaptor.capture());
+    cursorMoveListener = cursorMoveCaptor.getValue();
+  }
+
+  @Test
+  public void shouldReuseScreenWhenGetScreenWithoutEmulatorEvents() {
+    Screen screen = client.getScreen();
+    assertThat(client.getScreen()).isSameAs(screen);
+  }
+
+  @Test
+  public void shouldRebuildScreenWhenGetScreenAfterScreenChanged() {
+    Screen screen = client.getScreen();
+    screenChangeListener.screenChanged(screenWatcher);
+    assertThat(client.getScreen()).isNotSameAs(screen);
+  }
+
+  @Test
+  public void shouldRebuildScreenWhenGetScreenAfterKeyboardStatusChanged() {
+    Screen screen = client.getScreen();
+    keyboardStatusListener.keyboardStatusChanged(new KeyboardStatusChangedEvent(false, false, ""));
+    assertThat(client.getScreen()).isNotSameAs(screen);
+  }
+
+  @Test
+  public void shouldRebuildScreenWhenGetScreenAfterCursorMoved() {
+    Screen screen = client.getScreen();
+    cursorMoveListener.cursorMoved(1, 2, null);
+    assertThat(client.getScreen()).isNotSameAs(screen);
+  }
+
+  @Test
+  public void shouldRebuildScreenWhenGetScreenAfterSend() throws Exception {
+    Screen screen = client.getScreen();
+    client.send(Collections.singletonList(new CoordInput(new Position(2, 1), "user")),
+        AttentionKey.ENTER, 0);
+    assertThat(client.getScreen()).isNotSameAs(screen);
+  }
+
+}
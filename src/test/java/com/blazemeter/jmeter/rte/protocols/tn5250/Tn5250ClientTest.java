@@ -0,0 +1,109 @@
+package com.blazemeter.jmeter.rte.protocols.tn5250;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.blazemeter.jmeter.rte.core.AttentionKey;
+import com.blazemeter.jmeter.rte.core.CoordInput;
+import com.blazemeter.jmeter.rte.core.Position;
+import com.blazemeter.jmeter.rte.core.Screen;
+import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
+import java.awt.Dimension;
+import java.util.Collections;
+import net.infordata.em.TerminalClient;
+import net.infordata.em.tn5250.XI5250Emulator;
+import net.infordata.em.tn5250.XI5250EmulatorEvent;
+import net.infordata.em.tn5250.XI5250EmulatorListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class Tn5250ClientTest {
+
+  private static final String SCREEN_TEXT = "Welcome   \nSign on   \n";
+
+  @Mock
+  private TerminalClient terminalClient;
+  @Mock
+  private XI5250Emulator emulator;
+  private Tn5250Client client;
+  private XI5250EmulatorListener emulatorListener;
+
+  @Before
+  public void setup() {
+    when(terminalClient.getScreenDimensions()).thenReturn(new Dimension(10, 2));
+    when(terminalClient.getScreenText()).thenReturn(SCREEN_TEXT);
+    when(terminalClient.getFields()).thenReturn(Collections.emptyList());
+    client = new Tn5250Client(terminalClient, new ExceptionHandler("server"));
+    ArgumentCaptor<XI5250EmulatorListener> listenerCaptor = ArgumentCaptor
+        .forClass(XI5250EmulatorListener.class);
+    verify(terminalClient).addEmulatorListener(listenerCaptor.capture());
+    emulatorListener = listenerCaptor.getValue();
+  }
+
+  @Test
+  public void shouldReuseScreenWhenGetScreenWithoutEmulatorEvents() {
+    Screen screen = client.getScreen();
+    assertThat(client.getScreen()).isSameAs(screen);
+  }
+
+  @Test
+  public void shouldRebuildScreenWhenGetScreenAfterConnected() {
+    Screen screen = client.getScreen();
+    emulatorListener.connected(buildEvent(XI5250EmulatorEvent.CONNECTED));
+    assertThat(client.getScreen()).isNotSameAs(screen);
+  }
+
+  private XI5250EmulatorEvent buildEvent(int id) {
+    return new XI5250EmulatorEvent(id, emulator);
+  }
+
+  @Test
+  public void shouldRebuildScreenWhenGetScreenAfterStateChanged() {
+    Screen screen = client.getScreen();
+    emulatorListener.stateChanged(buildEvent(XI5250EmulatorEvent.STATE_CHANGED));
+    assertThat(client.getScreen()).isNotSameAs(screen);
+  }
+
+  @Test
+  public void shouldRebuildScreenWhenGetScreenAfterNewPanelReceived() {
+    Screen screen = client.getScreen();
+    emulatorListener.newPanelReceived(buildEvent(XI5250EmulatorEvent.NEW_PANEL_RECEIVED));
+    assertThat(client.getScreen()).isNotSameAs(screen);
+  }
+
+  @Test
+  public void shouldRebuildScreenWhenGetScreenAfterFieldsRemoved() {
+    Screen screen = client.getScreen();
+    emulatorListener.fieldsRemoved(buildEvent(XI5250EmulatorEvent.FIELDS_REMOVED));
+    assertThat(client.getScreen()).isNotSameAs(screen);
+  }
+
+  @Test
+  public void shouldRebuildScreenWhenGetScreenAfterDataSended() {
+    Screen screen = client.getScreen();
+    emulatorListener.dataSended(buildEvent(XI5250EmulatorEvent.DATA_SENDED));
+    assertThat(client.getScreen()).isNotSameAs(screen);
+  }
+
+  @Test
+  public void shouldReuseScreenWhenGetScreenAfterConnecting() {
+    Screen screen = client.getScreen();
+    emulatorListener.connecting(buildEvent(XI5250EmulatorEvent.CONNECTING));
+    assertThat(client.getScreen()).isSameAs(screen);
+  }
+
+  @Test
+  public void shouldRebuildScreenWhenGetScreenAfterSend() throws Exception {
+    Screen screen = client.getScreen();
+    client.send(Collections.singletonList(new CoordInput(new Position(2, 1), "user")),
+        AttentionKey.ENTER, 0);
+    assertThat(client.getScreen()).isNotSameAs(screen);
+  }
+
+}
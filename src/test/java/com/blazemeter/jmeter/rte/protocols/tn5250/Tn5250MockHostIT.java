@@ -0,0 +1,75 @@
+package com.blazemeter.jmeter.rte.protocols.tn5250;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blazemeter.jmeter.rte.core.Screen;
+import com.blazemeter.jmeter.rte.core.ssl.SSLType;
+import com.blazemeter.jmeter.rte.core.wait.SyncWaitCondition;
+import com.blazemeter.jmeter.rte.protocols.MockHost;
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class Tn5250MockHostIT {
+
+  private static final int SESSIONS = 50;
+  private static final int TIMEOUT_MILLIS = 10000;
+  private static final int STABLE_TIMEOUT_MILLIS = 1000;
+
+  private MockHost host;
+
+  @Before
+  public void setup() throws Exception {
+    host = new MockHost(MockHost.loadFlow(
+        new File(getClass().getResource("login-immediate-responses.yml").getFile())));
+    host.start();
+  }
+
+  @After
+  public void teardown() throws Exception {
+    host.close();
+  }
+
+  @Test
+  public void shouldGetWelcomeScreenInAllSessionsWhenConnectConcurrently() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(SESSIONS);
+    try {
+      List<Future<Screen>> screens = new ArrayList<>();
+      for (int i = 0; i < SESSIONS; i++) {
+        screens.add(executor.submit(this::getWelcomeScreen));
+      }
+      Screen expected = Screen.fromHtml(Resources.toString(
+          getClass().getResource("login-welcome-screen.html"), Charsets.UTF_8));
+      for (Future<Screen> screen : screens) {
+        assertThat(screen.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isEqualTo(expected);
+      }
+      assertThat(host.getAcceptedConnections()).isEqualTo(SESSIONS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Screen getWelcomeScreen() throws Exception {
+    Tn5250Client client = new Tn5250Client();
+    try {
+      client.connect("localhost", host.getPort(), SSLType.NONE,
+          client.getTerminalTypeById("IBM-3477-FC"), TIMEOUT_MILLIS);
+      client.await(Collections
+          .singletonList(new SyncWaitCondition(TIMEOUT_MILLIS, STABLE_TIMEOUT_MILLIS)));
+      return client.getScreen().withInvisibleCharsToSpaces();
+    } finally {
+      client.disconnect();
+    }
+  }
+
+}
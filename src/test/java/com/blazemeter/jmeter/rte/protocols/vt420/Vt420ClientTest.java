@@ -0,0 +1,170 @@
+package com.blazemeter.jmeter.rte.protocols.vt420;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+
+import com.blazemeter.jmeter.rte.JMeterTestUtils;
+import com.blazemeter.jmeter.rte.core.AttentionKey;
+import com.blazemeter.jmeter.rte.core.NavigationInput;
+import com.blazemeter.jmeter.rte.core.Screen;
+import com.blazemeter.jmeter.rte.core.listener.ExceptionHandler;
+import com.blazemeter.jmeter.rte.sampler.NavigationType;
+import com.blazemeter.jmeter.rte.sampler.RTESampler;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import nl.lxtreme.jvt220.terminal.ScreenChangeListener;
+import nl.lxtreme.jvt220.terminal.TerminalClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class Vt420ClientTest {
+
+  private static final long ECHO_DELAY_MILLIS = 20;
+  private static final long CHARACTER_TIMEOUT_MILLIS = 5000;
+  private static final String TEXT = "abcdef";
+
+  @Mock
+  private TerminalClient terminalClient;
+  private ScheduledExecutorService hostExecutor;
+  private ExceptionHandler exceptionHandler;
+  private Vt420Client client;
+  private ScreenChangeListener screenEventsDispatcher;
+  private final List<ScreenChangeListener> listeners = new CopyOnWriteArrayList<>();
+  private final List<String> writes = new ArrayList<>();
+  private final List<Integer> cursorColumnsOnWrites = new ArrayList<>();
+  private volatile int cursorColumn;
+  private volatile String screenText = "Welcome";
+  private volatile boolean echoMovesCursor = true;
+
+  @BeforeClass
+  public static void setupClass() {
+    JMeterTestUtils.setupJmeterEnv();
+  }
+
+  @Before
+  public void setup() throws Exception {
+    hostExecutor = Executors.newSingleThreadScheduledExecutor();
+    exceptionHandler = new ExceptionHandler("server");
+    client = new Vt420Client(terminalClient, exceptionHandler);
+    ArgumentCaptor<ScreenChangeListener> dispatcherCaptor = ArgumentCaptor
+        .forClass(ScreenChangeListener.class);
+    verify(terminalClient).addScreenChangeListener(dispatcherCaptor.capture());
+    screenEventsDispatcher = dispatcherCaptor.getValue();
+    lenient().when(terminalClient.getScreen()).thenAnswer(invocation -> screenText);
+    lenient().when(terminalClient.getScreenSize()).thenReturn(new Dimension(80, 24));
+    lenient().when(terminalClient.getCursorPosition())
+        .thenAnswer(invocation -> Optional.of(new Point(cursorColumn, 0)));
+    doAnswer(invocation -> listeners.add(invocation.getArgument(0)))
+        .when(terminalClient).addScreenChangeListener(any());
+    doAnswer(invocation -> listeners.remove(invocation.getArgument(0)))
+        .when(terminalClient).removeScreenChangeListener(any());
+    doAnswer(invocation -> {
+      echoPerCharacter(invocation.getArgument(0));
+      return null;
+    }).when(terminalClient).sendTextByCurrentCursorPosition(anyString());
+  }
+
+  /*
+  Simulates a host which echoes each character in a separate screen change, either moving the
+  cursor or just changing the screen.
+   */
+  private void echoPerCharacter(String text) {
+    writes.add(text);
+    cursorColumnsOnWrites.add(cursorColumn);
+    for (int i = 0; i < text.length(); i++) {
+      char character = text.charAt(i);
+      hostExecutor.schedule(() -> {
+        if (echoMovesCursor) {
+          cursorColumn++;
+        }
+        screenText += character;
+        listeners.forEach(l -> l.screenChanged(""));
+      }, ECHO_DELAY_MILLIS * (i + 1), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @After
+  public void teardown() {
+    hostExecutor.shutdownNow();
+    RTESampler.setCharacterWindowSize(1);
+  }
+
+  @Test
+  public void shouldSendEachCharacterAfterEchoOfPreviousOneWhenWindowOfOneCharacter() {
+    RTESampler.setCharacterWindowSize(1);
+    sendText();
+    assertThat(writes).containsExactly("a", "b", "c", "d", "e", "f");
+    assertThat(cursorColumnsOnWrites).containsExactly(0, 1, 2, 3, 4, 5);
+    assertThat(exceptionHandler.hasPendingError()).isFalse();
+  }
+
+  private void sendText() {
+    client.setField(new NavigationInput(0, NavigationType.TAB, TEXT), CHARACTER_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  public void shouldSendNextCharacterOnEachEchoWhenWindowOfSeveralCharacters() {
+    RTESampler.setCharacterWindowSize(3);
+    sendText();
+    assertThat(writes).containsExactly("abc", "d", "e", "f");
+    assertThat(exceptionHandler.hasPendingError()).isFalse();
+  }
+
+  @Test
+  public void shouldSendEachCharacterAfterEchoOfPreviousOneWhenEchoDoesNotMoveCursor() {
+    RTESampler.setCharacterWindowSize(1);
+    echoMovesCursor = false;
+    sendText();
+    assertThat(writes).containsExactly("a", "b", "c", "d", "e", "f");
+    assertThat(exceptionHandler.hasPendingError()).isFalse();
+  }
+
+  @Test
+  public void shouldSendNextCharacterOnEachEchoWhenEchoDoesNotMoveCursor() {
+    RTESampler.setCharacterWindowSize(3);
+    echoMovesCursor = false;
+    sendText();
+    assertThat(writes).containsExactly("abc", "d", "e", "f");
+    assertThat(exceptionHandler.hasPendingError()).isFalse();
+  }
+
+  @Test
+  public void shouldReuseScreenWhenGetScreenWithoutScreenChanges() {
+    Screen screen = client.getScreen();
+    assertThat(client.getScreen()).isSameAs(screen);
+  }
+
+  @Test
+  public void shouldRebuildScreenWhenGetScreenAfterScreenChanged() {
+    Screen screen = client.getScreen();
+    screenEventsDispatcher.screenChanged("");
+    assertThat(client.getScreen()).isNotSameAs(screen);
+  }
+
+  @Test
+  public void shouldRebuildScreenWhenGetScreenAfterSend() throws Exception {
+    Screen screen = client.getScreen();
+    client.send(Collections.emptyList(), AttentionKey.ENTER, CHARACTER_TIMEOUT_MILLIS);
+    assertThat(client.getScreen()).isNotSameAs(screen);
+  }
+
+}
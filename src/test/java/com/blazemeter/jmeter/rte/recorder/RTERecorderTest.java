@@ -29,8 +29,10 @@ import com.blazemeter.jmeter.rte.core.TerminalType;
 import com.blazemeter.jmeter.rte.core.exceptions.RteIOException;
 import com.blazemeter.jmeter.rte.core.listener.RequestListener;
 import com.blazemeter.jmeter.rte.core.ssl.SSLType;
+import com.blazemeter.jmeter.rte.core.wait.StableTimeoutScheduler;
 import com.blazemeter.jmeter.rte.recorder.emulator.TerminalEmulator;
 import com.blazemeter.jmeter.rte.sampler.Action;
+import com.blazemeter.jmeter.rte.sampler.RTEConnectionConfig;
 import com.blazemeter.jmeter.rte.sampler.RTESampler;
 import com.blazemeter.jmeter.rte.sampler.gui.RTEConfigGui;
 import com.blazemeter.jmeter.rte.sampler.gui.RTESamplerGui;
@@ -183,7 +185,7 @@ public class RTERecorderTest {
   }
 
   private ConfigTestElement buildExpectedConfig(Protocol protocol, String terminalTypeID) {
-    ConfigTestElement expectedConfig = new ConfigTestElement();
+    ConfigTestElement expectedConfig = new RTEConnectionConfig();
     expectedConfig.setName("bzm-RTE-config");
     expectedConfig.setProperty(TestElement.GUI_CLASS, RTEConfigGui.class.getName());
     expectedConfig.setProperty(RTESampler.CONFIG_SERVER, SERVER);
@@ -379,6 +381,14 @@ public class RTERecorderTest {
     verify(terminalClient).disconnect();
   }
 
+  @Test
+  public void shouldShutdownStableTimeoutSchedulerWhenStop() throws Exception {
+    StableTimeoutScheduler scheduler = StableTimeoutScheduler.getInstance();
+    connect();
+    rteRecorder.onRecordingStop();
+    assertThat(scheduler.isShutdown()).isTrue();
+  }
+
   @Test
   public void shouldNotifyChildrenTestEndWhenCloseTerminal() throws Exception {
     connect();
@@ -0,0 +1,55 @@
+package com.blazemeter.jmeter.rte.recorder.wait;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class ScreenHistoryTest {
+
+  private static final Instant START_TIME = Instant.now();
+  private static final List<String> TEXTS = Arrays.asList("Welcome 10:00  ", "Welcome 10:01  ",
+      "Login 10:01", "Login 10:01", "", "Welcome back 10:02");
+
+  private static ScreenHistory buildHistory(int maxSize) {
+    ScreenHistory ret = new ScreenHistory(maxSize);
+    for (int i = 0; i < TEXTS.size(); i++) {
+      ret.add(TEXTS.get(i), START_TIME.plusMillis(i));
+    }
+    return ret;
+  }
+
+  private static List<String> getTexts(ScreenHistory history) {
+    List<String> ret = new ArrayList<>();
+    history.forEach((text, timestamp) -> ret.add(text));
+    return ret;
+  }
+
+  @Test
+  public void shouldGetAddedTextsWhenNotFull() {
+    assertThat(getTexts(buildHistory(TEXTS.size()))).isEqualTo(TEXTS);
+  }
+
+  @Test
+  public void shouldGetLastTextsWhenFull() {
+    assertThat(getTexts(buildHistory(3))).isEqualTo(TEXTS.subList(TEXTS.size() - 3,
+        TEXTS.size()));
+  }
+
+  @Test
+  public void shouldGetTimestampsOfLastTextsWhenFull() {
+    List<Instant> timestamps = new ArrayList<>();
+    buildHistory(2).forEach((text, timestamp) -> timestamps.add(timestamp));
+    assertThat(timestamps).containsExactly(START_TIME.plusMillis(TEXTS.size() - 2),
+        START_TIME.plusMillis(TEXTS.size() - 1));
+  }
+
+  @Test
+  public void shouldGetOnlyLastTextWhenMaxSizeIsOne() {
+    assertThat(getTexts(buildHistory(1))).containsExactly(TEXTS.get(TEXTS.size() - 1));
+  }
+
+}
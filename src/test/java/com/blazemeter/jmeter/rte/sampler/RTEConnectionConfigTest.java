@@ -0,0 +1,72 @@
+package com.blazemeter.jmeter.rte.sampler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.blazemeter.jmeter.rte.JMeterTestUtils;
+import com.blazemeter.jmeter.rte.core.RteProtocolClient;
+import org.apache.jmeter.util.JMeterUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RTEConnectionConfigTest {
+
+  private static final String POOL_CONNECTIONS_PROPERTY = "RTESampler.poolConnections";
+  private static final String PRE_CONNECT_SESSIONS_PROPERTY = "RTESampler.preConnectSessions";
+  private static final String SERVER = "server";
+  private static final int PORT = 23;
+  private static final int SESSIONS = 2;
+
+  @Mock
+  private RteProtocolClient client;
+  private RTEConnectionConfig config;
+
+  @BeforeClass
+  public static void setupClass() {
+    JMeterTestUtils.setupJmeterEnv();
+  }
+
+  @Before
+  public void setup() {
+    config = new RTEConnectionConfig(p -> client);
+    config.setProperty(RTESampler.CONFIG_SERVER, SERVER);
+    config.setProperty(RTESampler.CONFIG_PORT, PORT);
+    config.setProperty(RTESampler.CONFIG_TERMINAL_TYPE, RTESampler.DEFAULT_TERMINAL_TYPE.getId());
+    config.setProperty(RTESampler.CONFIG_PROTOCOL, RTESampler.DEFAULT_PROTOCOL.name());
+    config.setProperty(RTESampler.CONFIG_SSL_TYPE, RTESampler.DEFAULT_SSL_TYPE.name());
+    config.setProperty(RTESampler.CONFIG_CONNECTION_TIMEOUT, "0");
+    JMeterUtils.setProperty(PRE_CONNECT_SESSIONS_PROPERTY, String.valueOf(SESSIONS));
+  }
+
+  @After
+  public void teardown() {
+    new RTESampler().testEnded();
+    JMeterUtils.getJMeterProperties().remove(POOL_CONNECTIONS_PROPERTY);
+    JMeterUtils.getJMeterProperties().remove(PRE_CONNECT_SESSIONS_PROPERTY);
+  }
+
+  @Test
+  public void shouldPreConnectSessionsWhenTestStartedWithPooledConnections() throws Exception {
+    JMeterUtils.setProperty(POOL_CONNECTIONS_PROPERTY, "true");
+    config.testStarted();
+    verify(client, times(SESSIONS)).connect(eq(SERVER), eq(PORT), any(), any(), anyLong());
+  }
+
+  @Test
+  public void shouldNotPreConnectSessionsWhenTestStartedWithoutPooledConnections()
+      throws Exception {
+    config.testStarted();
+    verify(client, never()).connect(any(), eq(PORT), any(), any(), anyLong());
+  }
+
+}
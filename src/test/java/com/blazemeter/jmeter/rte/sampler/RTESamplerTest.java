@@ -1,6 +1,7 @@
 package com.blazemeter.jmeter.rte.sampler;
 
 import static com.blazemeter.jmeter.rte.SampleResultAssertions.assertSampleResult;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -22,11 +23,16 @@ import com.blazemeter.jmeter.rte.core.Protocol;
 import com.blazemeter.jmeter.rte.core.RteProtocolClient;
 import com.blazemeter.jmeter.rte.core.RteSampleResultBuilder;
 import com.blazemeter.jmeter.rte.core.Screen;
+import com.blazemeter.jmeter.rte.core.ScreenRegistry;
 import com.blazemeter.jmeter.rte.core.TerminalType;
+import com.blazemeter.jmeter.rte.core.exceptions.ErrorScreenException;
 import com.blazemeter.jmeter.rte.core.exceptions.RteIOException;
 import com.blazemeter.jmeter.rte.core.ssl.SSLType;
+import com.blazemeter.jmeter.rte.core.wait.AnyOfWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.Area;
 import com.blazemeter.jmeter.rte.core.wait.CursorWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.ErrorScreenWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.KnownScreenWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.SilentWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.SyncWaitCondition;
 import com.blazemeter.jmeter.rte.core.wait.TextWaitCondition;
@@ -284,6 +290,51 @@ public class RTESamplerTest {
     }
   }
 
+  @Test
+  public void shouldNotDisconnectEmulatorWhenSampleWithDisconnectActionAndPoolConnectionsEnabled()
+      throws Exception {
+    rteSampler.setPoolConnections(true);
+    try {
+      rteSampler.sample(null);
+      rteSampler.setAction(Action.DISCONNECT);
+      rteSampler.sample(null);
+      verify(client, never()).disconnect();
+    } finally {
+      rteSampler.setPoolConnections(false);
+      rteSampler.testEnded();
+    }
+  }
+
+  @Test
+  public void shouldReuseConnectionWhenSampleAfterDisconnectActionAndPoolConnectionsEnabled()
+      throws Exception {
+    rteSampler.setPoolConnections(true);
+    try {
+      rteSampler.sample(null);
+      rteSampler.setAction(Action.DISCONNECT);
+      rteSampler.sample(null);
+      rteSampler.setAction(Action.SEND_INPUT);
+      rteSampler.sample(null);
+      verify(client).connect(any(), anyInt(), any(), any(), anyLong());
+    } finally {
+      rteSampler.setPoolConnections(false);
+      rteSampler.testEnded();
+    }
+  }
+
+  @Test
+  public void shouldDisconnectPooledEmulatorWhenTestEnded() throws Exception {
+    rteSampler.setPoolConnections(true);
+    try {
+      rteSampler.sample(null);
+      rteSampler.iterationStart(null);
+    } finally {
+      rteSampler.setPoolConnections(false);
+      rteSampler.testEnded();
+    }
+    verify(client).disconnect();
+  }
+
   private void connectClient() {
     RTESampler sampler = new RTESampler(p -> client);
     sampler.addTestElement(configTestElement);
@@ -449,6 +500,127 @@ public class RTESamplerTest {
                 CUSTOM_STABLE_TIMEOUT_MILLIS)));
   }
 
+  @Test
+  public void shouldAwaitUpdatedConditionsWhenSampleAfterChangingWaitProperties()
+      throws Exception {
+    rteSampler.setWaitSync(false);
+    rteSampler.sample(null);
+    rteSampler.setWaitCursor(true);
+    rteSampler.sample(null);
+    verify(client)
+        .await(Collections.singletonList(new CursorWaitCondition(CURSOR_POSITION,
+            RTESampler.DEFAULT_WAIT_CURSOR_TIMEOUT_MILLIS,
+            RTESampler.DEFAULT_STABLE_TIMEOUT_MILLIS)));
+  }
+
+  @Test
+  public void shouldAwaitUpdatedConditionsWhenSampleAfterChangingStableTimeout()
+      throws Exception {
+    rteSampler.sample(null);
+    rteSampler.setStableTimeout(CUSTOM_STABLE_TIMEOUT_MILLIS);
+    rteSampler.sample(null);
+    verify(client)
+        .await(Collections.singletonList(new SyncWaitCondition(
+            RTESampler.DEFAULT_WAIT_SYNC_TIMEOUT_MILLIS, CUSTOM_STABLE_TIMEOUT_MILLIS)));
+  }
+
+  @Test
+  public void shouldAwaitAnyOfTextsWhenWaitTextEnabledWithAlternatives() throws Exception {
+    rteSampler.setWaitSync(false);
+    rteSampler.setWaitText(true);
+    String regex = "test";
+    rteSampler.setWaitTextRegex(regex);
+    String alternative = "other";
+    rteSampler.setWaitTextAlternatives(alternative);
+    rteSampler.sample(null);
+    verify(client)
+        .await(Collections.singletonList(new AnyOfWaitCondition(
+            Arrays.asList(buildDefaultTextWaitCondition(regex),
+                buildDefaultTextWaitCondition(alternative)),
+            RTESampler.DEFAULT_WAIT_TEXT_TIMEOUT_MILLIS,
+            RTESampler.DEFAULT_STABLE_TIMEOUT_MILLIS)));
+  }
+
+  private TextWaitCondition buildDefaultTextWaitCondition(String regex) {
+    return new TextWaitCondition(
+        JMeterUtils.getPattern(regex),
+        JMeterUtils.getMatcher(),
+        Area.fromTopLeftBottomRight(1, 1, Position.UNSPECIFIED_INDEX,
+            Position.UNSPECIFIED_INDEX),
+        RTESampler.DEFAULT_WAIT_TEXT_TIMEOUT_MILLIS,
+        RTESampler.DEFAULT_STABLE_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  public void shouldSetMatchedTextVariableWhenWaitTextEnabledWithAlternatives() {
+    rteSampler.setWaitSync(false);
+    rteSampler.setWaitText(true);
+    rteSampler.setWaitTextRegex("other");
+    rteSampler.setWaitTextAlternatives("another\nTest screen");
+    rteSampler.sample(null);
+    assertThat(rteSampler.getThreadContext().getVariables().get("RTESampler.waitTextMatch"))
+        .isEqualTo("3");
+  }
+
+  @Test
+  public void shouldAwaitKnownScreenWhenWaitScreenEnabled() throws Exception {
+    Screen menu = Screen.valueOf("Menu screen\n");
+    ScreenRegistry.getInstance().register("MENU01", menu);
+    rteSampler.setWaitSync(false);
+    rteSampler.setWaitScreen(true);
+    rteSampler.setWaitScreenName("MENU01");
+    rteSampler.sample(null);
+    verify(client).await(Collections.singletonList(
+        new KnownScreenWaitCondition("MENU01", new long[]{menu.getFingerprint()},
+            RTESampler.DEFAULT_WAIT_SCREEN_TIMEOUT_MILLIS,
+            RTESampler.DEFAULT_STABLE_TIMEOUT_MILLIS)));
+  }
+
+  @Test
+  public void shouldGetErrorResultWhenWaitScreenEnabledWithUnknownScreen() {
+    rteSampler.setWaitSync(false);
+    rteSampler.setWaitScreen(true);
+    rteSampler.setWaitScreenName("UNKNOWN");
+    assertThat(rteSampler.sample(null).getResponseCode())
+        .isEqualTo(IllegalArgumentException.class.getName());
+  }
+
+  @Test
+  public void shouldAwaitErrorScreenWhenAbortTextEnabled() throws Exception {
+    String regex = "ERROR";
+    rteSampler.setAbortText(true);
+    rteSampler.setAbortTextRegexes(regex);
+    rteSampler.sample(null);
+    verify(client).await(Arrays.asList(
+        new SyncWaitCondition(RTESampler.DEFAULT_WAIT_SYNC_TIMEOUT_MILLIS,
+            RTESampler.DEFAULT_STABLE_TIMEOUT_MILLIS),
+        new ErrorScreenWaitCondition(new TextWaitCondition(JMeterUtils.getPattern(regex),
+            JMeterUtils.getMatcher(),
+            Area.fromTopLeftBottomRight(1, 1, Position.UNSPECIFIED_INDEX,
+                Position.UNSPECIFIED_INDEX), 0, 0))));
+  }
+
+  @Test
+  public void shouldGetErrorScreenResultWhenAbortTextEnabledAndAwaitTimesOutInErrorScreen()
+      throws Exception {
+    rteSampler.setAbortText(true);
+    rteSampler.setAbortTextRegexes("Test screen");
+    doThrow(new TimeoutException()).when(client).await(anyList());
+    assertThat(rteSampler.sample(null).getResponseCode())
+        .isEqualTo(ErrorScreenException.class.getName());
+  }
+
+  @Test
+  public void shouldGetErrorScreenResultWhenAwaitFailsWithErrorScreenException()
+      throws Exception {
+    rteSampler.setAbortText(true);
+    rteSampler.setAbortTextRegexes("ERROR");
+    doThrow(new RteIOException(new ErrorScreenException("Found error screen"), "server"))
+        .when(client).await(anyList());
+    assertThat(rteSampler.sample(null).getResponseCode())
+        .isEqualTo(ErrorScreenException.class.getName());
+  }
+
   @Test
   public void shouldAwaitTextWhenWaitTextEnabled() throws Exception {
     rteSampler.setWaitSync(false);
@@ -516,4 +688,28 @@ public class RTESamplerTest {
     verify(client).send(INPUTS, AttentionKey.ENTER, RTESampler.DEFAULT_CONNECTION_TIMEOUT_MILLIS);
   }
 
+  @Test
+  public void shouldSetSendTimeVariableWhenSendInput() {
+    rteSampler.sample(null);
+    assertThat(rteSampler.getThreadContext().getVariables().get("RTESampler.sendTime"))
+        .isNotNull();
+  }
+
+  @Test
+  public void shouldSetConditionsMetTimeVariableWhenClientReportsConditionsMetTime()
+      throws Exception {
+    when(client.await(any())).thenReturn(System.currentTimeMillis());
+    rteSampler.sample(null);
+    assertThat(rteSampler.getThreadContext().getVariables().get("RTESampler.conditionsMetTime"))
+        .isNotNull();
+  }
+
+  @Test
+  public void shouldRemoveKeyboardUnlockTimeVariableWhenKeyboardNotUnlockedInSample() {
+    rteSampler.getThreadContext().getVariables().put("RTESampler.keyboardUnlockTime", "10");
+    rteSampler.sample(null);
+    assertThat(rteSampler.getThreadContext().getVariables().get("RTESampler.keyboardUnlockTime"))
+        .isNull();
+  }
+
 }
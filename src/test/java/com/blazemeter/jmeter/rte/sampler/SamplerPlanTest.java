@@ -0,0 +1,53 @@
+package com.blazemeter.jmeter.rte.sampler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blazemeter.jmeter.rte.core.AttentionKey;
+import com.blazemeter.jmeter.rte.core.wait.SyncWaitCondition;
+import com.blazemeter.jmeter.rte.core.wait.WaitCondition;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SamplerPlanTest {
+
+  private static final long TIMEOUT_MILLIS = 5000;
+  private static final long STABLE_TIMEOUT_MILLIS = 1000;
+  private static final long ADAPTED_STABLE_TIMEOUT_MILLIS = 63;
+
+  private final List<Long> builtStableTimeouts = new ArrayList<>();
+  private SamplerPlan plan;
+
+  @Before
+  public void setup() {
+    plan = new SamplerPlan(Action.SEND_INPUT, AttentionKey.ENTER, Collections.emptyList(),
+        STABLE_TIMEOUT_MILLIS, this::buildWaitConditions, "server:23", "server:23:TN5250");
+  }
+
+  private List<WaitCondition> buildWaitConditions(long stableTimeout) {
+    builtStableTimeouts.add(stableTimeout);
+    return Collections.singletonList(new SyncWaitCondition(TIMEOUT_MILLIS, stableTimeout));
+  }
+
+  @Test
+  public void shouldGetConfiguredWaitConditionsWhenGetWaitConditionsWithConfiguredStableTimeout() {
+    assertThat(plan.getWaitConditions(STABLE_TIMEOUT_MILLIS)).isSameAs(plan.getWaitConditions());
+  }
+
+  @Test
+  public void shouldGetWaitConditionsWithGivenStableTimeoutWhenGetWaitConditions() {
+    assertThat(plan.getWaitConditions(ADAPTED_STABLE_TIMEOUT_MILLIS).get(0)
+        .getStableTimeoutMillis()).isEqualTo(ADAPTED_STABLE_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  public void shouldBuildWaitConditionsOnceWhenGetWaitConditionsWithSameStableTimeout() {
+    plan.getWaitConditions(ADAPTED_STABLE_TIMEOUT_MILLIS);
+    plan.getWaitConditions(ADAPTED_STABLE_TIMEOUT_MILLIS);
+    assertThat(builtStableTimeouts)
+        .containsExactly(STABLE_TIMEOUT_MILLIS, ADAPTED_STABLE_TIMEOUT_MILLIS);
+  }
+
+}
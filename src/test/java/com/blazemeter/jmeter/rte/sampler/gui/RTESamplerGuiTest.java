@@ -52,8 +52,12 @@ public class RTESamplerGuiTest {
     final String waitTextAreaRight = "9";
     final String waitTextAreaTop = "10";
     final String waitTextRegex = "regExp";
+    final String waitTextAlternatives = "alternative1\nalternative2";
     final String waitTextTimeout = "11";
     final String waitDisconnectTimeout = "12";
+    final String abortTextRegexes = "SESSION TIMED OUT";
+    final String waitScreenName = "MENU01";
+    final String waitScreenTimeout = "13";
     when(panel.getAttentionKey()).thenReturn(attentionKey);
     when(panel.getAction()).thenReturn(Action.CONNECT);
     when(panel.getWaitSync()).thenReturn(true);
@@ -71,10 +75,16 @@ public class RTESamplerGuiTest {
     when(panel.getWaitTextAreaRight()).thenReturn(waitTextAreaRight);
     when(panel.getWaitTextAreaTop()).thenReturn(waitTextAreaTop);
     when(panel.getWaitTextRegex()).thenReturn(waitTextRegex);
+    when(panel.getWaitTextAlternatives()).thenReturn(waitTextAlternatives);
     when(panel.getWaitTextTimeout()).thenReturn(waitTextTimeout);
     when(panel.getPayload()).thenReturn(null);
     when(panel.getWaitDisconnectTimeout()).thenReturn(waitDisconnectTimeout);
     when(panel.getWaitDisconnect()).thenReturn(true);
+    when(panel.getWaitScreen()).thenReturn(true);
+    when(panel.getWaitScreenName()).thenReturn(waitScreenName);
+    when(panel.getWaitScreenTimeout()).thenReturn(waitScreenTimeout);
+    when(panel.getAbortText()).thenReturn(true);
+    when(panel.getAbortTextRegexes()).thenReturn(abortTextRegexes);
 
     samplerGui.modifyTestElement(testElement);
 
@@ -85,6 +95,12 @@ public class RTESamplerGuiTest {
     softly.assertThat(testElement.getWaitSilent()).as("WaitSilent").isEqualTo(true);
     softly.assertThat(testElement.getWaitText()).as("WaitText").isEqualTo(true);
     softly.assertThat(testElement.getWaitDisconnect()).as("WaitDisconnect").isEqualTo(true);
+    softly.assertThat(testElement.getWaitScreen()).as("WaitScreen").isEqualTo(true);
+    softly.assertThat(testElement.getWaitScreenName()).as("WaitScreenName")
+        .isEqualTo(waitScreenName);
+    softly.assertThat(testElement.getWaitScreenTimeout()).as("WaitScreenTimeout")
+        .isEqualTo(waitScreenTimeout);
+    softly.assertThat(testElement.getAbortText()).as("AbortText").isEqualTo(true);
     softly.assertThat(testElement.getWaitSyncTimeout()).as("WaitSyncTimeout")
         .isEqualTo(waitSyncTimeout);
     softly.assertThat(testElement.getWaitCursorColumn()).as("WaitCursorColumn")
@@ -109,8 +125,12 @@ public class RTESamplerGuiTest {
         .isEqualTo(waitTextTimeout);
     softly.assertThat(testElement.getWaitTextRegex()).as("WaitTextRegex")
         .isEqualTo(waitTextRegex);
+    softly.assertThat(testElement.getWaitTextAlternatives()).as("WaitTextAlternatives")
+        .isEqualTo(waitTextAlternatives);
     softly.assertThat(testElement.getWaitDisconnectTimeout()).as("WaitDisconnectTimeout")
         .isEqualTo(waitDisconnectTimeout);
+    softly.assertThat(testElement.getAbortTextRegexes()).as("AbortTextRegexes")
+        .isEqualTo(abortTextRegexes);
   }
 
 }